@@ -0,0 +1,42 @@
+package com.example.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Lets image_blobs.data be null for blobs moved to pack files. Hibernate's schema update
+ * adds the tier columns but never relaxes an existing NOT NULL constraint.
+ */
+@Component
+@Order(0)
+public class BlobTierMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobTierMigration.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Integer notNull = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM information_schema.columns " +
+                "WHERE table_name = 'image_blobs' AND column_name = 'data' AND is_nullable = 'NO'", Integer.class);
+            if (notNull != null && notNull > 0) {
+                jdbcTemplate.execute("ALTER TABLE image_blobs ALTER COLUMN data DROP NOT NULL");
+                log.info("Allowed image_blobs.data to be null for packed blobs");
+            }
+        });
+    }
+}
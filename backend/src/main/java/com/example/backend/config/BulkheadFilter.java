@@ -0,0 +1,117 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.backend.util.ApiResponse;
+import com.example.backend.util.Bulkhead;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Splits API traffic into compartments so image lookups, which hold a pooled connection
+ * while the blob is read, cannot starve metadata and auth requests. Image bodies are written
+ * asynchronously after the handler returns, so a slow client no longer keeps a permit.
+ * Uploads get their own compartment: a request body arrives at the client's pace, and a few
+ * slow uploads would otherwise hold metadata permits for their whole transfer.
+ * Keep the blob permits below the Hikari pool size (10 by default).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final Bulkhead blob;
+    private final Bulkhead metadata;
+    private final Bulkhead upload;
+    private final byte[] blobBusy;
+    private final byte[] metadataBusy;
+    private final byte[] uploadBusy;
+
+    @Value("${BULKHEAD_RETRY_AFTER_SECONDS:2}")
+    private int retryAfterSeconds;
+
+    public BulkheadFilter(
+            MeterRegistry meterRegistry,
+            @Value("${BULKHEAD_BLOB_PERMITS:4}") int blobPermits,
+            @Value("${BULKHEAD_BLOB_QUEUE:8}") int blobQueue,
+            @Value("${BULKHEAD_BLOB_MAX_WAIT_MS:2000}") long blobMaxWaitMs,
+            @Value("${BULKHEAD_METADATA_PERMITS:16}") int metadataPermits,
+            @Value("${BULKHEAD_METADATA_QUEUE:64}") int metadataQueue,
+            @Value("${BULKHEAD_METADATA_MAX_WAIT_MS:5000}") long metadataMaxWaitMs,
+            @Value("${BULKHEAD_UPLOAD_PERMITS:4}") int uploadPermits,
+            @Value("${BULKHEAD_UPLOAD_QUEUE:16}") int uploadQueue,
+            @Value("${BULKHEAD_UPLOAD_MAX_WAIT_MS:10000}") long uploadMaxWaitMs) {
+        this.blob = new Bulkhead("blob", blobPermits, blobQueue, blobMaxWaitMs, meterRegistry);
+        this.metadata = new Bulkhead("metadata", metadataPermits, metadataQueue, metadataMaxWaitMs, meterRegistry);
+        this.upload = new Bulkhead("upload", uploadPermits, uploadQueue, uploadMaxWaitMs, meterRegistry);
+        this.blobBusy = busy(blob);
+        this.metadataBusy = busy(metadata);
+        this.uploadBusy = busy(upload);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/") || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Bulkhead bulkhead = bulkheadFor(request);
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            reject(response, bulkhead);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private Bulkhead bulkheadFor(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.startsWith("/api/images/")) {
+            return blob;
+        }
+        // Chunked upload routes and multipart creates and updates
+        String contentType = request.getContentType();
+        if (uri.equals("/api/uploads") || uri.startsWith("/api/uploads/")
+                || (contentType != null && contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE))) {
+            return upload;
+        }
+        return metadata;
+    }
+
+    private void reject(HttpServletResponse response, Bulkhead bulkhead) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Integer.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        byte[] body = bulkhead == blob ? blobBusy : bulkhead == upload ? uploadBusy : metadataBusy;
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static byte[] busy(Bulkhead bulkhead) {
+        return ApiResponse.serialize(ApiResponse.error("Server busy (" + bulkhead.getName() + "), please retry shortly"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.backend.service.FrontendAssets;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Serves the frontend bundle from memory, so the app and the API share one origin (no CORS
+ * preflight per API call). Picks the brotli or gzip variant from Accept-Encoding; hashed
+ * bundles are cached for a year, everything else (index.html) is revalidated by ETag.
+ * Paths without an extension are client-side routes and get index.html.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class FrontendFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private FrontendAssets frontendAssets;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return frontendAssets.isEmpty()
+            || !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))
+            || uri.startsWith("/api/") || uri.equals("/api") || uri.startsWith("/actuator/") || uri.equals("/error");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI();
+        Optional<FrontendAssets.Asset> found = frontendAssets.find(path);
+        if (found.isEmpty() && !path.substring(path.lastIndexOf('/') + 1).contains(".")) {
+            found = frontendAssets.find("/");
+        }
+        if (found.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        FrontendAssets.Asset asset = found.get();
+        String accepted = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        byte[] body = asset.identity();
+        String encoding = null;
+        if (asset.brotli() != null && accepts(accepted, "br")) {
+            body = asset.brotli();
+            encoding = "br";
+        } else if (asset.gzip() != null && accepts(accepted, "gzip")) {
+            body = asset.gzip();
+            encoding = "gzip";
+        }
+        // Each representation needs its own validator
+        String etag = encoding == null ? asset.etag()
+            : asset.etag().substring(0, asset.etag().length() - 1) + "-" + encoding + "\"";
+
+        if (asset.gzip() != null || asset.brotli() != null) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, asset.cacheControl());
+        response.setHeader(HttpHeaders.ETAG, etag);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(asset.contentType());
+        if (encoding != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        response.setContentLength(body.length);
+        if ("GET".equals(request.getMethod())) {
+            response.getOutputStream().write(body);
+        }
+    }
+
+    /**
+     * Whether Accept-Encoding lists the coding without q=0
+     */
+    static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            if (!params[0].trim().equalsIgnoreCase(coding)) {
+                continue;
+            }
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.backend.config;
+
+import java.util.HashSet;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Copies bytes still stored inline in images.image_data into shared image_blobs rows.
+ * Runs at every startup while the legacy column exists, so images written meanwhile by
+ * instances on older code are linked too; identical images end up pointing at the same blob.
+ * The column itself is kept: it is dropped only by ImageDataColumnDrop, after verification.
+ */
+@Component
+@Order(0)
+public class ImageBlobMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageBlobMigration.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrate();
+    }
+
+    /**
+     * Link every image with inline bytes to a blob; returns false if there is no legacy column
+     */
+    boolean migrate() {
+        if (!hasLegacyColumn()) {
+            return false;
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // New code no longer writes the column
+            Integer notNull = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM information_schema.columns " +
+                "WHERE table_name = 'images' AND column_name = 'image_data' AND is_nullable = 'NO'", Integer.class);
+            if (notNull != null && notNull > 0) {
+                jdbcTemplate.execute("ALTER TABLE images ALTER COLUMN image_data DROP NOT NULL");
+            }
+
+            int inserted = jdbcTemplate.update(
+                "INSERT INTO image_blobs (content_hash, data, size_bytes, ref_count, created_at) " +
+                "SELECT encode(sha256(image_data), 'hex'), image_data, octet_length(image_data), 0, now() " +
+                "FROM images WHERE blob_id IS NULL AND image_data IS NOT NULL " +
+                "ON CONFLICT (content_hash) DO NOTHING");
+
+            List<Long> linked = jdbcTemplate.queryForList(
+                "UPDATE images i SET blob_id = b.id FROM image_blobs b " +
+                "WHERE i.blob_id IS NULL AND i.image_data IS NOT NULL " +
+                "AND b.content_hash = encode(sha256(i.image_data), 'hex') " +
+                "RETURNING b.id", Long.class);
+            if (linked.isEmpty()) {
+                return;
+            }
+
+            NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+            named.update(
+                "UPDATE image_blobs b SET ref_count = " +
+                "(SELECT count(*) FROM images i WHERE i.blob_id = b.id) WHERE b.id IN (:ids)",
+                new MapSqlParameterSource("ids", new HashSet<>(linked)));
+
+            log.info("Migrated {} images into {} shared blobs", linked.size(), inserted);
+        });
+        return true;
+    }
+
+    boolean hasLegacyColumn() {
+        Integer legacyColumn = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM information_schema.columns " +
+            "WHERE table_name = 'images' AND column_name = 'image_data'", Integer.class);
+        return legacyColumn != null && legacyColumn > 0;
+    }
+}
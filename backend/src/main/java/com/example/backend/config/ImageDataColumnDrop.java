@@ -0,0 +1,65 @@
+package com.example.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Drops the legacy images.image_data column, only when started with
+ * MIGRATE_DROP_IMAGE_DATA=true. Runs while the context starts, before the server takes
+ * requests. It links any remaining inline images, then checks that every inline image points
+ * at a blob with the same content hash. If any does not, it fails startup and drops nothing.
+ *
+ * This cannot be undone. Run it once, after every instance is on code that reads image_blobs,
+ * and with a backup of the images table; then start normally without the flag.
+ */
+@Component
+@Lazy(false)
+// After Hibernate's schema update, which creates image_blobs on a first upgrade
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty(name = "MIGRATE_DROP_IMAGE_DATA", havingValue = "true")
+public class ImageDataColumnDrop {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageDataColumnDrop.class);
+
+    @Autowired
+    private ImageBlobMigration imageBlobMigration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PostConstruct
+    void dropLegacyColumn() {
+        if (!imageBlobMigration.migrate()) {
+            log.info("images.image_data is already gone; nothing to drop");
+            return;
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // Locks out writers from older code between the check and the drop
+            jdbcTemplate.execute("LOCK TABLE images IN ACCESS EXCLUSIVE MODE");
+            Integer unverified = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM images i LEFT JOIN image_blobs b ON b.id = i.blob_id " +
+                "WHERE i.image_data IS NOT NULL " +
+                "AND (b.id IS NULL OR b.content_hash <> encode(sha256(i.image_data), 'hex'))", Integer.class);
+            if (unverified == null || unverified > 0) {
+                throw new IllegalStateException(unverified + " images have inline bytes without a matching blob; "
+                    + "images.image_data was not dropped");
+            }
+            jdbcTemplate.execute("ALTER TABLE images DROP COLUMN image_data");
+            log.info("Verified every inline image against its blob and dropped images.image_data");
+        });
+    }
+}
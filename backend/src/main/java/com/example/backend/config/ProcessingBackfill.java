@@ -0,0 +1,33 @@
+package com.example.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.service.JobQueueService;
+
+/**
+ * Queues processing stages that existing images have never been through, e.g. the
+ * thumbnail and placeholder stages for images uploaded before those stages existed.
+ */
+@Component
+@Order(2)
+public class ProcessingBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ProcessingBackfill.class);
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int queued = jobQueueService.enqueueMissing();
+        if (queued > 0) {
+            log.info("Queued {} processing jobs for existing images", queued);
+        }
+    }
+}
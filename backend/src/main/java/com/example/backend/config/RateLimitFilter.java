@@ -0,0 +1,132 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.backend.service.AuthService;
+import com.example.backend.util.ApiResponse;
+import com.example.backend.util.AuthUtil;
+import com.example.backend.util.TokenBucketLimiter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Per-client rate limits on the API, keyed by a valid bearer token or, without one, client IP
+ * (the forwarded one behind a proxy, see server.forward-headers-strategy).
+ * Image downloads, uploads and everything else have separate budgets. Runs before the
+ * bulkheads so abusive clients are turned away without taking a permit.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final byte[] TOO_MANY_REQUESTS =
+        ApiResponse.serialize(ApiResponse.error("Too many requests, please slow down"));
+
+    private final TokenBucketLimiter metadata;
+    private final TokenBucketLimiter images;
+    private final TokenBucketLimiter uploads;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    private AuthService authService;
+
+    @Value("${RATE_LIMIT_ENABLED:true}")
+    private boolean enabled;
+
+    public RateLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${RATE_LIMIT_METADATA_CAPACITY:120}") long metadataCapacity,
+            @Value("${RATE_LIMIT_METADATA_PER_SECOND:2}") double metadataPerSecond,
+            @Value("${RATE_LIMIT_IMAGE_CAPACITY:300}") long imageCapacity,
+            @Value("${RATE_LIMIT_IMAGE_PER_SECOND:5}") double imagePerSecond,
+            @Value("${RATE_LIMIT_UPLOAD_CAPACITY:10}") long uploadCapacity,
+            @Value("${RATE_LIMIT_UPLOAD_PER_SECOND:0.1}") double uploadPerSecond) {
+        this.meterRegistry = meterRegistry;
+        this.metadata = register(new TokenBucketLimiter("metadata", metadataCapacity, metadataPerSecond));
+        this.images = register(new TokenBucketLimiter("image", imageCapacity, imagePerSecond));
+        this.uploads = register(new TokenBucketLimiter("upload", uploadCapacity, uploadPerSecond));
+    }
+
+    private TokenBucketLimiter register(TokenBucketLimiter limiter) {
+        Gauge.builder("ratelimit.buckets", limiter, TokenBucketLimiter::size)
+            .tag("budget", limiter.getName())
+            .register(meterRegistry);
+        return limiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/") || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TokenBucketLimiter limiter = budgetFor(request);
+        String token = AuthUtil.extractToken(request.getHeader(HttpHeaders.AUTHORIZATION));
+        // Only a token we issued gets its own bucket; an unknown one is charged to the IP,
+        // so inventing tokens neither resets the limit nor grows the bucket map
+        String key = authService.validate(token) ? "t:" + token : "ip:" + request.getRemoteAddr();
+
+        TokenBucketLimiter.Decision decision = limiter.tryAcquire(key);
+        response.setHeader("X-RateLimit-Limit", Long.toString(limiter.getCapacity()));
+        response.setHeader("X-RateLimit-Remaining", Long.toString(decision.getRemaining()));
+        response.setHeader("X-RateLimit-Reset", Long.toString(toSeconds(decision.getResetMs())));
+        if (decision.isAllowed()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        meterRegistry.counter("ratelimit.rejected", "budget", limiter.getName()).increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(toSeconds(decision.getRetryAfterMs())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(TOO_MANY_REQUESTS.length);
+        response.getOutputStream().write(TOO_MANY_REQUESTS);
+    }
+
+    private TokenBucketLimiter budgetFor(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.startsWith("/api/images/")) {
+            return images;
+        }
+        // Starting and completing a chunked upload count as one upload; the chunks and
+        // status checks in between are cheap and must not exhaust the upload budget
+        String contentType = request.getContentType();
+        if (uri.equals("/api/uploads") || (uri.startsWith("/api/uploads/") && uri.endsWith("/complete"))
+                || (contentType != null && contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE))) {
+            return uploads;
+        }
+        return metadata;
+    }
+
+    /**
+     * Keep memory bounded by forgetting clients whose buckets have refilled
+     */
+    @Scheduled(fixedDelayString = "${RATE_LIMIT_EVICT_INTERVAL_MS:60000}")
+    public void evictIdleBuckets() {
+        metadata.evictIdle();
+        images.evictIdle();
+        uploads.evictIdle();
+    }
+
+    private static long toSeconds(long millis) {
+        return (millis + 999) / 1000;
+    }
+}
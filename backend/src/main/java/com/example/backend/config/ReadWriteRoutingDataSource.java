@@ -0,0 +1,148 @@
+package com.example.backend.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends connections for read-only transactions to a healthy replica (round-robin) and
+ * everything else to the primary. Must sit behind a LazyConnectionDataSourceProxy so the
+ * connection is only chosen once the transaction's read-only flag is known.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    // Replay lag in ms; 0 when not in recovery or when everything received has been replayed,
+    // -1 when no WAL receiver is running. A disconnected replica has replayed all it received
+    // too, so without the receiver check it would look current however far behind it falls.
+    private static final String LAG_SQL =
+        "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+        "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver) THEN -1 " +
+        "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END::bigint";
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMs;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools,
+                                      long maxLagMs, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLagMs = maxLagMs;
+        for (HikariDataSource pool : replicaPools) {
+            Replica replica = new Replica(pool);
+            replicas.add(replica);
+            Gauge.builder("db.replica.lag", replica, r -> r.lagMs)
+                .tag("pool", pool.getPoolName())
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Force reads on the current thread to the primary, e.g. right after this client wrote
+     */
+    public static void setPrimaryPinned(boolean pinned) {
+        if (pinned) {
+            PRIMARY_PINNED.set(Boolean.TRUE);
+        } else {
+            PRIMARY_PINNED.remove();
+        }
+    }
+
+    public static boolean isPrimaryPinned() {
+        return Boolean.TRUE.equals(PRIMARY_PINNED.get());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return determineTarget().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return determineTarget().getConnection(username, password);
+    }
+
+    private DataSource determineTarget() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || Boolean.TRUE.equals(PRIMARY_PINNED.get())) {
+            return primary;
+        }
+        int count = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), count);
+        for (int i = 0; i < count; i++) {
+            Replica replica = replicas.get((start + i) % count);
+            if (replica.healthy) {
+                return replica.dataSource;
+            }
+        }
+        // No replica is reachable and caught up
+        return primary;
+    }
+
+    /**
+     * Measure replay lag and take replicas that are down or too far behind out of rotation
+     */
+    @Scheduled(fixedDelayString = "${DB_REPLICA_LAG_CHECK_MS:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_SQL)) {
+                rs.next();
+                replica.lagMs = rs.getLong(1);
+                healthy = replica.lagMs >= 0 && replica.lagMs <= maxLagMs;
+                connection.rollback();
+            } catch (SQLException e) {
+                replica.lagMs = -1;
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.info("Replica {} {} (lag {} ms)", replica.dataSource.getPoolName(),
+                    healthy ? "in rotation" : "out of rotation", replica.lagMs);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (Replica replica : replicas) {
+            replica.dataSource.close();
+        }
+    }
+
+    private static class Replica {
+        final HikariDataSource dataSource;
+        volatile boolean healthy;
+        volatile long lagMs = -1;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.backend.util.AuthUtil;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps reads on the primary for a while after a client wrote, so an admin sees their
+ * upload even if the replicas have not replayed it yet. Tracked per token on this instance.
+ */
+@Component
+@ConditionalOnExpression("!'${DB_REPLICA_URLS:}'.isBlank()")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final int CLEANUP_THRESHOLD = 1000;
+
+    private final Map<String, Long> primaryUntil = new ConcurrentHashMap<>();
+
+    @Value("${DB_READ_YOUR_WRITES_MS:15000}")
+    private long windowMs;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = AuthUtil.extractToken(request.getHeader("Authorization"));
+        boolean write = isWrite(request.getMethod());
+        ReadWriteRoutingDataSource.setPrimaryPinned(write || (token != null && recentlyWrote(token)));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingDataSource.setPrimaryPinned(false);
+            if (write && token != null && response.getStatus() < 400) {
+                recordWrite(token);
+            }
+        }
+    }
+
+    private boolean recentlyWrote(String token) {
+        Long until = primaryUntil.get(token);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    private void recordWrite(String token) {
+        long now = System.currentTimeMillis();
+        if (primaryUntil.size() > CLEANUP_THRESHOLD) {
+            primaryUntil.values().removeIf(until -> until <= now);
+        }
+        primaryUntil.put(token, now + windowMs);
+    }
+
+    private static boolean isWrite(String method) {
+        return "POST".equals(method) || "PUT".equals(method) || "DELETE".equals(method) || "PATCH".equals(method);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.backend.config;
+
+import java.lang.annotation.Annotation;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * With spring.main.lazy-initialization (the fast profile) a bean is only created when
+ * something injects it, and a @Scheduled method only runs once its bean exists. Beans with
+ * @Scheduled or @Async methods are therefore always created at startup, so a job such as
+ * the retention purge cannot be switched off by nobody depending on its service.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    // Static: the filters are read by a bean factory post-processor, before this class exists
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+            && (hasAnnotatedMethod(beanType, Scheduled.class)
+                || AnnotatedElementUtils.hasAnnotation(beanType, Async.class)
+                || hasAnnotatedMethod(beanType, Async.class));
+    }
+
+    private static boolean hasAnnotatedMethod(Class<?> type, Class<? extends Annotation> annotation) {
+        return !MethodIntrospector.selectMethods(type,
+            (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                AnnotatedElementUtils.hasAnnotation(method, annotation) ? Boolean.TRUE : null).isEmpty();
+    }
+}
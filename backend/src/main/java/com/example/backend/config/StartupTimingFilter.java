@@ -0,0 +1,75 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Reports how long after JVM start the application became ready and served its first
+ * request, as the application.first.request.time gauge and a log line. Boot already
+ * publishes application.ready.time.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StartupTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimingFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean firstRequestSeen = new AtomicBoolean();
+
+    public StartupTimingFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        log.info("Ready {} ms after JVM start (AOT: {}, CDS: {})", uptimeMillis(),
+            AotDetector.useGeneratedArtifacts(), cdsInUse());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (!firstRequestSeen.get() && firstRequestSeen.compareAndSet(false, true)) {
+                long elapsed = uptimeMillis();
+                TimeGauge.builder("application.first.request.time", () -> elapsed, TimeUnit.MILLISECONDS)
+                    .description("Time from JVM start until the first request was served")
+                    .register(meterRegistry);
+                log.info("First request ({} {}) served {} ms after JVM start",
+                    request.getMethod(), request.getRequestURI(), elapsed);
+            }
+        }
+    }
+
+    private static long uptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    // Started with an application class-data archive
+    private static boolean cdsInUse() {
+        return ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+            .anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile") || arg.startsWith("-XX:AOTCache"));
+    }
+}
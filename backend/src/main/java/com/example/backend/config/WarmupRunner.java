@@ -0,0 +1,181 @@
+package com.example.backend.config;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.controller.ImageController;
+import com.example.backend.controller.WeeklyWinnerController;
+import com.example.backend.dto.WeeklyWinnerDto;
+import com.example.backend.dto.WinnerList;
+import com.example.backend.entity.ImageType;
+import com.example.backend.service.AuthService;
+import com.example.backend.service.WeeklyWinnerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * Replays the read-only request mix against the controllers before the instance reports
+ * ready: fills the winner, search, statistics and mosaic caches, touches the current
+ * week's images and lets the JIT compile the listing and serialization paths.
+ * Runs as the last ApplicationRunner; Boot only switches readiness to ACCEPTING_TRAFFIC
+ * after all runners have finished.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    // Tile size requested by AllWinnersPage.vue
+    private static final int GALLERY_TILE = 160;
+
+    // Field sets the frontend asks for (services/api.js), so their projection plans are built
+    private static final String CARD_FIELDS = "id,sundayDate,type,image.id,image.title,image.placeholder,image.url";
+    private static final String GALLERY_FIELDS = "id,sundayDate,type,image.id,image.title,image.url";
+    private static final String ARCHIVE_FIELDS = "sundayDate,overall,raul";
+
+    @Autowired
+    private WeeklyWinnerController weeklyWinnerController;
+
+    @Autowired
+    private ImageController imageController;
+
+    @Autowired
+    private WeeklyWinnerService weeklyWinnerService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${WARMUP_ENABLED:true}")
+    private boolean enabled;
+
+    @Value("${WARMUP_ITERATIONS:200}")
+    private int iterations;
+
+    @Value("${WARMUP_MAX_SECONDS:30}")
+    private long maxSeconds;
+
+    private TransactionTemplate readOnly;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.SECONDS.toNanos(maxSeconds);
+        String token = authService.issueInternalToken("warmup");
+        String auth = "Bearer " + token;
+        int requests = 0;
+        int notOk = 0;
+        try {
+            // One pass over the expensive, cached responses
+            List<Supplier<ResponseEntity<?>>> once = new ArrayList<>();
+            once.add(() -> imageController.getMosaicMap(auth, null, null, null, GALLERY_TILE));
+            once.add(() -> imageController.getMosaic(auth, null, null, null, null, GALLERY_TILE));
+            for (Long imageId : currentImageIds(auth)) {
+                once.add(() -> imageController.loadImage(auth, imageId, false));
+            }
+            for (Supplier<ResponseEntity<?>> call : once) {
+                requests++;
+                notOk += call(call) ? 0 : 1;
+            }
+
+            // Repeated passes over the metadata endpoints, serialized like a real response
+            LocalDate currentSunday = weeklyWinnerService.getCurrentSunday();
+            String sunday = currentSunday.toString();
+            String yearAgo = currentSunday.minusWeeks(52).toString();
+            List<Supplier<ResponseEntity<?>>> mix = List.of(
+                () -> weeklyWinnerController.getCurrentWeekWinners(auth, null, null),
+                () -> weeklyWinnerController.getCurrentWeekWinners(auth, CARD_FIELDS, null),
+                () -> weeklyWinnerController.getLatestWinners(auth, null, null),
+                () -> weeklyWinnerController.getAllWinners(auth, null, null),
+                () -> weeklyWinnerController.getAllWinners(auth, GALLERY_FIELDS, null),
+                () -> weeklyWinnerController.getWinnersByType(auth, ImageType.OVERALL, null, null),
+                () -> weeklyWinnerController.getWinnersByType(auth, ImageType.RAUL, null, null),
+                () -> weeklyWinnerController.getWinnersForDate(auth, sunday, null, null),
+                () -> weeklyWinnerController.getArchive(auth, yearAgo, sunday, null),
+                () -> weeklyWinnerController.getArchive(auth, yearAgo, sunday, ARCHIVE_FIELDS),
+                () -> weeklyWinnerController.searchWinners(auth, "winner", 20, null, null),
+                () -> weeklyWinnerController.getStats(auth)
+            );
+            for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+                for (Supplier<ResponseEntity<?>> call : mix) {
+                    requests++;
+                    notOk += call(call) ? 0 : 1;
+                }
+            }
+        } finally {
+            authService.revoke(token);
+        }
+
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        TimeGauge.builder("application.warmup.time", () -> elapsed, TimeUnit.MILLISECONDS)
+            .description("Time spent warming up before reporting ready")
+            .register(meterRegistry);
+        log.info("Warm-up replayed {} requests in {} ms ({} not OK)", requests, elapsed, notOk);
+    }
+
+    private List<Long> currentImageIds(String auth) {
+        List<Long> ids = new ArrayList<>();
+        try {
+            Object body = readOnly.execute(status -> weeklyWinnerController.getCurrentWeekWinners(auth, null, null).getBody());
+            if (body instanceof WinnerList list) {
+                for (WeeklyWinnerDto dto : list.winners()) {
+                    if (dto.getImage() != null) {
+                        ids.add(dto.getImage().getId());
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.debug("Warm-up could not list current winners: {}", e.toString());
+        }
+        return ids;
+    }
+
+    // Warm-up must never stop the instance from starting. Each call runs in a read-only
+    // transaction, standing in for the session open-in-view gives real requests.
+    private boolean call(Supplier<ResponseEntity<?>> call) {
+        try {
+            ResponseEntity<?> response = readOnly.execute(status -> call.get());
+            Object body = response.getBody();
+            if (body != null && !(body instanceof byte[]) && !(body instanceof Resource)) {
+                objectMapper.writeValueAsBytes(body);
+            }
+            return response.getStatusCode().is2xxSuccessful();
+        } catch (Exception e) {
+            log.debug("Warm-up request failed: {}", e.toString());
+            return false;
+        }
+    }
+}
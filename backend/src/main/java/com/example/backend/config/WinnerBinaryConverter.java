@@ -0,0 +1,86 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.dto.ArchiveList;
+import com.example.backend.dto.SparseArchiveList;
+import com.example.backend.dto.SparseWinnerList;
+import com.example.backend.dto.WinnerList;
+import com.example.backend.util.WinnerCodec;
+
+/**
+ * Writes winner listings as CBOR or protobuf when the client's Accept header asks for them;
+ * everything else, and clients that do not, keep getting JSON. Boot puts converter beans
+ * ahead of its defaults, so this also wins over the generic Jackson CBOR converter.
+ */
+@Component
+public class WinnerBinaryConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    public static final MediaType PROTOBUF = MediaType.valueOf("application/x-protobuf");
+    public static final MediaType PROTOBUF_STANDARD = MediaType.valueOf("application/protobuf");
+
+    public WinnerBinaryConverter() {
+        super(CBOR, PROTOBUF, PROTOBUF_STANDARD);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == WinnerList.class || clazz == SparseWinnerList.class
+            || clazz == ArchiveList.class || clazz == SparseArchiveList.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return supports(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Winner listings are write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        if (body instanceof SparseWinnerList sparse) {
+            // Unselected fields are already null, which both formats write as absent
+            body = sparse.toWinnerList();
+        } else if (body instanceof SparseArchiveList sparse) {
+            // Unselected flags are already false, which the type mask leaves out
+            body = sparse.archive();
+        }
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        if (contentType != null && CBOR.isCompatibleWith(contentType)) {
+            if (body instanceof WinnerList list) {
+                WinnerCodec.writeCbor(list, outputMessage.getBody());
+            } else {
+                WinnerCodec.writeCbor((ArchiveList) body, outputMessage.getBody());
+            }
+            return;
+        }
+        byte[] bytes = body instanceof WinnerList list
+            ? WinnerCodec.toProtobuf(list)
+            : WinnerCodec.toProtobuf((ArchiveList) body);
+        outputMessage.getHeaders().setContentLength(bytes.length);
+        outputMessage.getBody().write(bytes);
+    }
+
+    @Override
+    protected Long getContentLength(Object body, MediaType contentType) {
+        // Known only after encoding; protobuf sets it in writeInternal
+        return null;
+    }
+}
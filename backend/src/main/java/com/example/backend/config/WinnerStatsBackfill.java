@@ -0,0 +1,45 @@
+package com.example.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.service.WinnerStatsService;
+
+/**
+ * Fills winner_stats from existing winners the first time the table is empty.
+ * From then on it is kept up to date by the transactions that change winners.
+ */
+@Component
+@Order(1)
+public class WinnerStatsBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WinnerStatsBackfill.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private WinnerStatsService winnerStatsService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Boolean needed = new TransactionTemplate(transactionManager).execute(status -> jdbcTemplate.queryForObject(
+            "SELECT NOT EXISTS (SELECT 1 FROM winner_stats) AND EXISTS (SELECT 1 FROM weekly_winners)",
+            Boolean.class));
+        if (Boolean.TRUE.equals(needed)) {
+            int rows = winnerStatsService.rebuild();
+            log.info("Built winner statistics: {} month/type rows", rows);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.example.backend.controller;
 
-import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +12,8 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.backend.dto.LoginResponse;
+import com.example.backend.dto.TokenValidationResponse;
 import com.example.backend.service.AuthService;
 
 @CrossOrigin(origins = "*")
@@ -29,16 +30,9 @@ public class AuthController {
         String password = body.get("password");
         String token = authService.login(username, password);
         if (token == null) {
-            Map<String, Object> resp = new HashMap<>();
-            resp.put("success", false);
-            resp.put("message", "Invalid credentials");
-            return ResponseEntity.status(401).body(resp);
+            return ResponseEntity.status(401).body(LoginResponse.failed("Invalid credentials"));
         }
-        Map<String, Object> resp = new HashMap<>();
-        resp.put("success", true);
-        resp.put("token", token);
-        resp.put("role", authService.getRole(token));
-        return ResponseEntity.ok(resp);
+        return ResponseEntity.ok(LoginResponse.ok(token, authService.getRole(token)));
     }
 
     @GetMapping("/validate")
@@ -47,15 +41,10 @@ public class AuthController {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             token = authHeader.substring(7);
         }
-        boolean valid = authService.validate(token);
-        Map<String, Object> resp = new HashMap<>();
-        resp.put("success", valid);
-        if (valid) {
-            resp.put("role", authService.getRole(token));
-        } else {
-            resp.put("message", "Invalid token");
+        if (!authService.validate(token)) {
+            return ResponseEntity.ok(TokenValidationResponse.invalid("Invalid token"));
         }
-        return ResponseEntity.ok(resp);
+        return ResponseEntity.ok(TokenValidationResponse.valid(authService.getRole(token)));
     }
 }
 
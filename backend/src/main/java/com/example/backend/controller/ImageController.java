@@ -1,8 +1,16 @@
 package com.example.backend.controller;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -13,84 +21,287 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.backend.dto.SignedUrlResponse;
 import com.example.backend.entity.Image;
+import com.example.backend.entity.ImageType;
 import com.example.backend.repository.ImageRepository;
 import com.example.backend.service.AuthService;
+import com.example.backend.service.ImageBlobService;
+import com.example.backend.service.ImageUrlSigner;
+import com.example.backend.service.MosaicService;
+import com.example.backend.util.ApiResponse;
+import com.example.backend.util.AsyncBodyWriter;
 import com.example.backend.util.AuthUtil;
+import com.example.backend.util.ByteBufferResource;
 import com.example.backend.util.FileUtil;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 @CrossOrigin(origins = "*")
 @RestController
 @RequestMapping("/api/images")
 public class ImageController {
 
+    private static final byte[] WRITES_BUSY =
+        ApiResponse.serialize(ApiResponse.error("Server busy (image writes), please retry shortly"));
+
     @Autowired
     private ImageRepository imageRepository;
 
+    @Autowired
+    private ImageBlobService imageBlobService;
+
     @Autowired
     private AuthService authService;
 
-    @GetMapping("/{id}")
-    @Transactional(readOnly = true)
-    public ResponseEntity<?> getImage(
+    @Autowired
+    private MosaicService mosaicService;
+
+    @Autowired
+    private ImageUrlSigner imageUrlSigner;
+
+    @Value("${IMAGE_WRITE_TIMEOUT_MS:120000}")
+    private long writeTimeoutMs;
+
+    @Value("${IMAGE_WRITE_BUFFER_MB:256}")
+    private long writeBufferMb;
+
+    @Value("${BULKHEAD_RETRY_AFTER_SECONDS:2}")
+    private int retryAfterSeconds;
+
+    /**
+     * Bytes of image bodies handed to non-blocking writes and not yet drained. The blob
+     * bulkhead no longer bounds these once the handler returns, so without a cap every slow
+     * reader keeps a whole image on the heap.
+     */
+    private final AtomicLong bufferedBytes = new AtomicLong();
+
+    /**
+     * Contact sheet of winner thumbnails for a date range as one JPEG; see /mosaic/map for tile positions
+     */
+    @GetMapping("/mosaic")
+    public ResponseEntity<?> getMosaic(
             @RequestHeader(value = "Authorization", required = false) String authHeader,
-            @PathVariable Long id) {
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to,
+            @RequestParam(value = "type", required = false) ImageType type,
+            @RequestParam(value = "tile", defaultValue = "" + MosaicService.DEFAULT_TILE) int tile) {
 
         String token = AuthUtil.extractToken(authHeader);
         if (!authService.validate(token)) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            return ApiResponse.unauthorized();
         }
 
-        Optional<Image> imageOpt = imageRepository.findById(id);
-        if (imageOpt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        try {
+            MosaicService.Mosaic mosaic = mosaicService.get(parseDate(from), parseDate(to), type, tile);
+            if (mosaic.getSprite() == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+            String etag = "\"" + mosaic.getVersion() + "\"";
+            if (etag.equals(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.IMAGE_JPEG_VALUE)
+                    .eTag(etag)
+                    .body(mosaic.getSprite());
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                ApiResponse.error("Error building mosaic: " + e.getMessage())
+            );
         }
+    }
 
-        Image image = imageOpt.get();
-        String mimeType = image.getMimeType() != null ? image.getMimeType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    /**
+     * Tile positions of the mosaic for the same parameters: winner, date, type and image per tile
+     */
+    @GetMapping("/mosaic/map")
+    public ResponseEntity<?> getMosaicMap(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to,
+            @RequestParam(value = "type", required = false) ImageType type,
+            @RequestParam(value = "tile", defaultValue = "" + MosaicService.DEFAULT_TILE) int tile) {
+
+        String token = AuthUtil.extractToken(authHeader);
+        if (!authService.validate(token)) {
+            return ApiResponse.unauthorized();
+        }
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_TYPE, mimeType)
-                .body(image.getImageData());
+        try {
+            return ResponseEntity.ok(mosaicService.get(parseDate(from), parseDate(to), type, tile).getMap());
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                ApiResponse.error("Error building mosaic: " + e.getMessage())
+            );
+        }
     }
 
-    @GetMapping("/{id}/download")
+    private static LocalDate parseDate(String value) {
+        return value == null || value.isBlank() ? null : LocalDate.parse(value);
+    }
+
+    /**
+     * Image bytes, authorized either by the Authorization header or by a signed URL
+     * (v, exp, sig from ImageUrlSigner). Signed responses at the image's current version
+     * may be cached by browsers and proxies until the URL expires.
+     */
+    @GetMapping("/{id}")
+    @Transactional(readOnly = true)
+    public void getImage(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @PathVariable Long id,
+            @RequestParam(value = "v", required = false) Long version,
+            @RequestParam(value = "exp", required = false) Long exp,
+            @RequestParam(value = "sig", required = false) String sig,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (writesBacklogged(response)) {
+            return;
+        }
+        if (sig == null) {
+            send(loadImage(authHeader, id, false), request, response);
+            return;
+        }
+        if (version == null || exp == null || !imageUrlSigner.verify(id, version, exp, sig)) {
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            return;
+        }
+        send(load(id, false, version, exp), request, response);
+    }
+
+    /**
+     * A signed URL for an image, for clients that only have its id
+     */
+    @GetMapping("/{id}/url")
     @Transactional(readOnly = true)
-    public ResponseEntity<?> downloadImage(
+    public ResponseEntity<?> getSignedUrl(
             @RequestHeader(value = "Authorization", required = false) String authHeader,
             @PathVariable Long id) {
+        String token = AuthUtil.extractToken(authHeader);
+        if (!authService.validate(token)) {
+            return ApiResponse.unauthorized();
+        }
+        Optional<Image> image = imageRepository.findById(id);
+        if (image.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(new SignedUrlResponse(imageUrlSigner.sign(image.get()), imageUrlSigner.expiresAt()));
+    }
+
+    @GetMapping("/{id}/download")
+    @Transactional(readOnly = true)
+    public void downloadImage(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @PathVariable Long id,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (writesBacklogged(response)) {
+            return;
+        }
+        send(loadImage(authHeader, id, true), request, response);
+    }
 
+    /**
+     * Look up an image and its serving bytes; the body is a Resource over the blob or pack.
+     * Runs in the caller's transaction, if any: the handlers above call it on this instance,
+     * past the proxy, and the repository and blob service open their own otherwise.
+     */
+    public ResponseEntity<?> loadImage(String authHeader, Long id, boolean download) {
         String token = AuthUtil.extractToken(authHeader);
         if (!authService.validate(token)) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            return ApiResponse.unauthorized();
         }
+        return load(id, download, null, 0);
+    }
 
+    private ResponseEntity<?> load(Long id, boolean download, Long signedVersion, long exp) {
         Optional<Image> imageOpt = imageRepository.findById(id);
         if (imageOpt.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
 
         Image image = imageOpt.get();
+        Optional<Resource> data;
+        try {
+            data = imageBlobService.getServingContent(image.getBlob().getId());
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+        if (data.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
         String mimeType = image.getMimeType() != null ? image.getMimeType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
-        
-        // Debug logging
-        System.out.println("DEBUG: Image MIME type: " + mimeType);
-        System.out.println("DEBUG: Image title: " + image.getTitle());
-        
-        // Get filename with proper extension from mime type
-        String filename = FileUtil.getFilenameWithExtension(
-            image.getTitle() != null ? image.getTitle() : "image", 
-            mimeType
-        );
-        
-        System.out.println("DEBUG: Generated filename: " + filename);
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_TYPE, mimeType)
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .body(image.getImageData());
+
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok().header(HttpHeaders.CONTENT_TYPE, mimeType);
+        if (download) {
+            // Get filename with proper extension from mime type
+            String filename = FileUtil.getFilenameWithExtension(
+                image.getTitle() != null ? image.getTitle() : "image",
+                mimeType
+            );
+            ok.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        }
+        if (signedVersion != null) {
+            // A URL signed for an older version still works, but must not cache the new bytes
+            long maxAge = exp - imageUrlSigner.nowSeconds();
+            ok.header(HttpHeaders.CACHE_CONTROL, signedVersion.equals(ImageUrlSigner.versionOf(image)) && maxAge > 0
+                ? "public, max-age=" + maxAge + ", immutable"
+                : "no-cache");
+        }
+        return ok.body(data.get());
+    }
+
+    /**
+     * Copy status and headers, then hand the bytes to a non-blocking write. The handler (and
+     * with it the transaction, pooled connection and bulkhead permit) returns right away while
+     * the container drains the buffer at the client's pace.
+     */
+    private void send(ResponseEntity<?> entity, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setStatus(entity.getStatusCode().value());
+        entity.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+
+        ByteBuffer body;
+        if (entity.getBody() instanceof ByteBufferResource resource) {
+            body = resource.getByteBuffer();
+        } else if (entity.getBody() instanceof ByteArrayResource resource) {
+            body = ByteBuffer.wrap(resource.getByteArray());
+        } else if (entity.getBody() instanceof byte[] bytes) {
+            // JSON error bodies such as ApiResponse.unauthorized()
+            body = ByteBuffer.wrap(bytes);
+        } else {
+            return;
+        }
+        long length = body.remaining();
+        response.setContentLengthLong(length);
+        bufferedBytes.addAndGet(length);
+        AsyncBodyWriter.write(request, response, body, writeTimeoutMs, () -> bufferedBytes.addAndGet(-length));
+    }
+
+    /**
+     * 503 before loading another body while the pending writes already hold the buffer budget;
+     * checked up front, so the budget can be overshot by at most one body per blob permit
+     */
+    private boolean writesBacklogged(HttpServletResponse response) throws IOException {
+        if (bufferedBytes.get() < writeBufferMb * 1024 * 1024) {
+            return false;
+        }
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Integer.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(WRITES_BUSY.length);
+        response.getOutputStream().write(WRITES_BUSY);
+        return true;
     }
 
 }
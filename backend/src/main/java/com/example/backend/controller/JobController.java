@@ -0,0 +1,54 @@
+package com.example.backend.controller;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.backend.dto.JobDto;
+import com.example.backend.entity.ProcessingJob;
+import com.example.backend.service.AuthService;
+import com.example.backend.service.JobQueueService;
+import com.example.backend.util.ApiResponse;
+import com.example.backend.util.AuthUtil;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    @Autowired
+    private AuthService authService;
+
+    /**
+     * Get the status of a post-upload processing job
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getJob(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @PathVariable Long id) {
+
+        String token = AuthUtil.extractToken(authHeader);
+        if (!authService.validate(token)) {
+            return ApiResponse.unauthorized();
+        }
+
+        Optional<ProcessingJob> job = jobQueueService.getJob(id);
+        if (job.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+                ApiResponse.error("No job found with id " + id)
+            );
+        }
+        return ResponseEntity.ok(new JobDto(job.get()));
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.backend.controller;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.backend.dto.UploadStartedResponse;
+import com.example.backend.dto.WinnerSavedResponse;
+import com.example.backend.entity.ImageType;
+import com.example.backend.entity.WeeklyWinner;
+import com.example.backend.service.AuthService;
+import com.example.backend.service.JobQueueService;
+import com.example.backend.service.UploadSession;
+import com.example.backend.service.UploadSessionService;
+import com.example.backend.service.WeeklyWinnerService;
+import com.example.backend.util.ApiResponse;
+import com.example.backend.util.AuthUtil;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Resumable uploads of winner images: create a session, PUT the file in chunks (in any
+ * order, retrying any that fail), check which ranges are still missing, then complete it
+ * to create or replace the winner exactly like PUT /api/weekly-winners/update.
+ */
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/uploads")
+public class UploadController {
+
+    @Autowired
+    private UploadSessionService uploadSessionService;
+
+    @Autowired
+    private WeeklyWinnerService weeklyWinnerService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    private boolean isAuthorized(String token) {
+        return authService.validate(token);
+    }
+
+    private boolean isAdmin(String token) {
+        String role = authService.getRole(token);
+        return role != null && role.equals("ADMIN");
+    }
+
+    // 401/403 for non-admins, null when the caller may upload
+    private ResponseEntity<?> checkAdmin(String authHeader) {
+        String token = AuthUtil.extractToken(authHeader);
+        if (!isAuthorized(token)) {
+            return ApiResponse.unauthorized();
+        }
+        if (!isAdmin(token)) {
+            return ApiResponse.forbidden();
+        }
+        return null;
+    }
+
+    private ResponseEntity<?> notFound(String uploadId) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+            ApiResponse.error("Upload " + uploadId + " not found or expired")
+        );
+    }
+
+    /**
+     * Start an upload session for a file of the given size
+     */
+    @PostMapping
+    public ResponseEntity<?> createUpload(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam("sundayDate") String sundayDateStr,
+            @RequestParam("type") ImageType type,
+            @RequestParam("size") long size,
+            @RequestParam(value = "filename", required = false) String filename,
+            @RequestParam(value = "contentType", required = false) String contentType,
+            @RequestParam(value = "title", required = false) String title) {
+        try {
+            ResponseEntity<?> denied = checkAdmin(authHeader);
+            if (denied != null) {
+                return denied;
+            }
+
+            if (size > UploadSessionService.MAX_FILE_SIZE) {
+                return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(
+                    ApiResponse.error("File too large. Maximum size allowed is 100MB. Your file size: " +
+                        String.format("%.2f MB", size / (1024.0 * 1024.0)))
+                );
+            }
+            if (size <= 0) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                    ApiResponse.error("Image file is empty")
+                );
+            }
+
+            LocalDate sundayDate = LocalDate.parse(sundayDateStr);
+            if (sundayDate.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                    ApiResponse.error("Invalid date: " + sundayDateStr + " is not a Sunday. Only Sunday dates are allowed for weekly winners.")
+                );
+            }
+            if (sundayDate.isAfter(LocalDate.now())) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                    ApiResponse.error("Cannot update winners for future dates. Selected date: " + sundayDateStr + " is in the future.")
+                );
+            }
+
+            UploadSession session = uploadSessionService.create(sundayDate, type, title, filename, contentType, size);
+            return ResponseEntity.status(HttpStatus.CREATED).body(new UploadStartedResponse(
+                true,
+                "Upload started",
+                session.getId(),
+                session.getSize(),
+                uploadSessionService.getMaxChunkBytes()
+            ));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                ApiResponse.error(e.getMessage())
+            );
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                ApiResponse.error("Error starting upload: " + e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * Store the request body at the given offset; X-Chunk-Sha256 (hex) is verified when sent
+     */
+    @PutMapping("/{uploadId}")
+    public ResponseEntity<?> uploadChunk(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestHeader(value = "X-Chunk-Sha256", required = false) String sha256,
+            @PathVariable String uploadId,
+            @RequestParam("offset") long offset,
+            HttpServletRequest request) {
+        try {
+            ResponseEntity<?> denied = checkAdmin(authHeader);
+            if (denied != null) {
+                return denied;
+            }
+            Optional<UploadSession> session = uploadSessionService.find(uploadId);
+            if (session.isEmpty()) {
+                return notFound(uploadId);
+            }
+            long length = request.getContentLengthLong();
+            if (length <= 0) {
+                return ResponseEntity.status(HttpStatus.LENGTH_REQUIRED).body(
+                    ApiResponse.error("Chunks need a Content-Length")
+                );
+            }
+            return ResponseEntity.ok(
+                uploadSessionService.writeChunk(session.get(), offset, length, request.getInputStream(), sha256)
+            );
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                ApiResponse.error(e.getMessage())
+            );
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                ApiResponse.error(e.getMessage())
+            );
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                ApiResponse.error("Error storing chunk: " + e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * Received and missing byte ranges, for resuming after an interruption
+     */
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<?> getUploadStatus(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @PathVariable String uploadId) {
+        try {
+            ResponseEntity<?> denied = checkAdmin(authHeader);
+            if (denied != null) {
+                return denied;
+            }
+            Optional<UploadSession> session = uploadSessionService.find(uploadId);
+            if (session.isEmpty()) {
+                return notFound(uploadId);
+            }
+            return ResponseEntity.ok(uploadSessionService.status(session.get()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                ApiResponse.error("Error fetching upload: " + e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * Create or replace the winner from the fully received file
+     */
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<?> completeUpload(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @PathVariable String uploadId,
+            @RequestParam(value = "sha256", required = false) String sha256) {
+        try {
+            ResponseEntity<?> denied = checkAdmin(authHeader);
+            if (denied != null) {
+                return denied;
+            }
+            Optional<UploadSession> found = uploadSessionService.find(uploadId);
+            if (found.isEmpty()) {
+                return notFound(uploadId);
+            }
+            UploadSession session = found.get();
+            LocalDate sundayDate = LocalDate.parse(session.getSundayDate());
+            boolean wasExisting = weeklyWinnerService.wasExistingWinner(sundayDate, session.getType());
+
+            WeeklyWinner winner = uploadSessionService.finish(session, sha256);
+
+            String message = wasExisting
+                ? "Weekly winner updated successfully"
+                : "Weekly winner created successfully (no existing entry found)";
+
+            return ResponseEntity.ok(new WinnerSavedResponse(
+                true,
+                message,
+                winner.getId(),
+                winner.getImage().getId(),
+                sundayDate.toString(),
+                session.getType().toString(),
+                wasExisting ? "updated" : "created",
+                jobQueueService.getLatestJobIds(winner.getImage().getId())
+            ));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                ApiResponse.error(e.getMessage())
+            );
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                ApiResponse.error(e.getMessage())
+            );
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                ApiResponse.error("Error updating weekly winner: " + e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * Abandon an upload and delete what was received
+     */
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<?> abortUpload(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @PathVariable String uploadId) {
+        try {
+            ResponseEntity<?> denied = checkAdmin(authHeader);
+            if (denied != null) {
+                return denied;
+            }
+            Optional<UploadSession> session = uploadSessionService.find(uploadId);
+            if (session.isEmpty()) {
+                return notFound(uploadId);
+            }
+            uploadSessionService.abort(session.get());
+            return ResponseEntity.ok(ApiResponse.success("Upload aborted"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                ApiResponse.error("Error aborting upload: " + e.getMessage())
+            );
+        }
+    }
+}
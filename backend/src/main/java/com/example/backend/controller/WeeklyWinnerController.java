@@ -2,11 +2,13 @@ package com.example.backend.controller;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,12 +26,28 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.backend.dto.ArchiveField;
+import com.example.backend.dto.ArchiveList;
+import com.example.backend.dto.ArchiveWeek;
 import com.example.backend.dto.ImageSummaryDto;
+import com.example.backend.dto.PurgeResponse;
+import com.example.backend.dto.SparseArchiveList;
+import com.example.backend.dto.SparseWinnerList;
 import com.example.backend.dto.WeeklyWinnerDto;
+import com.example.backend.dto.WinnerField;
+import com.example.backend.dto.WinnerList;
+import com.example.backend.dto.WinnerSavedResponse;
 import com.example.backend.entity.ImageType;
 import com.example.backend.entity.WeeklyWinner;
 import com.example.backend.service.AuthService;
+import com.example.backend.service.ImageUrlSigner;
+import com.example.backend.service.JobQueueService;
 import com.example.backend.service.WeeklyWinnerService;
+import com.example.backend.service.WinnerStatsService;
+import com.example.backend.service.WinnerCache;
+import com.example.backend.service.WinnerProjectionService;
+import com.example.backend.service.WinnerPurgeService;
+import com.example.backend.service.WinnerSearchIndex;
 import com.example.backend.util.ApiResponse;
 import com.example.backend.util.AuthUtil;
 
@@ -44,6 +62,27 @@ public class WeeklyWinnerController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    @Autowired
+    private WinnerCache winnerCache;
+
+    @Autowired
+    private WinnerStatsService winnerStatsService;
+
+    @Autowired
+    private WinnerSearchIndex winnerSearchIndex;
+
+    @Autowired
+    private WinnerPurgeService winnerPurgeService;
+
+    @Autowired
+    private ImageUrlSigner imageUrlSigner;
+
+    @Autowired
+    private WinnerProjectionService winnerProjectionService;
+
     private boolean isAuthorized(String token) {
         return authService.validate(token);
     }
@@ -53,13 +92,17 @@ public class WeeklyWinnerController {
         return role != null && role.equals("ADMIN");
     }
 
+    private List<WeeklyWinnerDto> toDtos(List<WeeklyWinner> winners) {
+        return winners.stream().map(this::toDto).collect(Collectors.toList());
+    }
+
     private WeeklyWinnerDto toDto(WeeklyWinner w) {
         try {
             return new WeeklyWinnerDto(
                 w.getId(),
                 w.getSundayDate().toString(),
                 w.getType(),
-                new ImageSummaryDto(w.getImage().getId(), w.getImage().getTitle())
+                ImageSummaryDto.of(w.getImage(), imageUrlSigner.sign(w.getImage()))
             );
         } catch (Exception e) {
             // If there's an issue accessing the image (e.g., LOB stream error),
@@ -88,14 +131,10 @@ public class WeeklyWinnerController {
         try {
             String token = AuthUtil.extractToken(authHeader);
             if (!isAuthorized(token)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
-                    ApiResponse.error("Unauthorized")
-                );
+                return ApiResponse.unauthorized();
             }
             if (!isAdmin(token)) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(
-                    ApiResponse.error("Forbidden: admin role required")
-                );
+                return ApiResponse.forbidden();
             }
             
             // Validate file size (100MB limit)
@@ -133,15 +172,16 @@ public class WeeklyWinnerController {
             
             WeeklyWinner winner = weeklyWinnerService.createWeeklyWinner(sundayDate, type, imageFile, title);
 
-            Map<String, Object> response = ApiResponse.successBuilder()
-                .message("Weekly winner created successfully")
-                .data("winnerId", winner.getId())
-                .data("imageId", winner.getImage().getId())
-                .data("sundayDate", sundayDate.toString())
-                .data("type", type.toString())
-                .build();
-
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new WinnerSavedResponse(
+                true,
+                "Weekly winner created successfully",
+                winner.getId(),
+                winner.getImage().getId(),
+                sundayDate.toString(),
+                type.toString(),
+                "created",
+                jobQueueService.getLatestJobIds(winner.getImage().getId())
+            ));
 
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(
@@ -172,14 +212,10 @@ public class WeeklyWinnerController {
         try {
             String token = AuthUtil.extractToken(authHeader);
             if (!isAuthorized(token)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
-                    ApiResponse.error("Unauthorized")
-                );
+                return ApiResponse.unauthorized();
             }
             if (!isAdmin(token)) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(
-                    ApiResponse.error("Forbidden: admin role required")
-                );
+                return ApiResponse.forbidden();
             }
             
             // Validate file size (100MB limit)
@@ -225,16 +261,16 @@ public class WeeklyWinnerController {
                 ? "Weekly winner updated successfully" 
                 : "Weekly winner created successfully (no existing entry found)";
 
-            Map<String, Object> response = ApiResponse.successBuilder()
-                .message(message)
-                .data("winnerId", winner.getId())
-                .data("imageId", winner.getImage().getId())
-                .data("sundayDate", sundayDate.toString())
-                .data("type", type.toString())
-                .data("action", wasExisting ? "updated" : "created")
-                .build();
-
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new WinnerSavedResponse(
+                true,
+                message,
+                winner.getId(),
+                winner.getImage().getId(),
+                sundayDate.toString(),
+                type.toString(),
+                wasExisting ? "updated" : "created",
+                jobQueueService.getLatestJobIds(winner.getImage().getId())
+            ));
 
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(
@@ -252,17 +288,26 @@ public class WeeklyWinnerController {
      */
     @GetMapping("/current")
     public ResponseEntity<?> getCurrentWeekWinners(
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "include", required = false) String include) {
         try {
             String token = AuthUtil.extractToken(authHeader);
             if (!isAuthorized(token)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
-                    ApiResponse.error("Unauthorized")
-                );
+                return ApiResponse.unauthorized();
             }
-            return ResponseEntity.ok(
-                weeklyWinnerService.getCurrentWeekWinners()
-                    .stream().map(this::toDto).collect(Collectors.toList())
+            Set<WinnerField> selected = WinnerField.parse(fields, include);
+            if (selected != null) {
+                return ResponseEntity.ok(new SparseWinnerList(selected,
+                    winnerProjectionService.getWinnersForDate(selected, weeklyWinnerService.getCurrentSunday())));
+            }
+            return ResponseEntity.ok(new WinnerList(
+                winnerCache.get(WinnerCache.dateKey(weeklyWinnerService.getCurrentSunday()),
+                    () -> toDtos(weeklyWinnerService.getCurrentWeekWinners()))
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                ApiResponse.error(e.getMessage())
             );
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
@@ -276,17 +321,24 @@ public class WeeklyWinnerController {
      */
     @GetMapping("/all")
     public ResponseEntity<?> getAllWinners(
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "include", required = false) String include) {
         try {
             String token = AuthUtil.extractToken(authHeader);
             if (!isAuthorized(token)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
-                    ApiResponse.error("Unauthorized")
-                );
+                return ApiResponse.unauthorized();
             }
-            return ResponseEntity.ok(
-                weeklyWinnerService.getAllWinners()
-                    .stream().map(this::toDto).collect(Collectors.toList())
+            Set<WinnerField> selected = WinnerField.parse(fields, include);
+            if (selected != null) {
+                return ResponseEntity.ok(new SparseWinnerList(selected, winnerProjectionService.getAllWinners(selected)));
+            }
+            return ResponseEntity.ok(new WinnerList(
+                winnerCache.get(WinnerCache.ALL, () -> toDtos(weeklyWinnerService.getAllWinners()))
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                ApiResponse.error(e.getMessage())
             );
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
@@ -301,17 +353,24 @@ public class WeeklyWinnerController {
     @GetMapping("/by-type/{type}")
     public ResponseEntity<?> getWinnersByType(
             @RequestHeader(value = "Authorization", required = false) String authHeader,
-            @PathVariable ImageType type) {
+            @PathVariable ImageType type,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "include", required = false) String include) {
         try {
             String token = AuthUtil.extractToken(authHeader);
             if (!isAuthorized(token)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
-                    ApiResponse.error("Unauthorized")
-                );
+                return ApiResponse.unauthorized();
             }
-            return ResponseEntity.ok(
-                weeklyWinnerService.getWinnersByType(type)
-                    .stream().map(this::toDto).collect(Collectors.toList())
+            Set<WinnerField> selected = WinnerField.parse(fields, include);
+            if (selected != null) {
+                return ResponseEntity.ok(new SparseWinnerList(selected, winnerProjectionService.getWinnersByType(selected, type)));
+            }
+            return ResponseEntity.ok(new WinnerList(
+                winnerCache.get(WinnerCache.typeKey(type), () -> toDtos(weeklyWinnerService.getWinnersByType(type)))
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                ApiResponse.error(e.getMessage())
             );
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
@@ -326,19 +385,23 @@ public class WeeklyWinnerController {
     @GetMapping("/by-date")
     public ResponseEntity<?> getWinnersForDate(
             @RequestHeader(value = "Authorization", required = false) String authHeader,
-            @RequestParam("sundayDate") String sundayDateStr) {
+            @RequestParam("sundayDate") String sundayDateStr,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "include", required = false) String include) {
         try {
             String token = AuthUtil.extractToken(authHeader);
             if (!isAuthorized(token)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
-                    ApiResponse.error("Unauthorized")
-                );
+                return ApiResponse.unauthorized();
             }
             LocalDate sundayDate = LocalDate.parse(sundayDateStr);
-            return ResponseEntity.ok(
-                weeklyWinnerService.getWinnersForDate(sundayDate)
-                    .stream().map(this::toDto).collect(Collectors.toList())
-            );
+            Set<WinnerField> selected = WinnerField.parse(fields, include);
+            if (selected != null) {
+                return ResponseEntity.ok(new SparseWinnerList(selected,
+                    winnerProjectionService.getWinnersForDate(selected, sundayDate)));
+            }
+            return ResponseEntity.ok(new WinnerList(
+                winnerCache.get(WinnerCache.dateKey(sundayDate), () -> toDtos(weeklyWinnerService.getWinnersForDate(sundayDate)))
+            ));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(
                 ApiResponse.error(e.getMessage())
@@ -355,17 +418,24 @@ public class WeeklyWinnerController {
      */
     @GetMapping("/latest")
     public ResponseEntity<?> getLatestWinners(
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "include", required = false) String include) {
         try {
             String token = AuthUtil.extractToken(authHeader);
             if (!isAuthorized(token)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
-                    ApiResponse.error("Unauthorized")
-                );
+                return ApiResponse.unauthorized();
             }
-            return ResponseEntity.ok(
-                weeklyWinnerService.getLatestWinners()
-                    .stream().map(this::toDto).collect(Collectors.toList())
+            Set<WinnerField> selected = WinnerField.parse(fields, include);
+            if (selected != null) {
+                return ResponseEntity.ok(new SparseWinnerList(selected, winnerProjectionService.getLatestWinners(selected)));
+            }
+            return ResponseEntity.ok(new WinnerList(
+                winnerCache.get(WinnerCache.LATEST, () -> toDtos(weeklyWinnerService.getLatestWinners()))
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                ApiResponse.error(e.getMessage())
             );
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
@@ -375,20 +445,21 @@ public class WeeklyWinnerController {
     }
 
     /**
-     * Archive endpoint - list all Sundays between start and end with presence flags
+     * Archive endpoint - list all Sundays between start and end with presence flags.
+     * fields= picks among sundayDate, overall and raul; only the flagged types are queried.
      */
     @GetMapping("/archive")
     public ResponseEntity<?> getArchive(
             @RequestHeader(value = "Authorization", required = false) String authHeader,
             @RequestParam("start") String startStr,
-            @RequestParam("end") String endStr) {
+            @RequestParam("end") String endStr,
+            @RequestParam(value = "fields", required = false) String fields) {
         try {
             String token = AuthUtil.extractToken(authHeader);
             if (!isAuthorized(token)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
-                    ApiResponse.error("Unauthorized")
-                );
+                return ApiResponse.unauthorized();
             }
+            Set<ArchiveField> selected = ArchiveField.parse(fields);
 
             LocalDate start = LocalDate.parse(startStr);
             LocalDate end = LocalDate.parse(endStr);
@@ -400,29 +471,82 @@ public class WeeklyWinnerController {
                 end = end.minusDays((end.getDayOfWeek().getValue()) % 7);
             }
 
-            Map<LocalDate, Map<String, Boolean>> byDate = new HashMap<>();
-            for (WeeklyWinner w : weeklyWinnerService.getAllWinners()) {
-                if (!w.getSundayDate().isBefore(start) && !w.getSundayDate().isAfter(end)) {
-                    byDate.computeIfAbsent(w.getSundayDate(), d -> new HashMap<>())
-                          .put(w.getType().name().toLowerCase(), true);
-                }
+            Set<ImageType> types = selected != null ? ArchiveField.types(selected) : EnumSet.allOf(ImageType.class);
+            Map<LocalDate, Set<ImageType>> byDate = winnerProjectionService.getWinnerTypesByDate(start, end, types);
+
+            List<ArchiveWeek> archive = new ArrayList<>();
+            for (LocalDate d = end; !d.isBefore(start); d = d.minusWeeks(1)) {
+                Set<ImageType> present = byDate.getOrDefault(d, Collections.emptySet());
+                archive.add(new ArchiveWeek(d.toString(),
+                    present.contains(ImageType.OVERALL), present.contains(ImageType.RAUL)));
             }
+            if (selected != null) {
+                return ResponseEntity.ok(new SparseArchiveList(selected, new ArchiveList(archive)));
+            }
+            return ResponseEntity.ok(new ArchiveList(archive));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                ApiResponse.error(e.getMessage())
+            );
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                ApiResponse.error("Error building archive: " + e.getMessage())
+            );
+        }
+    }
 
-            List<Map<String, Object>> archive = new ArrayList<>();
-            for (LocalDate d = start; !d.isAfter(end); d = d.plusWeeks(1)) {
-                Map<String, Object> row = new HashMap<>();
-                row.put("sundayDate", d.toString());
-                Map<String, Boolean> flags = byDate.getOrDefault(d, Collections.emptyMap());
-                row.put("overall", flags.getOrDefault("overall", false));
-                row.put("raul", flags.getOrDefault("raul", false));
-                archive.add(row);
+    /**
+     * Search winners by title; matches words by prefix and tolerates small typos
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchWinners(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "include", required = false) String include) {
+        try {
+            String token = AuthUtil.extractToken(authHeader);
+            if (!isAuthorized(token)) {
+                return ApiResponse.unauthorized();
+            }
+            if (query.isBlank()) {
+                return ResponseEntity.badRequest().body(
+                    ApiResponse.error("Search query must not be empty")
+                );
             }
+            Set<WinnerField> selected = WinnerField.parse(fields, include);
+            List<WeeklyWinnerDto> results = winnerSearchIndex.search(query, Math.max(1, Math.min(limit, 100)));
+            // Results come from memory, so the field set only narrows what is written
+            return ResponseEntity.ok(selected != null
+                ? new SparseWinnerList(selected, results)
+                : new WinnerList(results));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                ApiResponse.error(e.getMessage())
+            );
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                ApiResponse.error("Error searching winners: " + e.getMessage())
+            );
+        }
+    }
 
-            archive.sort((a, b) -> ((String)b.get("sundayDate")).compareTo((String)a.get("sundayDate")));
-            return ResponseEntity.ok(archive);
+    /**
+     * Winner counts per year and month, streaks and gaps for each type
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<?> getStats(
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        try {
+            String token = AuthUtil.extractToken(authHeader);
+            if (!isAuthorized(token)) {
+                return ApiResponse.unauthorized();
+            }
+            return ResponseEntity.ok(winnerStatsService.getStats());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
-                ApiResponse.error("Error building archive: " + e.getMessage())
+                ApiResponse.error("Error building statistics: " + e.getMessage())
             );
         }
     }
@@ -440,14 +564,10 @@ public class WeeklyWinnerController {
         try {
             String token = AuthUtil.extractToken(authHeader);
             if (!isAuthorized(token)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
-                    ApiResponse.error("Unauthorized")
-                );
+                return ApiResponse.unauthorized();
             }
             if (!isAdmin(token)) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(
-                    ApiResponse.error("Forbidden: admin role required")
-                );
+                return ApiResponse.forbidden();
             }
             
             LocalDate sundayDate = LocalDate.parse(sundayDateStr);
@@ -495,14 +615,10 @@ public class WeeklyWinnerController {
         try {
             String token = AuthUtil.extractToken(authHeader);
             if (!isAuthorized(token)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
-                    ApiResponse.error("Unauthorized")
-                );
+                return ApiResponse.unauthorized();
             }
             if (!isAdmin(token)) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(
-                    ApiResponse.error("Forbidden: admin role required")
-                );
+                return ApiResponse.forbidden();
             }
             LocalDate sundayDate = LocalDate.parse(sundayDateStr);
             
@@ -528,4 +644,36 @@ public class WeeklyWinnerController {
             );
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Delete every winner from start to end inclusive, of one type or of all types
+     */
+    @DeleteMapping("/range")
+    public ResponseEntity<?> purgeWinners(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam("start") String startStr,
+            @RequestParam("end") String endStr,
+            @RequestParam(value = "type", required = false) ImageType type) {
+
+        try {
+            String token = AuthUtil.extractToken(authHeader);
+            if (!isAuthorized(token)) {
+                return ApiResponse.unauthorized();
+            }
+            if (!isAdmin(token)) {
+                return ApiResponse.forbidden();
+            }
+            LocalDate start = LocalDate.parse(startStr);
+            LocalDate end = LocalDate.parse(endStr);
+            int deleted = winnerPurgeService.purge(start, end, type);
+            return ResponseEntity.ok(new PurgeResponse(true,
+                "Deleted " + deleted + " weekly winners from " + start + " to " + end, deleted));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                ApiResponse.error("Error deleting weekly winners: " + e.getMessage())
+            );
+        }
+    }
+}
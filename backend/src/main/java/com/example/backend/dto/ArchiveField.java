@@ -0,0 +1,83 @@
+package com.example.backend.dto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.example.backend.entity.ImageType;
+
+/**
+ * Fields a client can pick on the archive with ?fields=. Each flag stands for one winner
+ * type, and only the types asked for are queried.
+ */
+public enum ArchiveField {
+    SUNDAY_DATE("sundayDate", null),
+    OVERALL("overall", ImageType.OVERALL),
+    RAUL("raul", ImageType.RAUL);
+
+    private final String key;
+    private final ImageType type;
+
+    ArchiveField(String key, ImageType type) {
+        this.key = key;
+        this.type = type;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    /**
+     * The winner type this flag reports, or null for the date
+     */
+    public ImageType type() {
+        return type;
+    }
+
+    /**
+     * The selected fields, or null when the parameter is not given and every field applies
+     */
+    public static Set<ArchiveField> parse(String fields) {
+        if (fields == null) {
+            return null;
+        }
+        Set<ArchiveField> selected = EnumSet.noneOf(ArchiveField.class);
+        for (String name : fields.split(",")) {
+            if (!name.isBlank()) {
+                selected.add(byKey(name.trim()));
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one of " + keys());
+        }
+        return Collections.unmodifiableSet(selected);
+    }
+
+    /**
+     * Winner types any of the fields report on
+     */
+    public static Set<ImageType> types(Set<ArchiveField> fields) {
+        Set<ImageType> types = EnumSet.noneOf(ImageType.class);
+        for (ArchiveField field : fields) {
+            if (field.type != null) {
+                types.add(field.type);
+            }
+        }
+        return types;
+    }
+
+    private static ArchiveField byKey(String key) {
+        for (ArchiveField field : values()) {
+            if (field.key.equals(key)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field '" + key + "'; expected one of " + keys());
+    }
+
+    private static String keys() {
+        return Arrays.stream(values()).map(ArchiveField::key).collect(Collectors.joining(", "));
+    }
+}
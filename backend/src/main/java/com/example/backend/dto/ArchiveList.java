@@ -0,0 +1,10 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Archive weeks, newest first; JSON is the plain array
+ */
+public record ArchiveList(@JsonValue List<ArchiveWeek> weeks) {}
@@ -0,0 +1,6 @@
+package com.example.backend.dto;
+
+/**
+ * One Sunday of the archive and which winner types it has
+ */
+public record ArchiveWeek(String sundayDate, boolean overall, boolean raul) {}
@@ -1,8 +1,16 @@
 package com.example.backend.dto;
 
+import com.example.backend.entity.Image;
+
 public class ImageSummaryDto {
     private Long id;
     private String title;
+    // Displayed size (EXIF rotation applied) and BlurHash preview, so clients can lay out and paint early
+    private Integer width;
+    private Integer height;
+    private String placeholder;
+    // Signed, cacheable URL usable as a plain img src; see ImageUrlSigner
+    private String url;
 
     public ImageSummaryDto() {}
 
@@ -11,6 +19,50 @@ public class ImageSummaryDto {
         this.title = title;
     }
 
+    public ImageSummaryDto(Long id, String title, Integer width, Integer height, String placeholder) {
+        this(id, title, width, height, placeholder, null);
+    }
+
+    public ImageSummaryDto(Long id, String title, Integer width, Integer height, String placeholder, String url) {
+        this.id = id;
+        this.title = title;
+        this.width = width;
+        this.height = height;
+        this.placeholder = placeholder;
+        this.url = url;
+    }
+
+    /**
+     * Copy with another signed URL, for summaries kept longer than a URL lives
+     */
+    public ImageSummaryDto withUrl(String url) {
+        return new ImageSummaryDto(id, title, width, height, placeholder, url);
+    }
+
+    /**
+     * Summary of an image; orientations 5-8 are rotated a quarter turn, so width and height swap
+     */
+    public static ImageSummaryDto of(Image image) {
+        return of(image, null);
+    }
+
+    /**
+     * Summary of an image with its signed URL
+     */
+    public static ImageSummaryDto of(Image image, String url) {
+        return of(image.getId(), image.getTitle(), image.getWidth(), image.getHeight(), image.getOrientation(),
+            image.getPlaceholder(), url);
+    }
+
+    /**
+     * Summary from stored columns, for projections that never load the Image
+     */
+    public static ImageSummaryDto of(Long id, String title, Integer width, Integer height, Integer orientation,
+                                     String placeholder, String url) {
+        boolean rotated = orientation != null && orientation >= 5 && orientation <= 8;
+        return new ImageSummaryDto(id, title, rotated ? height : width, rotated ? width : height, placeholder, url);
+    }
+
     public Long getId() {
         return id;
     }
@@ -26,6 +78,36 @@ public class ImageSummaryDto {
     public void setTitle(String title) {
         this.title = title;
     }
-}
 
+    public Integer getWidth() {
+        return width;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
 
+    public String getPlaceholder() {
+        return placeholder;
+    }
+
+    public void setPlaceholder(String placeholder) {
+        this.placeholder = placeholder;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+}
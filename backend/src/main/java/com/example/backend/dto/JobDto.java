@@ -0,0 +1,112 @@
+package com.example.backend.dto;
+
+import com.example.backend.entity.JobStatus;
+import com.example.backend.entity.ProcessingJob;
+
+public class JobDto {
+    private Long id;
+    private String stage;
+    private Long imageId;
+    private JobStatus status;
+    private int attempts;
+    private int maxAttempts;
+    private String lastError;
+    private String createdAt;
+    private String updatedAt;
+    private String completedAt;
+
+    public JobDto() {}
+
+    public JobDto(ProcessingJob job) {
+        this.id = job.getId();
+        this.stage = job.getStage();
+        this.imageId = job.getImageId();
+        this.status = job.getStatus();
+        this.attempts = job.getAttempts();
+        this.maxAttempts = job.getMaxAttempts();
+        this.lastError = job.getLastError();
+        this.createdAt = job.getCreatedAt() != null ? job.getCreatedAt().toString() : null;
+        this.updatedAt = job.getUpdatedAt() != null ? job.getUpdatedAt().toString() : null;
+        this.completedAt = job.getCompletedAt() != null ? job.getCompletedAt().toString() : null;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public void setStage(String stage) {
+        this.stage = stage;
+    }
+
+    public Long getImageId() {
+        return imageId;
+    }
+
+    public void setImageId(Long imageId) {
+        this.imageId = imageId;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(String updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public String getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(String completedAt) {
+        this.completedAt = completedAt;
+    }
+}
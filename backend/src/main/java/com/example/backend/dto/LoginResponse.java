@@ -0,0 +1,18 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Login result: token and role on success, message on failure
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LoginResponse(boolean success, String message, String token, String role) {
+
+    public static LoginResponse ok(String token, String role) {
+        return new LoginResponse(true, null, token, role);
+    }
+
+    public static LoginResponse failed(String message) {
+        return new LoginResponse(false, message, null, null);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.backend.dto;
+
+/**
+ * Outcome of a request that carries nothing but a message
+ */
+public record MessageResponse(boolean success, String message) {}
@@ -0,0 +1,6 @@
+package com.example.backend.dto;
+
+/**
+ * Outcome of a range purge: how many winners (with their images) were deleted
+ */
+public record PurgeResponse(boolean success, String message, int deleted) {}
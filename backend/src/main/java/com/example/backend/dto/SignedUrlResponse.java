@@ -0,0 +1,6 @@
+package com.example.backend.dto;
+
+/**
+ * A signed image URL and when it stops working (epoch seconds)
+ */
+public record SignedUrlResponse(String url, long expiresAt) {}
@@ -0,0 +1,44 @@
+package com.example.backend.dto;
+
+import java.io.IOException;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Archive weeks narrowed to the fields the client asked for. Unselected fields are left out
+ * of the JSON; binary formats report unselected types as absent.
+ */
+@JsonSerialize(using = SparseArchiveList.Serializer.class)
+public record SparseArchiveList(Set<ArchiveField> fields, ArchiveList archive) {
+
+    public static class Serializer extends StdSerializer<SparseArchiveList> {
+
+        public Serializer() {
+            super(SparseArchiveList.class);
+        }
+
+        @Override
+        public void serialize(SparseArchiveList list, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Set<ArchiveField> fields = list.fields();
+            gen.writeStartArray(list, list.archive().weeks().size());
+            for (ArchiveWeek week : list.archive().weeks()) {
+                gen.writeStartObject();
+                if (fields.contains(ArchiveField.SUNDAY_DATE)) {
+                    gen.writeStringField("sundayDate", week.sundayDate());
+                }
+                if (fields.contains(ArchiveField.OVERALL)) {
+                    gen.writeBooleanField("overall", week.overall());
+                }
+                if (fields.contains(ArchiveField.RAUL)) {
+                    gen.writeBooleanField("raul", week.raul());
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
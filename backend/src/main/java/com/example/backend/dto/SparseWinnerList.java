@@ -0,0 +1,87 @@
+package com.example.backend.dto;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * A winner listing narrowed to the fields the client asked for. Unselected fields are left
+ * out of the JSON entirely, not written as null; binary formats leave them at their default.
+ */
+@JsonSerialize(using = SparseWinnerList.Serializer.class)
+public record SparseWinnerList(Set<WinnerField> fields, List<WeeklyWinnerDto> winners) {
+
+    public WinnerList toWinnerList() {
+        return new WinnerList(winners);
+    }
+
+    public static class Serializer extends StdSerializer<SparseWinnerList> {
+
+        public Serializer() {
+            super(SparseWinnerList.class);
+        }
+
+        @Override
+        public void serialize(SparseWinnerList list, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Set<WinnerField> fields = list.fields();
+            boolean withImage = fields.stream().anyMatch(WinnerField::isImage);
+            gen.writeStartArray(list, list.winners().size());
+            for (WeeklyWinnerDto winner : list.winners()) {
+                gen.writeStartObject();
+                if (fields.contains(WinnerField.ID)) {
+                    writeNumber(gen, "id", winner.getId());
+                }
+                if (fields.contains(WinnerField.SUNDAY_DATE)) {
+                    gen.writeStringField("sundayDate", winner.getSundayDate());
+                }
+                if (fields.contains(WinnerField.TYPE)) {
+                    gen.writeStringField("type", winner.getType() != null ? winner.getType().name() : null);
+                }
+                if (withImage) {
+                    ImageSummaryDto image = winner.getImage();
+                    gen.writeFieldName("image");
+                    if (image == null) {
+                        gen.writeNull();
+                    } else {
+                        gen.writeStartObject();
+                        if (fields.contains(WinnerField.IMAGE_ID)) {
+                            writeNumber(gen, "id", image.getId());
+                        }
+                        if (fields.contains(WinnerField.IMAGE_TITLE)) {
+                            gen.writeStringField("title", image.getTitle());
+                        }
+                        if (fields.contains(WinnerField.IMAGE_WIDTH)) {
+                            writeNumber(gen, "width", image.getWidth());
+                        }
+                        if (fields.contains(WinnerField.IMAGE_HEIGHT)) {
+                            writeNumber(gen, "height", image.getHeight());
+                        }
+                        if (fields.contains(WinnerField.IMAGE_PLACEHOLDER)) {
+                            gen.writeStringField("placeholder", image.getPlaceholder());
+                        }
+                        if (fields.contains(WinnerField.IMAGE_URL)) {
+                            gen.writeStringField("url", image.getUrl());
+                        }
+                        gen.writeEndObject();
+                    }
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+
+        private static void writeNumber(JsonGenerator gen, String name, Number value) throws IOException {
+            gen.writeFieldName(name);
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(value.longValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Token check result: the role for a valid token, a message otherwise
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TokenValidationResponse(boolean success, String role, String message) {
+
+    public static TokenValidationResponse valid(String role) {
+        return new TokenValidationResponse(true, role, null);
+    }
+
+    public static TokenValidationResponse invalid(String message) {
+        return new TokenValidationResponse(false, null, message);
+    }
+}
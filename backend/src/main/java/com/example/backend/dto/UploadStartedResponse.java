@@ -0,0 +1,11 @@
+package com.example.backend.dto;
+
+/**
+ * A new chunked upload session and the largest chunk it accepts
+ */
+public record UploadStartedResponse(
+    boolean success,
+    String message,
+    String uploadId,
+    long size,
+    long chunkSize) {}
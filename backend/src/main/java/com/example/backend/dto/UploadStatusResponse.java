@@ -0,0 +1,14 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * Progress of a chunked upload; ranges are [start, end) byte offsets
+ */
+public record UploadStatusResponse(
+    String uploadId,
+    long size,
+    long receivedBytes,
+    List<long[]> received,
+    List<long[]> missing,
+    boolean complete) {}
@@ -0,0 +1,95 @@
+package com.example.backend.dto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fields a client can pick on winner listings with ?fields= and ?include=. Image fields are
+ * named with an "image." prefix, and "image" alone stands for all of them.
+ */
+public enum WinnerField {
+    ID("id"),
+    SUNDAY_DATE("sundayDate"),
+    TYPE("type"),
+    IMAGE_ID("image.id"),
+    IMAGE_TITLE("image.title"),
+    IMAGE_WIDTH("image.width"),
+    IMAGE_HEIGHT("image.height"),
+    IMAGE_PLACEHOLDER("image.placeholder"),
+    IMAGE_URL("image.url");
+
+    private static final String IMAGE = "image";
+    private static final Set<WinnerField> WINNER = Collections.unmodifiableSet(EnumSet.of(ID, SUNDAY_DATE, TYPE));
+    private static final Set<WinnerField> EMBEDDED_IMAGE = Collections.unmodifiableSet(EnumSet.range(IMAGE_ID, IMAGE_URL));
+
+    private final String key;
+
+    WinnerField(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public boolean isImage() {
+        return EMBEDDED_IMAGE.contains(this);
+    }
+
+    /**
+     * The selected fields, or null when neither parameter is given and the full winner applies.
+     * Without fields every winner field is selected. The image is embedded when fields names
+     * any of its fields or include names it; include alone embeds all of them.
+     */
+    public static Set<WinnerField> parse(String fields, String include) {
+        if (fields == null && include == null) {
+            return null;
+        }
+        Set<WinnerField> selected = EnumSet.noneOf(WinnerField.class);
+        if (fields == null) {
+            selected.addAll(WINNER);
+        } else {
+            for (String name : split(fields)) {
+                if (name.equals(IMAGE)) {
+                    selected.addAll(EMBEDDED_IMAGE);
+                } else {
+                    selected.add(byKey(name));
+                }
+            }
+            if (selected.isEmpty()) {
+                throw new IllegalArgumentException("fields must name at least one of " + keys());
+            }
+        }
+        if (include != null) {
+            for (String name : split(include)) {
+                if (!name.equals(IMAGE)) {
+                    throw new IllegalArgumentException("Unknown include '" + name + "'; expected image");
+                }
+                if (selected.stream().noneMatch(WinnerField::isImage)) {
+                    selected.addAll(EMBEDDED_IMAGE);
+                }
+            }
+        }
+        return Collections.unmodifiableSet(selected);
+    }
+
+    private static String[] split(String list) {
+        return Arrays.stream(list.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toArray(String[]::new);
+    }
+
+    private static WinnerField byKey(String key) {
+        for (WinnerField field : values()) {
+            if (field.key.equals(key)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field '" + key + "'; expected one of " + keys());
+    }
+
+    private static String keys() {
+        return Arrays.stream(values()).map(WinnerField::key).collect(Collectors.joining(", ")) + ", " + IMAGE;
+    }
+}
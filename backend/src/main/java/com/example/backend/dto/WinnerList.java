@@ -0,0 +1,10 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * A winner listing; JSON is the plain array, binary formats are written by WinnerBinaryConverter
+ */
+public record WinnerList(@JsonValue List<WeeklyWinnerDto> winners) {}
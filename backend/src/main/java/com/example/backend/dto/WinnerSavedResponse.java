@@ -0,0 +1,16 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * Result of creating or replacing a winner's image; jobIds are the processing jobs queued for it
+ */
+public record WinnerSavedResponse(
+    boolean success,
+    String message,
+    Long winnerId,
+    Long imageId,
+    String sundayDate,
+    String type,
+    String action,
+    List<Long> jobIds) {}
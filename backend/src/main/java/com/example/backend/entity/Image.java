@@ -8,9 +8,12 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 
@@ -22,9 +25,11 @@ public class Image {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, columnDefinition = "bytea")
+    // Shared, reference-counted content; see ImageBlobService
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "blob_id")
     @JsonIgnore
-    private byte[] imageData;
+    private ImageBlob blob;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -39,6 +44,20 @@ public class Image {
     @Column
     private String mimeType;
 
+    // Header facts recorded at upload so later stages never re-read the blob
+    @Column
+    private Integer width;
+
+    @Column
+    private Integer height;
+
+    @Column
+    private Integer orientation;
+
+    // BlurHash preview computed by the placeholder stage; null until it has run
+    @Column(length = 64)
+    private String placeholder;
+
     @PrePersist
     protected void onCreate() {
         uploadDate = LocalDateTime.now();
@@ -47,13 +66,13 @@ public class Image {
     // Constructors
     public Image() {}
 
-    public Image(byte[] imageData, ImageType type) {
-        this.imageData = imageData;
+    public Image(ImageBlob blob, ImageType type) {
+        this.blob = blob;
         this.type = type;
     }
 
-    public Image(byte[] imageData, ImageType type, String title, String mimeType) {
-        this.imageData = imageData;
+    public Image(ImageBlob blob, ImageType type, String title, String mimeType) {
+        this.blob = blob;
         this.type = type;
         this.title = title;
         this.mimeType = mimeType;
@@ -68,12 +87,12 @@ public class Image {
         this.id = id;
     }
 
-    public byte[] getImageData() {
-        return imageData;
+    public ImageBlob getBlob() {
+        return blob;
     }
 
-    public void setImageData(byte[] imageData) {
-        this.imageData = imageData;
+    public void setBlob(ImageBlob blob) {
+        this.blob = blob;
     }
 
     public ImageType getType() {
@@ -107,4 +126,36 @@ public class Image {
     public void setMimeType(String mimeType) {
         this.mimeType = mimeType;
     }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
+    public Integer getOrientation() {
+        return orientation;
+    }
+
+    public void setOrientation(Integer orientation) {
+        this.orientation = orientation;
+    }
+
+    public String getPlaceholder() {
+        return placeholder;
+    }
+
+    public void setPlaceholder(String placeholder) {
+        this.placeholder = placeholder;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.example.backend.entity;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+/**
+ * Content-addressed image bytes shared by every {@link Image} with the same SHA-256 hash.
+ * The row is deleted when its reference count drops to zero. Old content is moved out of
+ * the table into pack files on disk (see BlobTieringService).
+ */
+@Entity
+@Table(name = "image_blobs", indexes = @Index(name = "idx_image_blobs_pack_id", columnList = "pack_id"))
+public class ImageBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "content_hash", nullable = false, unique = true, length = 64)
+    private String contentHash;
+
+    // Null once the bytes live in a pack file
+    @Column(columnDefinition = "bytea")
+    @JsonIgnore
+    private byte[] data;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "storage_tier", nullable = false, columnDefinition = "varchar(16) default 'DATABASE' not null")
+    private StorageTier storageTier = StorageTier.DATABASE;
+
+    @Column(name = "pack_id")
+    private Integer packId;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Set once the optimization stage has looked at this content
+    @Column
+    private LocalDateTime optimizedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public ImageBlob() {}
+
+    public ImageBlob(String contentHash, byte[] data) {
+        this.contentHash = contentHash;
+        this.data = data;
+        this.sizeBytes = data.length;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public int getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(int refCount) {
+        this.refCount = refCount;
+    }
+
+    public StorageTier getStorageTier() {
+        return storageTier;
+    }
+
+    public void setStorageTier(StorageTier storageTier) {
+        this.storageTier = storageTier;
+    }
+
+    public Integer getPackId() {
+        return packId;
+    }
+
+    public void setPackId(Integer packId) {
+        this.packId = packId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getOptimizedAt() {
+        return optimizedAt;
+    }
+
+    public void setOptimizedAt(LocalDateTime optimizedAt) {
+        this.optimizedAt = optimizedAt;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.backend.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Derived bytes for a blob (e.g. a losslessly optimized copy). Removed together with the blob.
+ */
+@Entity
+@Table(name = "image_renditions",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"blob_id", "kind"}))
+public class ImageRendition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "blob_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private ImageBlob blob;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RenditionKind kind;
+
+    @Column(nullable = false, columnDefinition = "bytea")
+    @JsonIgnore
+    private byte[] data;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public ImageRendition() {}
+
+    public ImageRendition(ImageBlob blob, RenditionKind kind, byte[] data) {
+        this.blob = blob;
+        this.kind = kind;
+        this.data = data;
+        this.sizeBytes = data.length;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ImageBlob getBlob() {
+        return blob;
+    }
+
+    public void setBlob(ImageBlob blob) {
+        this.blob = blob;
+    }
+
+    public RenditionKind getKind() {
+        return kind;
+    }
+
+    public void setKind(RenditionKind kind) {
+        this.kind = kind;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.backend.entity;
+
+public enum JobStatus {
+    PENDING,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    CANCELLED
+}
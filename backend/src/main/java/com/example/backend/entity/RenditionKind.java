@@ -0,0 +1,7 @@
+package com.example.backend.entity;
+
+public enum RenditionKind {
+    OPTIMIZED,
+    // Small upright JPEG for galleries and mosaics
+    THUMBNAIL
+}
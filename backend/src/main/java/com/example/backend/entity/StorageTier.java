@@ -0,0 +1,8 @@
+package com.example.backend.entity;
+
+public enum StorageTier {
+    // Bytes in image_blobs.data
+    DATABASE,
+    // Bytes in a pack file on disk; image_blobs.data is null
+    PACK
+}
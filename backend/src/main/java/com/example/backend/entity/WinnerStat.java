@@ -0,0 +1,60 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Number of winners of one type in one calendar month. Kept in step with weekly_winners
+ * by the transactions that create and delete winners.
+ */
+@Entity
+@Table(name = "winner_stats",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"period_year", "period_month", "type"}))
+public class WinnerStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "period_year", nullable = false)
+    private int year;
+
+    @Column(name = "period_month", nullable = false)
+    private int month;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImageType type;
+
+    @Column(name = "winner_count", nullable = false)
+    private int count;
+
+    public WinnerStat() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    public ImageType getType() {
+        return type;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
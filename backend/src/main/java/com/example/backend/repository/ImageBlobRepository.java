@@ -0,0 +1,54 @@
+package com.example.backend.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.backend.entity.ImageBlob;
+
+@Repository
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, Long> {
+
+    // Look up a blob by content hash without loading its bytes
+    @Query("SELECT b.id FROM ImageBlob b WHERE b.contentHash = :hash")
+    Optional<Long> findIdByContentHash(@Param("hash") String hash);
+
+    // Load only the bytes of a blob; empty when they live in a pack file
+    @Query("SELECT b.data FROM ImageBlob b WHERE b.id = :id")
+    Optional<byte[]> findDataById(@Param("id") Long id);
+
+    // Pack file holding a blob moved to the cold tier
+    @Query("SELECT b.packId FROM ImageBlob b WHERE b.id = :id AND b.storageTier = com.example.backend.entity.StorageTier.PACK")
+    Optional<Integer> findPackIdById(@Param("id") Long id);
+
+    // Load the bytes to serve for a blob, preferring the optimized rendition; empty for packed blobs
+    @Query(value = "SELECT COALESCE(" +
+                   "(SELECT r.data FROM image_renditions r WHERE r.blob_id = b.id AND r.kind = 'OPTIMIZED'), " +
+                   "b.data) FROM image_blobs b WHERE b.id = :id", nativeQuery = true)
+    Optional<byte[]> findServingDataById(@Param("id") Long id);
+
+    // Check if the optimization stage already ran for a blob
+    @Query("SELECT b.optimizedAt IS NOT NULL FROM ImageBlob b WHERE b.id = :id")
+    Optional<Boolean> isOptimized(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ImageBlob b SET b.optimizedAt = CURRENT_TIMESTAMP WHERE b.id = :id")
+    int markOptimized(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ImageBlob b SET b.refCount = b.refCount + 1 WHERE b.id = :id")
+    int incrementRefCount(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ImageBlob b SET b.refCount = b.refCount - 1 WHERE b.id = :id")
+    int decrementRefCount(@Param("id") Long id);
+
+    // Delete the blob once nothing references it any more
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM ImageBlob b WHERE b.id = :id AND b.refCount <= 0")
+    int deleteIfUnreferenced(@Param("id") Long id);
+}
@@ -0,0 +1,29 @@
+package com.example.backend.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.backend.entity.ImageRendition;
+import com.example.backend.entity.RenditionKind;
+
+@Repository
+public interface ImageRenditionRepository extends JpaRepository<ImageRendition, Long> {
+
+    // Check if a rendition of the given kind exists for a blob
+    boolean existsByBlobIdAndKind(Long blobId, RenditionKind kind);
+
+    // Load only the bytes of one rendition
+    @Query("SELECT r.data FROM ImageRendition r WHERE r.blob.id = :blobId AND r.kind = :kind")
+    Optional<byte[]> findDataByBlobIdAndKind(@Param("blobId") Long blobId, @Param("kind") RenditionKind kind);
+
+    // Blob id and bytes of one kind of rendition for many blobs at once
+    @Query("SELECT r.blob.id, r.data FROM ImageRendition r WHERE r.kind = :kind AND r.blob.id IN :blobIds")
+    List<Object[]> findDataByKindAndBlobIds(@Param("kind") RenditionKind kind,
+                                            @Param("blobIds") Collection<Long> blobIds);
+}
@@ -0,0 +1,23 @@
+package com.example.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.backend.entity.ProcessingJob;
+
+@Repository
+public interface ProcessingJobRepository extends JpaRepository<ProcessingJob, Long> {
+
+    // Get the id of the most recent job per stage for an image
+    @Query("SELECT MAX(j.id) FROM ProcessingJob j WHERE j.imageId = :imageId GROUP BY j.stage ORDER BY MAX(j.id)")
+    List<Long> findLatestIdPerStageByImageId(@Param("imageId") Long imageId);
+
+    // Images that have never had a job of the given stage, e.g. uploaded before the stage existed
+    @Query("SELECT i.id FROM Image i WHERE NOT EXISTS " +
+           "(SELECT 1 FROM ProcessingJob j WHERE j.imageId = i.id AND j.stage = :stage)")
+    List<Long> findImageIdsWithoutStage(@Param("stage") String stage);
+}
@@ -4,8 +4,10 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.backend.entity.ImageType;
@@ -13,14 +15,20 @@ import com.example.backend.entity.WeeklyWinner;
 
 @Repository
 public interface WeeklyWinnerRepository extends JpaRepository<WeeklyWinner, Long> {
-    
+
+    // List queries fetch the image row in the same query: callers always render its title.
+    // Image holds no content itself, so the join stays cheap.
+
     // Get the latest 2 entries (current week's winners)
+    @EntityGraph(attributePaths = "image")
     List<WeeklyWinner> findTop2ByOrderBySundayDateDesc();
     
     // Get all winners ordered by date (newest first)
+    @EntityGraph(attributePaths = "image")
     List<WeeklyWinner> findAllByOrderBySundayDateDesc();
     
     // Get winners by type ordered by date
+    @EntityGraph(attributePaths = "image")
     List<WeeklyWinner> findByTypeOrderBySundayDateDesc(ImageType type);
     
     // Get winner for a specific Sunday and type
@@ -30,6 +38,7 @@ public interface WeeklyWinnerRepository extends JpaRepository<WeeklyWinner, Long
     boolean existsBySundayDateAndType(LocalDate sundayDate, ImageType type);
     
     // Get all winners for a specific Sunday
+    @EntityGraph(attributePaths = "image")
     List<WeeklyWinner> findBySundayDate(LocalDate sundayDate);
     
     // Get winners between date range
@@ -49,4 +58,21 @@ public interface WeeklyWinnerRepository extends JpaRepository<WeeklyWinner, Long
            "FROM WeeklyWinner w WHERE w.sundayDate = " +
            "(SELECT MAX(w2.sundayDate) FROM WeeklyWinner w2)")
     List<Object[]> findCurrentWeekWinnersSummary();
-}
\ No newline at end of file
+
+    // Week and type of every winner, for building in-memory indexes
+    @Query("SELECT w.sundayDate, w.type FROM WeeklyWinner w")
+    List<Object[]> findAllDatesAndTypes();
+
+    // Winners showing an image
+    List<WeeklyWinner> findByImageId(Long imageId);
+
+    // Tile facts for a mosaic: winner id, date, type, image id, blob id and orientation, newest first
+    @Query("SELECT w.id, w.sundayDate, w.type, i.id, i.blob.id, i.orientation FROM WeeklyWinner w JOIN w.image i " +
+           "WHERE w.sundayDate BETWEEN :from AND :to ORDER BY w.sundayDate DESC, w.type")
+    List<Object[]> findTilesBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT w.id, w.sundayDate, w.type, i.id, i.blob.id, i.orientation FROM WeeklyWinner w JOIN w.image i " +
+           "WHERE w.type = :type AND w.sundayDate BETWEEN :from AND :to ORDER BY w.sundayDate DESC")
+    List<Object[]> findTilesBetween(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                    @Param("type") ImageType type);
+}
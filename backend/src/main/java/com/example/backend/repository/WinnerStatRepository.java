@@ -0,0 +1,39 @@
+package com.example.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.backend.entity.WinnerStat;
+
+@Repository
+public interface WinnerStatRepository extends JpaRepository<WinnerStat, Long> {
+
+    // Add delta to a month's count, creating the row on first use
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO winner_stats (period_year, period_month, type, winner_count) " +
+                   "VALUES (:year, :month, :type, :delta) " +
+                   "ON CONFLICT (period_year, period_month, type) " +
+                   "DO UPDATE SET winner_count = winner_stats.winner_count + EXCLUDED.winner_count",
+           nativeQuery = true)
+    void addToCount(@Param("year") int year, @Param("month") int month,
+                    @Param("type") String type, @Param("delta") int delta);
+
+    // Recompute every month from weekly_winners
+    @Modifying
+    @Query(value = "INSERT INTO winner_stats (period_year, period_month, type, winner_count) " +
+                   "SELECT extract(year FROM sunday_date), extract(month FROM sunday_date), type, count(*) " +
+                   "FROM weekly_winners GROUP BY 1, 2, 3",
+           nativeQuery = true)
+    int rebuildFromWinners();
+
+    @Modifying
+    @Query(value = "DELETE FROM winner_stats", nativeQuery = true)
+    void deleteAllRows();
+
+    List<WinnerStat> findAllByOrderByYearAscMonthAsc();
+}
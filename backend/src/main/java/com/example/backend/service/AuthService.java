@@ -73,6 +73,21 @@ public class AuthService {
         return token;
     }
 
+    /**
+     * Token for in-process callers such as the startup warm-up; revoke it when done
+     */
+    public String issueInternalToken(String name) {
+        String token = UUID.randomUUID().toString();
+        tokenStore.put(token, new UserRecord(name, ROLE_FRIEND));
+        return token;
+    }
+
+    public void revoke(String token) {
+        if (token != null) {
+            tokenStore.remove(token);
+        }
+    }
+
     public boolean validate(String token) {
         return token != null && tokenStore.containsKey(token);
     }
@@ -0,0 +1,244 @@
+package com.example.backend.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.util.PackFile;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Moves the bytes of old winners out of image_blobs into append-only pack files, and
+ * compacts packs once enough of their blobs have been deleted.
+ *
+ * A pack is fully written and synced before any row points at it, and rows are switched
+ * in one transaction, so readers always find the bytes in the table or in a finished pack.
+ * Packs no row refers to (replaced by compaction, or left by a failed run) are marked, and
+ * deleted once a grace period from the marking has passed, giving in-flight reads time to
+ * finish. Run this on one instance only.
+ */
+@Service
+@Lazy(false)
+public class BlobTieringService {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobTieringService.class);
+
+    // Optimized blobs whose winners are all older than the cutoff
+    private static final String CANDIDATES_SQL =
+        "SELECT b.id FROM image_blobs b " +
+        "WHERE b.storage_tier = 'DATABASE' AND b.optimized_at IS NOT NULL " +
+        "AND EXISTS (SELECT 1 FROM images i WHERE i.blob_id = b.id) " +
+        "AND NOT EXISTS (SELECT 1 FROM images i JOIN weekly_winners w ON w.image_id = i.id " +
+        "                WHERE i.blob_id = b.id AND w.sunday_date >= ?) " +
+        "ORDER BY b.id LIMIT ?";
+
+    private static final String CONTENT_SQL =
+        "SELECT b.data, r.data FROM image_blobs b " +
+        "LEFT JOIN image_renditions r ON r.blob_id = b.id AND r.kind = 'OPTIMIZED' " +
+        "WHERE b.id = ? AND b.storage_tier = 'DATABASE'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PackStore packStore;
+
+    @Value("${PACK_TIERING_ENABLED:false}")
+    private boolean enabled;
+
+    @Value("${PACK_TIER_AFTER_DAYS:365}")
+    private long tierAfterDays;
+
+    @Value("${PACK_TIER_BATCH:200}")
+    private int batchSize;
+
+    @Value("${PACK_TARGET_BYTES:268435456}")
+    private long targetPackBytes;
+
+    @Value("${PACK_COMPACT_MIN_DEAD_RATIO:0.3}")
+    private double compactMinDeadRatio;
+
+    @Value("${PACK_ORPHAN_GRACE_MINUTES:60}")
+    private long orphanGraceMinutes;
+
+    private final Counter tieredBytes;
+    private final Counter reclaimedBytes;
+
+    public BlobTieringService(MeterRegistry meterRegistry) {
+        this.tieredBytes = Counter.builder("blobs.tiering.moved.bytes")
+            .description("Blob bytes moved from the database into pack files")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        this.reclaimedBytes = Counter.builder("blobs.tiering.deleted.bytes")
+            .description("Bytes of pack files deleted because no blob refers to them any more")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${PACK_TIERING_INTERVAL_MS:3600000}", initialDelayString = "${PACK_TIERING_INTERVAL_MS:3600000}")
+    public synchronized void run() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int moved;
+            do {
+                moved = tierBatch();
+            } while (moved > 0);
+            compact();
+        } catch (Exception e) {
+            log.warn("Blob tiering failed: {}", e.toString());
+        }
+    }
+
+    /**
+     * Pack one batch of old blobs; returns how many were moved
+     */
+    int tierBatch() throws IOException {
+        LocalDate cutoff = LocalDate.now().minusDays(tierAfterDays);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        List<Long> candidates = tx.execute(status ->
+            jdbcTemplate.queryForList(CANDIDATES_SQL, Long.class, cutoff, batchSize));
+        if (candidates == null || candidates.isEmpty()) {
+            return 0;
+        }
+
+        int packId = packStore.nextPackId();
+        List<Long> packed = new ArrayList<>();
+        long bytes;
+        try (PackFile.Writer writer = packStore.create(packId)) {
+            for (Long blobId : candidates) {
+                if (writer.size() >= targetPackBytes) {
+                    break;
+                }
+                List<byte[][]> content = tx.execute(status -> jdbcTemplate.query(CONTENT_SQL,
+                    (rs, row) -> new byte[][] {rs.getBytes(1), rs.getBytes(2)}, blobId));
+                if (content == null || content.isEmpty() || content.get(0)[0] == null) {
+                    continue;
+                }
+                byte[] original = content.get(0)[0];
+                byte[] optimized = content.get(0)[1];
+                long needed = original.length + (optimized != null ? optimized.length : 0L);
+                if (writer.size() + needed > PackFile.MAX_PACK_BYTES) {
+                    break;
+                }
+                writer.add(blobId, PackFile.ORIGINAL, original);
+                if (optimized != null) {
+                    writer.add(blobId, PackFile.OPTIMIZED, optimized);
+                }
+                packed.add(blobId);
+            }
+            if (packed.isEmpty()) {
+                packStore.delete(packId);
+                return 0;
+            }
+            writer.finish();
+            bytes = writer.size();
+        } catch (IOException | RuntimeException e) {
+            packStore.delete(packId);
+            throw e;
+        }
+
+        // Switch the rows over; blobs deleted meanwhile just leave dead entries for compaction
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", packed).addValue("packId", packId);
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+        Integer moved = tx.execute(status -> {
+            int rows = named.update(
+                "UPDATE image_blobs SET storage_tier = 'PACK', pack_id = :packId, data = NULL " +
+                "WHERE id IN (:ids) AND storage_tier = 'DATABASE'", params);
+            named.update(
+                "DELETE FROM image_renditions WHERE kind = 'OPTIMIZED' AND blob_id IN " +
+                "(SELECT id FROM image_blobs WHERE id IN (:ids) AND pack_id = :packId)", params);
+            return rows;
+        });
+        tieredBytes.increment(bytes);
+        log.info("Moved {} blobs ({} bytes) older than {} into pack {}", moved, bytes, cutoff, packId);
+        return moved != null ? moved : 0;
+    }
+
+    /**
+     * Rewrite packs that are mostly dead and delete packs nothing refers to any more
+     */
+    void compact() throws IOException {
+        Map<Integer, Set<Long>> live = new HashMap<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> jdbcTemplate.query(
+            "SELECT pack_id, id FROM image_blobs WHERE pack_id IS NOT NULL",
+            rs -> {
+                live.computeIfAbsent(rs.getInt(1), id -> new HashSet<>()).add(rs.getLong(2));
+            }));
+
+        long graceCutoff = System.currentTimeMillis() - Duration.ofMinutes(orphanGraceMinutes).toMillis();
+        for (int packId : packStore.packIds()) {
+            Set<Long> liveIds = live.get(packId);
+            if (liveIds == null) {
+                // The grace period runs from when the pack was first seen unreferenced
+                Optional<Long> since = packStore.unreferencedSince(packId);
+                if (since.isEmpty()) {
+                    packStore.markUnreferenced(packId);
+                } else if (since.get() < graceCutoff) {
+                    long size = packStore.sizeOnDisk(packId);
+                    packStore.delete(packId);
+                    reclaimedBytes.increment(size);
+                    log.info("Deleted unreferenced pack {} ({} bytes)", packId, size);
+                }
+                continue;
+            }
+            packStore.markReferenced(packId);
+
+            PackFile.Reader reader = packStore.open(packId);
+            List<PackFile.Entry> entries = reader.entries();
+            long dead = entries.stream().filter(e -> !liveIds.contains(e.blobId())).mapToLong(PackFile.Entry::length).sum();
+            if (dead == 0 || (double) dead / Math.max(1, reader.dataSize()) < compactMinDeadRatio) {
+                continue;
+            }
+            rewrite(packId, reader, entries, liveIds);
+        }
+    }
+
+    private void rewrite(int packId, PackFile.Reader reader, List<PackFile.Entry> entries, Set<Long> liveIds) throws IOException {
+        int newPackId = packStore.nextPackId();
+        long size;
+        try (PackFile.Writer writer = packStore.create(newPackId)) {
+            for (PackFile.Entry entry : entries) {
+                if (liveIds.contains(entry.blobId())) {
+                    writer.add(entry.blobId(), entry.variant(), reader.slice(entry));
+                }
+            }
+            writer.finish();
+            size = writer.size();
+        } catch (IOException | RuntimeException e) {
+            packStore.delete(newPackId);
+            throw e;
+        }
+        // The old pack is deleted by a later run once its grace period is over
+        Integer moved = new TransactionTemplate(transactionManager).execute(status -> jdbcTemplate.update(
+            "UPDATE image_blobs SET pack_id = ? WHERE pack_id = ?", newPackId, packId));
+        log.info("Compacted pack {} into pack {}: {} blobs, {} of {} bytes kept",
+            packId, newPackId, moved, size, reader.dataSize());
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.backend.service;
+
+/**
+ * A committed change to an entity, identified by a natural key (e.g. "2024-05-12:RAUL" for a winner).
+ * The version is the writing transaction id, so later changes carry larger versions.
+ */
+public class ChangeEvent {
+
+    public static final String WINNER = "winner";
+    public static final String IMAGE = "image";
+
+    private final String entity;
+    private final String key;
+    private final long version;
+    private final String origin;
+
+    public ChangeEvent(String entity, String key, long version, String origin) {
+        this.entity = entity;
+        this.key = key;
+        this.version = version;
+        this.origin = origin;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Id of the instance that made the change
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    @Override
+    public String toString() {
+        return entity + ":" + key + "@" + version;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.backend.service;
+
+/**
+ * Receives committed changes from this and every other backend instance.
+ * Called on the notification thread, so implementations should only evict or mark state stale.
+ */
+public interface ChangeListener {
+
+    void onChange(ChangeEvent event);
+
+    /**
+     * Notifications may have been missed (e.g. after a reconnect); drop everything derived from the database
+     */
+    void onResync();
+}
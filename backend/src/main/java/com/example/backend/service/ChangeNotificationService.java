@@ -0,0 +1,230 @@
+package com.example.backend.service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Change-notification bus built on Postgres LISTEN/NOTIFY.
+ *
+ * Mutations publish (entity, key, version) inside their transaction; Postgres only
+ * delivers NOTIFY on commit, so rolled-back writes are never announced. Each instance
+ * listens on a dedicated connection outside the pool and forwards events to every
+ * {@link ChangeListener}. After a reconnect listeners are told to resync, because
+ * notifications sent while disconnected are lost.
+ */
+@Service
+@Lazy(false)
+public class ChangeNotificationService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeNotificationService.class);
+
+    private static final int POLL_TIMEOUT_MS = 10_000;
+    private static final long HEALTH_CHECK_INTERVAL_MS = 30_000;
+    private static final long INITIAL_BACKOFF_MS = 1_000;
+    private static final long MAX_BACKOFF_MS = 30_000;
+    private static final String SEPARATOR = "|";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectProvider<ChangeListener> listeners;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Value("${CHANGE_BUS_ENABLED:true}")
+    private boolean enabled;
+
+    @Value("${CHANGE_BUS_CHANNEL:raul_changes}")
+    private String channel;
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread listenerThread;
+
+    /**
+     * Announce a change from inside the current transaction. This instance's
+     * listeners are notified right after commit; other instances via NOTIFY.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String entity, String key) {
+        Long version = jdbcTemplate.queryForObject("SELECT txid_current()", Long.class);
+        ChangeEvent event = new ChangeEvent(entity, key, version != null ? version : 0L, nodeId);
+        if (enabled) {
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)::text", String.class, channel, encode(event));
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(event);
+            }
+        });
+    }
+
+    /**
+     * Tell every listener to drop its state, e.g. after a bulk change
+     */
+    public void resyncAll(String reason) {
+        log.info("Resyncing local caches: {}", reason);
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onResync();
+            } catch (RuntimeException e) {
+                log.warn("Change listener {} failed to resync: {}", listener.getClass().getSimpleName(), e.getMessage());
+            }
+        });
+    }
+
+    private void dispatch(ChangeEvent event) {
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onChange(event);
+            } catch (RuntimeException e) {
+                log.warn("Change listener {} failed on {}: {}", listener.getClass().getSimpleName(), event, e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            log.info("Change bus disabled; only local changes invalidate caches");
+            return;
+        }
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("Invalid change bus channel name: " + channel);
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "change-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Connection connection = listenConnection;
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.debug("Closing listen connection failed: {}", e.getMessage());
+            }
+        }
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listenLoop() {
+        long backoff = INITIAL_BACKOFF_MS;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                listenConnection = connection;
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Listening for changes on channel {} as node {}", channel, nodeId);
+                // Anything may have changed while we were not listening
+                resyncAll("listener (re)connected");
+                backoff = INITIAL_BACKOFF_MS;
+
+                long lastHealthCheck = System.currentTimeMillis();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                    if (System.currentTimeMillis() - lastHealthCheck > HEALTH_CHECK_INTERVAL_MS) {
+                        // getNotifications does not notice a silently dropped connection
+                        try (Statement statement = connection.createStatement()) {
+                            statement.execute("SELECT 1");
+                        }
+                        lastHealthCheck = System.currentTimeMillis();
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Change listener connection lost ({}); retrying in {} ms", e.getMessage(), backoff);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+            } finally {
+                listenConnection = null;
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        ChangeEvent event = decode(payload);
+        if (event == null) {
+            log.warn("Ignoring malformed change notification: {}", payload);
+            return;
+        }
+        if (nodeId.equals(event.getOrigin())) {
+            // Already dispatched locally after commit
+            return;
+        }
+        dispatch(event);
+    }
+
+    private static String encode(ChangeEvent event) {
+        return String.join(SEPARATOR, event.getEntity(), event.getKey(),
+            Long.toString(event.getVersion()), event.getOrigin());
+    }
+
+    private static ChangeEvent decode(String payload) {
+        String[] parts = payload != null ? payload.split("\\" + SEPARATOR) : new String[0];
+        if (parts.length != 4) {
+            return null;
+        }
+        try {
+            return new ChangeEvent(parts[0], parts[1], Long.parseLong(parts[2]), parts[3]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.backend.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * The built Vue app, held in memory with its precompressed variants. The build writes
+ * name.gz and name.br next to each compressible file (frontend/scripts/compress.js); files
+ * without a .gz get one here. Loaded from FRONTEND_DIR when set, otherwise from static/ on
+ * the class path, where the frontend Maven profile puts the bundle.
+ */
+@Service
+public class FrontendAssets {
+
+    private static final Logger log = LoggerFactory.getLogger(FrontendAssets.class);
+
+    // Vue CLI names bundles like js/app.3f2a9c1e.js; those never change under the same name
+    private static final Pattern HASHED_NAME = Pattern.compile(".*\\.[0-9a-f]{8,}\\.[A-Za-z0-9]+$");
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "no-cache";
+    private static final int MIN_COMPRESS_BYTES = 1024;
+
+    /**
+     * One file: identity bytes plus gzip and brotli variants when they are smaller
+     */
+    public record Asset(String contentType, String cacheControl, String etag, byte[] identity, byte[] gzip, byte[] brotli) {}
+
+    @Value("${FRONTEND_DIR:}")
+    private String frontendDir;
+
+    private final MeterRegistry meterRegistry;
+    private volatile Map<String, Asset> assets = Map.of();
+
+    public FrontendAssets(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void load() throws IOException {
+        Map<String, byte[]> files = frontendDir.isBlank() ? readClasspath() : readDirectory(Paths.get(frontendDir));
+        Map<String, Asset> loaded = new HashMap<>();
+        for (Map.Entry<String, byte[]> file : files.entrySet()) {
+            String path = file.getKey();
+            if (path.endsWith(".gz") || path.endsWith(".br")) {
+                continue;
+            }
+            loaded.put(path, asset(path, file.getValue(), files.get(path + ".gz"), files.get(path + ".br")));
+        }
+        assets = Map.copyOf(loaded);
+        if (!assets.isEmpty()) {
+            log.info("Serving {} frontend files ({} bytes) from {}", assets.size(), totalBytes(),
+                frontendDir.isBlank() ? "classpath:static/" : frontendDir);
+        }
+        Gauge.builder("frontend.assets.bytes", this, FrontendAssets::totalBytes)
+            .description("Bytes of frontend files and their compressed variants held in memory")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * The file at a request path ("/" is index.html)
+     */
+    public Optional<Asset> find(String path) {
+        String key = path.isEmpty() || path.equals("/") ? "index.html" : path.substring(1);
+        return Optional.ofNullable(assets.get(key));
+    }
+
+    public boolean isEmpty() {
+        return assets.isEmpty();
+    }
+
+    private static Asset asset(String path, byte[] identity, byte[] gzip, byte[] brotli) throws IOException {
+        String contentType = MediaTypeFactory.getMediaType(path).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+        if (gzip == null && identity.length >= MIN_COMPRESS_BYTES && compressible(contentType)) {
+            gzip = gzip(identity);
+        }
+        String cacheControl = HASHED_NAME.matcher(path).matches() ? IMMUTABLE : REVALIDATE;
+        return new Asset(contentType, cacheControl, etag(identity),
+            identity, smaller(gzip, identity), smaller(brotli, identity));
+    }
+
+    private static boolean compressible(String contentType) {
+        return contentType.startsWith("text/") || contentType.contains("javascript")
+            || contentType.contains("json") || contentType.contains("xml") || contentType.contains("svg");
+    }
+
+    private static byte[] smaller(byte[] variant, byte[] identity) {
+        return variant != null && variant.length < identity.length ? variant : null;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 3);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 12) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long totalBytes() {
+        long total = 0;
+        for (Asset asset : assets.values()) {
+            total += asset.identity().length
+                + (asset.gzip() != null ? asset.gzip().length : 0)
+                + (asset.brotli() != null ? asset.brotli().length : 0);
+        }
+        return total;
+    }
+
+    private static Map<String, byte[]> readClasspath() throws IOException {
+        Map<String, byte[]> files = new HashMap<>();
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        Resource root = resolver.getResource("classpath:static/");
+        if (!root.exists()) {
+            return files;
+        }
+        String base = root.getURL().toString();
+        for (Resource resource : resolver.getResources("classpath:static/**")) {
+            String url = resource.getURL().toString();
+            if (!resource.isReadable() || url.endsWith("/") || !url.startsWith(base)) {
+                continue;
+            }
+            try (InputStream in = resource.getInputStream()) {
+                files.put(url.substring(base.length()), in.readAllBytes());
+            }
+        }
+        return files;
+    }
+
+    private static Map<String, byte[]> readDirectory(Path dir) throws IOException {
+        Map<String, byte[]> files = new HashMap<>();
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path file : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator) {
+                files.put(dir.relativize(file).toString().replace('\\', '/'), Files.readAllBytes(file));
+            }
+        }
+        return files;
+    }
+}
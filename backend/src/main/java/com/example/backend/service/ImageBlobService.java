@@ -0,0 +1,131 @@
+package com.example.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.backend.entity.ImageBlob;
+import com.example.backend.repository.ImageBlobRepository;
+import com.example.backend.util.ByteBufferResource;
+import com.example.backend.util.PackFile;
+
+@Service
+@Transactional
+public class ImageBlobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageBlobService.class);
+
+    // A concurrent upload of the same content may have inserted it since the lookup
+    private static final String INSERT_STREAMED_SQL =
+        "INSERT INTO image_blobs (content_hash, data, size_bytes, ref_count, created_at) " +
+        "VALUES (?, ?, ?, 1, LOCALTIMESTAMP) " +
+        "ON CONFLICT (content_hash) DO UPDATE SET ref_count = image_blobs.ref_count + 1 " +
+        "RETURNING id";
+
+    @Autowired
+    private ImageBlobRepository imageBlobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PackStore packStore;
+
+    /**
+     * Returns a blob holding the uploaded content, taking a new reference on an
+     * existing blob when the content hash (from UploadAnalyzer) matches. New content
+     * is streamed from the upload into the insert and never held in memory.
+     */
+    public ImageBlob acquire(MultipartFile file, String contentHash) throws IOException {
+        Optional<Long> existingId = imageBlobRepository.findIdByContentHash(contentHash);
+        if (existingId.isPresent() && imageBlobRepository.incrementRefCount(existingId.get()) == 1) {
+            log.debug("Reusing blob {} for content {}", existingId.get(), contentHash);
+            return imageBlobRepository.getReferenceById(existingId.get());
+        }
+
+        Long blobId;
+        try {
+            blobId = jdbcTemplate.execute(INSERT_STREAMED_SQL, (PreparedStatementCallback<Long>) statement -> {
+                try (InputStream in = file.getInputStream()) {
+                    statement.setString(1, contentHash);
+                    statement.setBinaryStream(2, in, file.getSize());
+                    statement.setLong(3, file.getSize());
+                    try (ResultSet rs = statement.executeQuery()) {
+                        rs.next();
+                        return rs.getLong(1);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return imageBlobRepository.getReferenceById(blobId);
+    }
+
+    /**
+     * Drops one reference to the blob and deletes it when it was the last one
+     */
+    public void release(ImageBlob blob) {
+        if (blob == null) {
+            return;
+        }
+        Long blobId = blob.getId();
+        imageBlobRepository.decrementRefCount(blobId);
+        if (imageBlobRepository.deleteIfUnreferenced(blobId) > 0) {
+            log.debug("Deleted unreferenced blob {}", blobId);
+        }
+    }
+
+    /**
+     * The bytes to serve for a blob (optimized copy when one exists), from the table or,
+     * for cold blobs, as a slice of the memory-mapped pack file
+     */
+    @Transactional(readOnly = true)
+    public Optional<Resource> getServingContent(Long blobId) throws IOException {
+        Optional<byte[]> inline = imageBlobRepository.findServingDataById(blobId);
+        if (inline.isPresent()) {
+            return Optional.of(new ByteArrayResource(inline.get()));
+        }
+        Optional<Integer> packId = imageBlobRepository.findPackIdById(blobId);
+        if (packId.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<ByteBuffer> packed = packStore.read(packId.get(), blobId, PackFile.OPTIMIZED);
+        if (packed.isEmpty()) {
+            packed = packStore.read(packId.get(), blobId, PackFile.ORIGINAL);
+        }
+        return packed.map(ByteBufferResource::new);
+    }
+
+    /**
+     * Load the original bytes of a blob, wherever they are stored
+     */
+    @Transactional(readOnly = true)
+    public Optional<byte[]> getData(Long blobId) throws IOException {
+        Optional<byte[]> inline = imageBlobRepository.findDataById(blobId);
+        if (inline.isPresent()) {
+            return inline;
+        }
+        Optional<Integer> packId = imageBlobRepository.findPackIdById(blobId);
+        if (packId.isEmpty()) {
+            return Optional.empty();
+        }
+        return packStore.read(packId.get(), blobId, PackFile.ORIGINAL).map(PackFile::toArray);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.backend.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.backend.entity.ImageRendition;
+import com.example.backend.entity.RenditionKind;
+import com.example.backend.repository.ImageBlobRepository;
+import com.example.backend.repository.ImageRenditionRepository;
+import com.example.backend.util.ImageOptimizer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Stores a losslessly optimized copy of uploaded JPEG/PNG content next to the original.
+ * JPEG entropy coding is re-optimized by jpegtran when IMAGE_OPTIMIZE_JPEGTRAN points at it.
+ */
+@Service
+@Transactional
+public class ImageOptimizationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageOptimizationService.class);
+
+    private static final long JPEGTRAN_TIMEOUT_SECONDS = 60;
+
+    @Autowired
+    private ImageBlobRepository imageBlobRepository;
+
+    @Autowired
+    private ImageBlobService imageBlobService;
+
+    @Autowired
+    private ImageRenditionRepository imageRenditionRepository;
+
+    @Value("${IMAGE_OPTIMIZE_ENABLED:true}")
+    private boolean enabled;
+
+    @Value("${IMAGE_OPTIMIZE_JPEGTRAN:}")
+    private String jpegtranPath;
+
+    private final Counter bytesSaved;
+    private final Counter optimizedImages;
+
+    public ImageOptimizationService(MeterRegistry meterRegistry) {
+        this.bytesSaved = Counter.builder("images.optimization.bytes.saved")
+            .description("Bytes saved by lossless optimization of uploaded images")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        this.optimizedImages = Counter.builder("images.optimization.optimized")
+            .description("Uploaded images stored with a smaller optimized copy")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Optimize the content of a blob once; returns the number of bytes saved
+     */
+    public long optimize(Long blobId, String mimeType) throws IOException {
+        if (!enabled || imageBlobRepository.isOptimized(blobId).orElse(true)) {
+            return 0;
+        }
+
+        byte[] original = imageBlobService.getData(blobId).orElse(null);
+        long saved = 0;
+        if (original != null) {
+            byte[] optimized = ImageOptimizer.optimize(original, mimeType);
+            if (isJpeg(mimeType) && !jpegtranPath.isBlank()) {
+                optimized = smallest(optimized, runJpegtran(optimized));
+            }
+            saved = original.length - optimized.length;
+            if (saved > 0) {
+                imageRenditionRepository.save(new ImageRendition(
+                    imageBlobRepository.getReferenceById(blobId), RenditionKind.OPTIMIZED, optimized));
+                bytesSaved.increment(saved);
+                optimizedImages.increment();
+                log.info("Optimized blob {}: {} -> {} bytes", blobId, original.length, optimized.length);
+            }
+        }
+        imageBlobRepository.markOptimized(blobId);
+        return Math.max(saved, 0);
+    }
+
+    private byte[] runJpegtran(byte[] input) {
+        Path in = null;
+        Path out = null;
+        try {
+            in = Files.createTempFile("optimize-", ".jpg");
+            out = Files.createTempFile("optimized-", ".jpg");
+            Files.write(in, input);
+            Process process = new ProcessBuilder(jpegtranPath, "-copy", "all", "-optimize",
+                    "-outfile", out.toString(), in.toString())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+            if (!process.waitFor(JPEGTRAN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                log.warn("jpegtran timed out after {}s", JPEGTRAN_TIMEOUT_SECONDS);
+                return input;
+            }
+            if (process.exitValue() != 0) {
+                log.warn("jpegtran exited with status {}", process.exitValue());
+                return input;
+            }
+            return Files.readAllBytes(out);
+        } catch (IOException e) {
+            log.warn("jpegtran failed: {}", e.getMessage());
+            return input;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return input;
+        } finally {
+            deleteQuietly(in);
+            deleteQuietly(out);
+        }
+    }
+
+    private static byte[] smallest(byte[] a, byte[] b) {
+        return b.length > 0 && b.length < a.length ? b : a;
+    }
+
+    private static boolean isJpeg(String mimeType) {
+        return "image/jpeg".equalsIgnoreCase(mimeType) || "image/jpg".equalsIgnoreCase(mimeType);
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("Could not delete {}", path);
+        }
+    }
+}
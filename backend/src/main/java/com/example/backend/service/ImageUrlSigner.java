@@ -0,0 +1,131 @@
+package com.example.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.entity.Image;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Signs image URLs so browsers can load them with a plain img src and cache them:
+ * /api/images/{id}?v={version}&exp={epoch seconds}&sig={HMAC-SHA256}. The version is the
+ * image's blob id, so replacing an image changes its URL. Expiry is rounded up to the end
+ * of a fixed window, so every URL for an image issued in the same window is identical;
+ * a URL lives between IMAGE_URL_TTL_SECONDS and that plus IMAGE_URL_WINDOW_SECONDS.
+ * Verification needs no lookup. Every instance must share IMAGE_URL_SECRET.
+ */
+@Service
+public class ImageUrlSigner {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageUrlSigner.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 16;
+
+    @Value("${IMAGE_URL_SECRET:}")
+    private String secret;
+
+    @Value("${IMAGE_URL_TTL_SECONDS:3600}")
+    private long ttlSeconds;
+
+    @Value("${IMAGE_URL_WINDOW_SECONDS:3600}")
+    private long windowSeconds;
+
+    private SecretKeySpec key;
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            log.warn("IMAGE_URL_SECRET is not set; signed image URLs only work on this instance until it restarts");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        key = new SecretKeySpec(keyBytes, ALGORITHM);
+        windowSeconds = Math.max(1, windowSeconds);
+    }
+
+    /**
+     * Signed path for an image at its current content
+     */
+    public String sign(Image image) {
+        return sign(image.getId(), versionOf(image));
+    }
+
+    /**
+     * The content version in an image's URL: its blob id, read without loading the blob
+     */
+    public static Long versionOf(Image image) {
+        return image.getBlob() != null ? image.getBlob().getId() : null;
+    }
+
+    /**
+     * Signed path for an image, valid until {@link #expiresAt()}
+     */
+    public String sign(Long imageId, Long version) {
+        long exp = expiresAt();
+        long v = version != null ? version : 0L;
+        return "/api/images/" + imageId + "?v=" + v + "&exp=" + exp + "&sig=" + signature(imageId, v, exp);
+    }
+
+    /**
+     * Expiry of URLs issued now
+     */
+    public long expiresAt() {
+        return (window() + 1) * windowSeconds + ttlSeconds;
+    }
+
+    /**
+     * The current signing window; changes when freshly signed URLs change
+     */
+    public long window() {
+        return nowSeconds() / windowSeconds;
+    }
+
+    /**
+     * Whether the signature matches and has not expired
+     */
+    public boolean verify(Long imageId, long version, long exp, String sig) {
+        if (sig == null || exp < nowSeconds()) {
+            return false;
+        }
+        byte[] expected = signature(imageId, version, exp).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, sig.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    private String signature(Long imageId, long version, long exp) {
+        Mac mac = macs.get();
+        byte[] digest = mac.doFinal((imageId + ":" + version + ":" + exp).getBytes(StandardCharsets.US_ASCII));
+        byte[] truncated = new byte[SIGNATURE_BYTES];
+        System.arraycopy(digest, 0, truncated, 0, SIGNATURE_BYTES);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(truncated);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.example.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.entity.Image;
+import com.example.backend.entity.JobStatus;
+import com.example.backend.entity.ProcessingJob;
+import com.example.backend.repository.ImageRepository;
+import com.example.backend.repository.ProcessingJobRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Restart-safe queue of post-upload processing jobs stored in processing_jobs.
+ * Jobs are claimed with FOR UPDATE SKIP LOCKED under a time-limited lease, so several
+ * instances can share the table and a crashed worker's jobs are picked up again.
+ */
+@Service
+@Lazy(false)
+public class JobQueueService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobQueueService.class);
+
+    private static final Duration MAX_RETRY_DELAY = Duration.ofHours(1);
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private static final String CLAIM_SQL =
+        "UPDATE processing_jobs SET status = 'RUNNING', attempts = attempts + 1, " +
+        "locked_by = ?, locked_until = LOCALTIMESTAMP + make_interval(secs => ?), updated_at = LOCALTIMESTAMP " +
+        "WHERE id IN (SELECT id FROM processing_jobs " +
+        "  WHERE (status = 'PENDING' AND run_after <= LOCALTIMESTAMP) " +
+        "     OR (status = 'RUNNING' AND locked_until < LOCALTIMESTAMP AND attempts < max_attempts) " +
+        "  ORDER BY run_after, id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+        "RETURNING id";
+
+    // A worker that died on the last attempt never recorded the failure; do it for them
+    private static final String FAIL_EXHAUSTED_SQL =
+        "UPDATE processing_jobs SET status = 'FAILED', locked_by = NULL, locked_until = NULL, " +
+        "last_error = 'Lease expired on the last attempt', " +
+        "completed_at = LOCALTIMESTAMP, updated_at = LOCALTIMESTAMP " +
+        "WHERE id IN (SELECT id FROM processing_jobs " +
+        "  WHERE status = 'RUNNING' AND locked_until < LOCALTIMESTAMP AND attempts >= max_attempts " +
+        "  FOR UPDATE SKIP LOCKED)";
+
+    // Updates below only touch a job while this worker still holds its lease. All times
+    // come from the database clock, the one the claim compares them with.
+    private static final String FINISH_SQL =
+        "UPDATE processing_jobs SET status = ?, last_error = ?, locked_by = NULL, locked_until = NULL, " +
+        "completed_at = LOCALTIMESTAMP, updated_at = LOCALTIMESTAMP " +
+        "WHERE id = ? AND status = 'RUNNING' AND locked_by = ?";
+
+    // Backoff doubles per attempt up to a cap; the last attempt fails the job instead
+    private static final String RETRY_OR_FAIL_SQL =
+        "UPDATE processing_jobs SET last_error = ?, locked_by = NULL, locked_until = NULL, " +
+        "status = CASE WHEN attempts >= max_attempts THEN 'FAILED' ELSE 'PENDING' END, " +
+        "completed_at = CASE WHEN attempts >= max_attempts THEN LOCALTIMESTAMP END, " +
+        "run_after = CASE WHEN attempts >= max_attempts THEN run_after " +
+        "  ELSE LOCALTIMESTAMP + make_interval(secs => LEAST(? * power(2, LEAST(attempts - 1, 16)), ?)) END, " +
+        "updated_at = LOCALTIMESTAMP " +
+        "WHERE id = ? AND status = 'RUNNING' AND locked_by = ?";
+
+    // Hand back a claimed job that could not be queued locally, without using up an attempt
+    private static final String RELEASE_SQL =
+        "UPDATE processing_jobs SET status = 'PENDING', attempts = attempts - 1, " +
+        "locked_by = NULL, locked_until = NULL, updated_at = LOCALTIMESTAMP " +
+        "WHERE id = ? AND status = 'RUNNING' AND locked_by = ?";
+
+    @Autowired
+    private ProcessingJobRepository jobRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${JOBS_WORKERS:2}")
+    private int workers;
+
+    @Value("${JOBS_MAX_ATTEMPTS:5}")
+    private int maxAttempts;
+
+    @Value("${JOBS_LEASE_SECONDS:600}")
+    private long leaseSeconds;
+
+    @Value("${JOBS_RETRY_BASE_SECONDS:10}")
+    private long retryBaseSeconds;
+
+    private final Map<String, ProcessingStage> stages = new LinkedHashMap<>();
+    private final String workerId = "worker-" + UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean pollQueued = new AtomicBoolean();
+    private final ReentrantLock pollLock = new ReentrantLock();
+
+    private ThreadPoolExecutor executor;
+    private TransactionTemplate transactionTemplate;
+
+    public JobQueueService(List<ProcessingStage> processingStages) {
+        for (ProcessingStage stage : processingStages) {
+            stages.put(stage.name(), stage);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Holds at most the claimed jobs (never more than workers) and one queued poll
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(workers + 1), runnable -> {
+                Thread thread = new Thread(runnable, "job-worker-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        log.info("Job queue {} started with {} workers and stages {}", workerId, workers, stages.keySet());
+    }
+
+    @PreDestroy
+    void stop() {
+        // Interrupted jobs keep their lease and are picked up again once it expires
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queue every processing stage for an image. Jobs become visible to workers
+     * when the surrounding transaction commits.
+     */
+    @Transactional
+    public List<ProcessingJob> enqueue(Long imageId) {
+        List<ProcessingJob> jobs = new ArrayList<>();
+        LocalDateTime now = databaseNow();
+        for (ProcessingStage stage : stages.values()) {
+            ProcessingJob job = new ProcessingJob(stage.name(), imageId, maxAttempts);
+            job.setRunAfter(now);
+            jobs.add(jobRepository.save(job));
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedulePoll();
+                }
+            });
+        }
+        return jobs;
+    }
+
+    /**
+     * Queue each stage for images that never had a job of it, so stages added later
+     * also cover existing images. Returns the number of jobs queued.
+     */
+    @Transactional
+    public int enqueueMissing() {
+        int queued = 0;
+        LocalDateTime now = databaseNow();
+        for (ProcessingStage stage : stages.values()) {
+            for (Long imageId : jobRepository.findImageIdsWithoutStage(stage.name())) {
+                ProcessingJob job = new ProcessingJob(stage.name(), imageId, maxAttempts);
+                job.setRunAfter(now);
+                jobRepository.save(job);
+                queued++;
+            }
+        }
+        return queued;
+    }
+
+    /**
+     * Get a job by id
+     */
+    @Transactional(readOnly = true)
+    public Optional<ProcessingJob> getJob(Long id) {
+        return jobRepository.findById(id);
+    }
+
+    /**
+     * Get ids of the most recently queued job of each stage for an image
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getLatestJobIds(Long imageId) {
+        return jobRepository.findLatestIdPerStageByImageId(imageId);
+    }
+
+    /**
+     * Claim as many jobs as there are idle workers and hand them to the pool
+     */
+    @Scheduled(fixedDelayString = "${JOBS_POLL_INTERVAL_MS:5000}", initialDelayString = "${JOBS_POLL_INTERVAL_MS:5000}")
+    public void poll() {
+        if (!pollLock.tryLock()) {
+            return;
+        }
+        try {
+            int idle = workers - inFlight.get();
+            if (idle <= 0) {
+                return;
+            }
+            List<Long> claimed = transactionTemplate.execute(status -> {
+                int failed = jdbcTemplate.update(FAIL_EXHAUSTED_SQL);
+                if (failed > 0) {
+                    log.warn("Failed {} processing jobs whose lease expired on their last attempt", failed);
+                }
+                return jdbcTemplate.queryForList(CLAIM_SQL, Long.class, workerId, leaseSeconds, idle);
+            });
+            if (claimed == null) {
+                return;
+            }
+            for (Long jobId : claimed) {
+                inFlight.incrementAndGet();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            run(jobId);
+                        } finally {
+                            inFlight.decrementAndGet();
+                        }
+                        poll();
+                    });
+                } catch (RejectedExecutionException e) {
+                    inFlight.decrementAndGet();
+                    transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.update(RELEASE_SQL, jobId, workerId));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Polling processing jobs failed: {}", e.getMessage());
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    private void run(Long jobId) {
+        ProcessingJob job = transactionTemplate.execute(status -> jobRepository.findById(jobId).orElse(null));
+        if (job == null) {
+            return;
+        }
+        ProcessingStage stage = stages.get(job.getStage());
+        if (stage == null) {
+            finish(jobId, JobStatus.FAILED, "Unknown processing stage: " + job.getStage());
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Boolean processed = transactionTemplate.execute(status -> {
+                Optional<Image> image = imageRepository.findById(job.getImageId());
+                if (image.isEmpty()) {
+                    return false;
+                }
+                try {
+                    stage.process(image.get());
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new StageFailedException(e);
+                }
+                return true;
+            });
+            finish(jobId, Boolean.TRUE.equals(processed) ? JobStatus.SUCCEEDED : JobStatus.CANCELLED,
+                Boolean.TRUE.equals(processed) ? null : "Image no longer exists");
+        } catch (RuntimeException e) {
+            Throwable cause = e instanceof StageFailedException ? e.getCause() : e;
+            log.warn("Job {} ({}) attempt {} failed: {}", jobId, job.getStage(), job.getAttempts(), cause.toString());
+            retryOrFail(jobId, cause);
+        } finally {
+            sample.stop(meterRegistry.timer("jobs.stage.duration", "stage", job.getStage()));
+        }
+    }
+
+    private void finish(Long jobId, JobStatus status, String message) {
+        transactionTemplate.executeWithoutResult(tx ->
+            jdbcTemplate.update(FINISH_SQL, status.name(), message, jobId, workerId));
+    }
+
+    private void retryOrFail(Long jobId, Throwable cause) {
+        transactionTemplate.executeWithoutResult(tx -> jdbcTemplate.update(RETRY_OR_FAIL_SQL,
+            truncate(cause.toString()), retryBaseSeconds, MAX_RETRY_DELAY.toSeconds(), jobId, workerId));
+    }
+
+    /**
+     * Queue a poll unless one is already waiting; the scheduled poll covers a full queue
+     */
+    private void schedulePoll() {
+        if (!pollQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                pollQueued.set(false);
+                poll();
+            });
+        } catch (RejectedExecutionException e) {
+            pollQueued.set(false);
+        }
+    }
+
+    private LocalDateTime databaseNow() {
+        return jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", LocalDateTime.class);
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private static class StageFailedException extends RuntimeException {
+        StageFailedException(Exception cause) {
+            super(cause);
+        }
+    }
+}
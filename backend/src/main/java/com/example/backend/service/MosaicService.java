@@ -0,0 +1,310 @@
+package com.example.backend.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.backend.entity.ImageType;
+import com.example.backend.entity.RenditionKind;
+import com.example.backend.repository.ImageRenditionRepository;
+import com.example.backend.repository.WeeklyWinnerRepository;
+import com.example.backend.util.ImageScaler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Contact sheets: the thumbnails of every winner in a date range drawn into one JPEG sprite,
+ * with a map from tile position to winner. Sprites are cached and only evicted when a winner
+ * inside their range (and of their type) changes.
+ */
+@Service
+public class MosaicService implements ChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MosaicService.class);
+
+    public static final int MIN_TILE = 32;
+    public static final int MAX_TILE = ThumbnailService.MAX_SIDE;
+    public static final int DEFAULT_TILE = 128;
+
+    // Open bounds, kept within the range of a Postgres date
+    private static final LocalDate EARLIEST = LocalDate.of(1, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    private static final float QUALITY = 0.8f;
+    private static final Color BLANK_TILE = new Color(0xEEEEEE);
+
+    @Autowired
+    private WeeklyWinnerRepository weeklyWinnerRepository;
+
+    @Autowired
+    private ImageRenditionRepository imageRenditionRepository;
+
+    @Autowired
+    private ImageBlobService imageBlobService;
+
+    @Autowired
+    private PrimaryReads primaryReads;
+
+    @Value("${MOSAIC_MAX_TILES:600}")
+    private int maxTiles;
+
+    @Value("${MOSAIC_CACHE_SIZE:16}")
+    private int cacheSize;
+
+    private final Map<String, Mosaic> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Builds in progress, so concurrent misses on one key wait for a single build
+    private final Map<String, CompletableFuture<Mosaic>> building = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    // Bumped on every eviction so a sprite built while a winner changed is not stored
+    private long generation;
+
+    public MosaicService(MeterRegistry meterRegistry) {
+        this.hits = meterRegistry.counter("mosaic.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("mosaic.cache.requests", "result", "miss");
+    }
+
+    /**
+     * Get the mosaic of a date range (either bound may be null), building it on a cache miss
+     */
+    @Transactional(readOnly = true)
+    public Mosaic get(LocalDate from, LocalDate to, ImageType type, int tile) throws IOException {
+        LocalDate start = from != null ? from : EARLIEST;
+        LocalDate end = to != null ? to : LATEST;
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (tile < MIN_TILE || tile > MAX_TILE) {
+            throw new IllegalArgumentException("Tile size must be between " + MIN_TILE + " and " + MAX_TILE);
+        }
+
+        String key = start + "/" + end + "/" + (type != null ? type : "ALL") + "/" + tile;
+        long buildGeneration;
+        synchronized (this) {
+            Mosaic cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            buildGeneration = generation;
+        }
+        misses.increment();
+
+        CompletableFuture<Mosaic> mine = new CompletableFuture<>();
+        CompletableFuture<Mosaic> flight = building.computeIfAbsent(key, k -> mine);
+        if (flight != mine) {
+            return await(flight);
+        }
+        try {
+            Mosaic built = primaryReads.call(() -> build(start, end, type, tile));
+            synchronized (this) {
+                if (generation == buildGeneration) {
+                    entries.put(key, built);
+                    if (entries.size() > cacheSize) {
+                        entries.remove(entries.keySet().iterator().next());
+                    }
+                }
+            }
+            mine.complete(built);
+            return built;
+        } catch (IOException | RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            building.remove(key, mine);
+        }
+    }
+
+    // The other caller's result, with its exception rethrown as is
+    private static Mosaic await(CompletableFuture<Mosaic> flight) throws IOException {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a mosaic build", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        String[] dateAndType = event.getKey().split(":", 2);
+        if (!ChangeEvent.WINNER.equals(event.getEntity()) || dateAndType.length != 2) {
+            onResync();
+            return;
+        }
+        LocalDate date = LocalDate.parse(dateAndType[0]);
+        ImageType type = ImageType.valueOf(dateAndType[1]);
+        synchronized (this) {
+            generation++;
+            entries.values().removeIf(mosaic -> mosaic.covers(date, type));
+            // Builds already running may have read the old winner; later misses start afresh
+            building.clear();
+        }
+    }
+
+    @Override
+    public synchronized void onResync() {
+        generation++;
+        entries.clear();
+        building.clear();
+    }
+
+    private Mosaic build(LocalDate start, LocalDate end, ImageType type, int tile) throws IOException {
+        List<Object[]> rows = type != null
+            ? weeklyWinnerRepository.findTilesBetween(start, end, type)
+            : weeklyWinnerRepository.findTilesBetween(start, end);
+        if (rows.size() > maxTiles) {
+            throw new IllegalArgumentException("Range holds " + rows.size()
+                + " winners; at most " + maxTiles + " fit in one mosaic");
+        }
+
+        int columns = Math.max(1, (int) Math.ceil(Math.sqrt(rows.size())));
+        int rowCount = Math.max(1, (rows.size() + columns - 1) / columns);
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("tile", tile);
+        map.put("columns", columns);
+        map.put("rows", rows.isEmpty() ? 0 : rowCount);
+        map.put("width", columns * tile);
+        map.put("height", rows.isEmpty() ? 0 : rowCount * tile);
+        if (rows.isEmpty()) {
+            map.put("tiles", List.of());
+            return new Mosaic(start, end, type, null, null, map);
+        }
+
+        Map<Long, byte[]> thumbnails = new HashMap<>();
+        List<Long> blobIds = rows.stream().map(row -> (Long) row[4]).distinct().toList();
+        for (Object[] row : imageRenditionRepository.findDataByKindAndBlobIds(RenditionKind.THUMBNAIL, blobIds)) {
+            thumbnails.put((Long) row[0], (byte[]) row[1]);
+        }
+
+        BufferedImage sprite = new BufferedImage(columns * tile, rowCount * tile, BufferedImage.TYPE_INT_RGB);
+        List<Map<String, Object>> tiles = new ArrayList<>();
+        Graphics2D g = sprite.createGraphics();
+        try {
+            g.setColor(BLANK_TILE);
+            g.fillRect(0, 0, sprite.getWidth(), sprite.getHeight());
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            for (int i = 0; i < rows.size(); i++) {
+                Object[] row = rows.get(i);
+                int x = (i % columns) * tile;
+                int y = (i / columns) * tile;
+                BufferedImage thumbnail = loadThumbnail((Long) row[4], (Integer) row[5], thumbnails);
+                if (thumbnail != null) {
+                    ImageScaler.drawCover(g, thumbnail, x, y, tile);
+                }
+
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("winnerId", row[0]);
+                entry.put("sundayDate", row[1].toString());
+                entry.put("type", row[2]);
+                entry.put("imageId", row[3]);
+                entry.put("x", x);
+                entry.put("y", y);
+                tiles.add(entry);
+            }
+        } finally {
+            g.dispose();
+        }
+        map.put("tiles", tiles);
+
+        byte[] bytes = ImageScaler.toJpeg(sprite, QUALITY);
+        String version = version(bytes);
+        map.put("version", version);
+        log.info("Built {}px mosaic of {} winners ({} - {}, {}): {} bytes",
+            tile, rows.size(), start, end, type != null ? type : "all types", bytes.length);
+        return new Mosaic(start, end, type, bytes, version, map);
+    }
+
+    // Stored thumbnail, or one rendered on the fly for images the thumbnail stage has not reached yet
+    private BufferedImage loadThumbnail(Long blobId, Integer orientation, Map<Long, byte[]> thumbnails) throws IOException {
+        byte[] stored = thumbnails.get(blobId);
+        if (stored != null) {
+            return ImageIO.read(new ByteArrayInputStream(stored));
+        }
+        byte[] original = imageBlobService.getData(blobId).orElse(null);
+        return original != null ? ImageScaler.thumbnail(original, orientation, ThumbnailService.MAX_SIDE) : null;
+    }
+
+    private static String version(byte[] sprite) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sprite);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A built sprite (null when the range holds no winners) and its tile map
+     */
+    public static class Mosaic {
+        private final LocalDate from;
+        private final LocalDate to;
+        private final ImageType type;
+        private final byte[] sprite;
+        private final String version;
+        private final Map<String, Object> map;
+
+        Mosaic(LocalDate from, LocalDate to, ImageType type, byte[] sprite, String version, Map<String, Object> map) {
+            this.from = from;
+            this.to = to;
+            this.type = type;
+            this.sprite = sprite;
+            this.version = version;
+            this.map = map;
+        }
+
+        boolean covers(LocalDate date, ImageType changedType) {
+            return !date.isBefore(from) && !date.isAfter(to) && (type == null || type == changedType);
+        }
+
+        public byte[] getSprite() {
+            return sprite;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public Map<String, Object> getMap() {
+            return map;
+        }
+    }
+}
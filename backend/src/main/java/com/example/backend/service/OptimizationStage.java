@@ -0,0 +1,28 @@
+package com.example.backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.entity.Image;
+
+/**
+ * Runs the lossless optimization of an image's content in the background
+ */
+@Component
+@Order(10)
+public class OptimizationStage implements ProcessingStage {
+
+    @Autowired
+    private ImageOptimizationService imageOptimizationService;
+
+    @Override
+    public String name() {
+        return "optimize";
+    }
+
+    @Override
+    public void process(Image image) throws Exception {
+        imageOptimizationService.optimize(image.getBlob().getId(), image.getMimeType());
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.backend.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.util.PackFile;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * The directory of pack files holding cold blobs (pack-000001.dat / .idx). Finished packs
+ * are mapped on first read and kept open while referenced. Every instance serving images
+ * must see the same directory.
+ *
+ * A pack no blob refers to any more gets a marker file (pack-000001.unref) whose mtime is
+ * when it was found unreferenced; it is deleted once the grace period has passed from then.
+ * Every instance drops its mapping of marked or deleted packs, so the space comes back.
+ */
+@Service
+public class PackStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PackStore.class);
+
+    private static final Pattern PACK_FILE = Pattern.compile("pack-(\\d+)\\.(dat|idx|unref)");
+
+    @Value("${PACK_DIR:data/packs}")
+    private String packDirPath;
+
+    private Path packDir;
+    private final AtomicInteger lastPackId = new AtomicInteger();
+    private final Map<Integer, PackFile.Reader> readers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() throws IOException {
+        packDir = Paths.get(packDirPath);
+        packIds().stream().max(Integer::compare).ifPresent(lastPackId::set);
+    }
+
+    /**
+     * Bytes of one blob variant, or empty when the pack does not hold it
+     */
+    public Optional<ByteBuffer> read(int packId, long blobId, int variant) throws IOException {
+        Optional<PackFile.Reader> reader = reader(packId);
+        return reader.isPresent() ? reader.get().find(blobId, variant) : Optional.empty();
+    }
+
+    public PackFile.Reader open(int packId) throws IOException {
+        return reader(packId).orElseThrow(() -> new IOException("Pack " + packId + " has no index"));
+    }
+
+    private Optional<PackFile.Reader> reader(int packId) throws IOException {
+        PackFile.Reader reader = readers.get(packId);
+        if (reader != null) {
+            return Optional.of(reader);
+        }
+        if (!Files.exists(indexFile(packId))) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(readers.computeIfAbsent(packId, id -> {
+                try {
+                    return PackFile.Reader.open(dataFile(id), indexFile(id));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Start writing a pack under an id from nextPackId()
+     */
+    public PackFile.Writer create(int packId) throws IOException {
+        Files.createDirectories(packDir);
+        return new PackFile.Writer(dataFile(packId), indexFile(packId));
+    }
+
+    public int nextPackId() {
+        return lastPackId.incrementAndGet();
+    }
+
+    /**
+     * Ids of all packs on disk, including unfinished ones without an index
+     */
+    public TreeSet<Integer> packIds() throws IOException {
+        TreeSet<Integer> ids = new TreeSet<>();
+        if (!Files.isDirectory(packDir)) {
+            return ids;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(packDir)) {
+            for (Path file : files) {
+                Matcher m = PACK_FILE.matcher(file.getFileName().toString());
+                if (m.matches()) {
+                    ids.add(Integer.parseInt(m.group(1)));
+                }
+            }
+        }
+        return ids;
+    }
+
+    public long sizeOnDisk(int packId) throws IOException {
+        return (Files.exists(dataFile(packId)) ? Files.size(dataFile(packId)) : 0)
+            + (Files.exists(indexFile(packId)) ? Files.size(indexFile(packId)) : 0);
+    }
+
+    /**
+     * When the pack was marked unreferenced, or empty if it is not marked
+     */
+    public Optional<Long> unreferencedSince(int packId) throws IOException {
+        Path marker = markerFile(packId);
+        return Files.exists(marker) ? Optional.of(Files.getLastModifiedTime(marker).toMillis()) : Optional.empty();
+    }
+
+    /**
+     * Record that no blob refers to the pack; the grace period before deletion starts now
+     */
+    public void markUnreferenced(int packId) throws IOException {
+        if (!Files.exists(markerFile(packId))) {
+            Files.createFile(markerFile(packId));
+        }
+        readers.remove(packId);
+    }
+
+    /**
+     * Clear the mark of a pack that blobs refer to again
+     */
+    public void markReferenced(int packId) throws IOException {
+        Files.deleteIfExists(markerFile(packId));
+    }
+
+    /**
+     * Drop the mappings of packs that are marked unreferenced or gone. A read still holding
+     * a slice keeps it valid; the mapping is released once the last one is collected.
+     */
+    @Scheduled(fixedDelayString = "${PACK_READER_SWEEP_MS:60000}", initialDelayString = "${PACK_READER_SWEEP_MS:60000}")
+    public void evictUnreferencedReaders() {
+        for (Integer packId : readers.keySet()) {
+            if (Files.exists(markerFile(packId)) || !Files.exists(indexFile(packId))) {
+                readers.remove(packId);
+                log.debug("Closed reader of unreferenced pack {}", packId);
+            }
+        }
+    }
+
+    /**
+     * Remove a pack. The mapping of a pack still being read stays valid until it is collected.
+     */
+    public void delete(int packId) throws IOException {
+        readers.remove(packId);
+        Files.deleteIfExists(indexFile(packId));
+        Files.deleteIfExists(dataFile(packId));
+        Files.deleteIfExists(markerFile(packId));
+    }
+
+    private Path dataFile(int packId) {
+        return packDir.resolve(String.format("pack-%06d.dat", packId));
+    }
+
+    private Path markerFile(int packId) {
+        return packDir.resolve(String.format("pack-%06d.unref", packId));
+    }
+
+    private Path indexFile(int packId) {
+        return packDir.resolve(String.format("pack-%06d.idx", packId));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.backend.service;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Optional;
+
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.backend.entity.Image;
+import com.example.backend.entity.RenditionKind;
+import com.example.backend.entity.WeeklyWinner;
+import com.example.backend.repository.ImageRenditionRepository;
+import com.example.backend.repository.ImageRepository;
+import com.example.backend.repository.WeeklyWinnerRepository;
+import com.example.backend.util.Blurhash;
+import com.example.backend.util.ImageScaler;
+
+/**
+ * BlurHash previews stored on images and returned inline with winner listings.
+ * Worked out from the thumbnail when there is one, otherwise from a subsampled decode.
+ */
+@Service
+@Transactional
+public class PlaceholderService {
+
+    private static final Logger log = LoggerFactory.getLogger(PlaceholderService.class);
+
+    private static final int SOURCE_SIDE = 32;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private ImageBlobService imageBlobService;
+
+    @Autowired
+    private ImageRenditionRepository imageRenditionRepository;
+
+    @Autowired
+    private WeeklyWinnerRepository weeklyWinnerRepository;
+
+    @Autowired
+    private ChangeNotificationService changeNotificationService;
+
+    /**
+     * Compute and store the placeholder of an image unless it already has one
+     */
+    public void createPlaceholder(Image image) throws IOException {
+        if (image.getPlaceholder() != null) {
+            return;
+        }
+        BufferedImage source = loadSource(image);
+        if (source == null) {
+            log.info("No placeholder for image {}: format not decodable", image.getId());
+            return;
+        }
+        BufferedImage small = ImageScaler.fit(source, SOURCE_SIDE);
+        boolean landscape = small.getWidth() >= small.getHeight();
+        image.setPlaceholder(Blurhash.encode(small, landscape ? 4 : 3, landscape ? 3 : 4));
+        imageRepository.save(image);
+
+        // Cached listings carry the summary, so they have to pick up the new field
+        for (WeeklyWinner winner : weeklyWinnerRepository.findByImageId(image.getId())) {
+            changeNotificationService.publish(ChangeEvent.WINNER, winner.getSundayDate() + ":" + winner.getType());
+        }
+    }
+
+    private BufferedImage loadSource(Image image) throws IOException {
+        Long blobId = image.getBlob().getId();
+        Optional<byte[]> thumbnail = imageRenditionRepository.findDataByBlobIdAndKind(blobId, RenditionKind.THUMBNAIL);
+        if (thumbnail.isPresent()) {
+            return ImageIO.read(new ByteArrayInputStream(thumbnail.get()));
+        }
+        byte[] original = imageBlobService.getData(blobId).orElse(null);
+        return original != null ? ImageScaler.thumbnail(original, image.getOrientation(), SOURCE_SIDE * 2) : null;
+    }
+}
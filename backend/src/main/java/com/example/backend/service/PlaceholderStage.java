@@ -0,0 +1,28 @@
+package com.example.backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.entity.Image;
+
+/**
+ * Computes the inline preview of an image in the background
+ */
+@Component
+@Order(30)
+public class PlaceholderStage implements ProcessingStage {
+
+    @Autowired
+    private PlaceholderService placeholderService;
+
+    @Override
+    public String name() {
+        return "placeholder";
+    }
+
+    @Override
+    public void process(Image image) throws Exception {
+        placeholderService.createPlaceholder(image);
+    }
+}
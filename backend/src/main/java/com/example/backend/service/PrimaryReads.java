@@ -0,0 +1,57 @@
+package com.example.backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import com.example.backend.config.ReadWriteRoutingDataSource;
+
+/**
+ * Runs reads that fill a cache or index in their own read-only transaction on the primary.
+ * A change event evicts an entry right after the write commits; reloading it from a replica
+ * that has not replayed the write yet would cache the old data until the next change. A new
+ * transaction is needed because the caller's may already hold a replica connection.
+ * Without replicas this is just a separate read-only transaction.
+ */
+@Component
+public class PrimaryReads {
+
+    @FunctionalInterface
+    public interface Work<T, E extends Exception> {
+        T get() throws E;
+    }
+
+    private static final TransactionDefinition DEFINITION = definition();
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public <T, E extends Exception> T call(Work<T, E> work) throws E {
+        boolean wasPinned = ReadWriteRoutingDataSource.isPrimaryPinned();
+        ReadWriteRoutingDataSource.setPrimaryPinned(true);
+        try {
+            TransactionStatus status = transactionManager.getTransaction(DEFINITION);
+            T result;
+            try {
+                result = work.get();
+            } catch (Throwable e) {
+                transactionManager.rollback(status);
+                throw e;
+            }
+            transactionManager.commit(status);
+            return result;
+        } finally {
+            ReadWriteRoutingDataSource.setPrimaryPinned(wasPinned);
+        }
+    }
+
+    private static TransactionDefinition definition() {
+        DefaultTransactionDefinition definition =
+            new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        definition.setReadOnly(true);
+        return definition;
+    }
+}
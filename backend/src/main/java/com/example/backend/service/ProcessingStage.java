@@ -0,0 +1,20 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Image;
+
+/**
+ * A post-upload processing step run by {@link JobQueueService} outside the request thread.
+ * Implementations must be idempotent: a job can run again after a crash or a retry.
+ */
+public interface ProcessingStage {
+
+    /**
+     * Stable name stored on queued jobs
+     */
+    String name();
+
+    /**
+     * Process one image inside a transaction; throwing schedules a retry
+     */
+    void process(Image image) throws Exception;
+}
@@ -0,0 +1,67 @@
+package com.example.backend.service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.backend.entity.ImageRendition;
+import com.example.backend.entity.RenditionKind;
+import com.example.backend.repository.ImageBlobRepository;
+import com.example.backend.repository.ImageRenditionRepository;
+import com.example.backend.util.ImageScaler;
+
+/**
+ * Small upright JPEG copies of uploaded images, stored as THUMBNAIL renditions.
+ * Formats ImageIO cannot decode get no thumbnail and are drawn as blank tiles.
+ */
+@Service
+@Transactional
+public class ThumbnailService {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailService.class);
+
+    public static final int MAX_SIDE = 256;
+    private static final float QUALITY = 0.8f;
+
+    @Autowired
+    private ImageBlobRepository imageBlobRepository;
+
+    @Autowired
+    private ImageBlobService imageBlobService;
+
+    @Autowired
+    private ImageRenditionRepository imageRenditionRepository;
+
+    /**
+     * Store a thumbnail for a blob unless it already has one
+     */
+    public void createThumbnail(Long blobId, Integer orientation) throws IOException {
+        if (imageRenditionRepository.existsByBlobIdAndKind(blobId, RenditionKind.THUMBNAIL)) {
+            return;
+        }
+        byte[] original = imageBlobService.getData(blobId).orElse(null);
+        if (original == null) {
+            return;
+        }
+        byte[] thumbnail = render(original, orientation);
+        if (thumbnail == null) {
+            log.info("No thumbnail for blob {}: format not decodable", blobId);
+            return;
+        }
+        imageRenditionRepository.save(new ImageRendition(
+            imageBlobRepository.getReferenceById(blobId), RenditionKind.THUMBNAIL, thumbnail));
+    }
+
+    /**
+     * Thumbnail bytes for image content, or null if it cannot be decoded
+     */
+    public static byte[] render(byte[] data, Integer orientation) throws IOException {
+        BufferedImage image = ImageScaler.thumbnail(data, orientation, MAX_SIDE);
+        return image != null ? ImageScaler.toJpeg(image, QUALITY) : null;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.entity.Image;
+
+/**
+ * Renders the gallery thumbnail of an image in the background
+ */
+@Component
+@Order(20)
+public class ThumbnailStage implements ProcessingStage {
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    @Override
+    public String name() {
+        return "thumbnail";
+    }
+
+    @Override
+    public void process(Image image) throws Exception {
+        thumbnailService.createThumbnail(image.getBlob().getId(), image.getOrientation());
+    }
+}
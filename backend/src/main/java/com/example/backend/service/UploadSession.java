@@ -0,0 +1,191 @@
+package com.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.example.backend.dto.UploadStatusResponse;
+import com.example.backend.entity.ImageType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * State of a chunked upload, persisted as a JSON sidecar next to its staging file so
+ * sessions survive restarts. Received bytes are kept as merged [start, end) ranges.
+ */
+public class UploadSession {
+
+    private String id;
+    private String sundayDate;
+    private ImageType type;
+    private String title;
+    private String filename;
+    private String contentType;
+    private long size;
+    private long createdAt;
+    private long updatedAt;
+    private List<long[]> received = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public UploadSession() {}
+
+    public UploadSession(String id, String sundayDate, ImageType type, String title,
+                         String filename, String contentType, long size) {
+        this.id = id;
+        this.sundayDate = sundayDate;
+        this.type = type;
+        this.title = title;
+        this.filename = filename;
+        this.contentType = contentType;
+        this.size = size;
+        this.createdAt = System.currentTimeMillis();
+        this.updatedAt = createdAt;
+    }
+
+    /**
+     * Record [start, end) as received, merging with overlapping or adjacent ranges
+     */
+    public void addRange(long start, long end) {
+        List<long[]> merged = new ArrayList<>();
+        long mergedStart = start;
+        long mergedEnd = end;
+        for (long[] range : received) {
+            if (range[1] < mergedStart || range[0] > mergedEnd) {
+                merged.add(range);
+            } else {
+                mergedStart = Math.min(mergedStart, range[0]);
+                mergedEnd = Math.max(mergedEnd, range[1]);
+            }
+        }
+        merged.add(new long[] {mergedStart, mergedEnd});
+        merged.sort(Comparator.comparingLong(range -> range[0]));
+        received = merged;
+        updatedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Ranges still to be sent, as [start, end)
+     */
+    @JsonIgnore
+    public List<long[]> getMissing() {
+        List<long[]> missing = new ArrayList<>();
+        long next = 0;
+        for (long[] range : received) {
+            if (range[0] > next) {
+                missing.add(new long[] {next, range[0]});
+            }
+            next = Math.max(next, range[1]);
+        }
+        if (next < size) {
+            missing.add(new long[] {next, size});
+        }
+        return missing;
+    }
+
+    @JsonIgnore
+    public long getReceivedBytes() {
+        return received.stream().mapToLong(range -> range[1] - range[0]).sum();
+    }
+
+    @JsonIgnore
+    public boolean isComplete() {
+        return getMissing().isEmpty();
+    }
+
+    /**
+     * Chunk writes share the read side, so chunks still land in parallel; finishing or
+     * collecting the session takes the write side and so never overlaps a chunk
+     */
+    @JsonIgnore
+    public ReadWriteLock getLock() {
+        return lock;
+    }
+
+    /**
+     * Status as returned to clients
+     */
+    public UploadStatusResponse toStatus() {
+        return new UploadStatusResponse(id, size, getReceivedBytes(), received, getMissing(), isComplete());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getSundayDate() {
+        return sundayDate;
+    }
+
+    public void setSundayDate(String sundayDate) {
+        this.sundayDate = sundayDate;
+    }
+
+    public ImageType getType() {
+        return type;
+    }
+
+    public void setType(ImageType type) {
+        this.type = type;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public List<long[]> getReceived() {
+        return received;
+    }
+
+    public void setReceived(List<long[]> received) {
+        this.received = received;
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.dto.UploadStatusResponse;
+import com.example.backend.entity.ImageType;
+import com.example.backend.entity.WeeklyWinner;
+import com.example.backend.util.StagedMultipartFile;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Resumable chunked uploads. Each session has a staging file that chunks are written into
+ * at their offsets (so chunks may arrive out of order or in parallel) and a JSON sidecar
+ * recording which ranges arrived intact. Finishing hands the staging file to the normal
+ * winner create/update path. Staging is local to the instance, so all requests of one
+ * upload must reach the same instance or a shared UPLOAD_STAGING_DIR.
+ */
+@Service
+@Lazy(false)
+public class UploadSessionService {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadSessionService.class);
+
+    public static final long MAX_FILE_SIZE = 100L * 1024 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern SESSION_ID = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+    @Autowired
+    private WeeklyWinnerService weeklyWinnerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${UPLOAD_STAGING_DIR:${java.io.tmpdir}/raul-uploads}")
+    private String stagingDirPath;
+
+    @Value("${UPLOAD_CHUNK_MAX_BYTES:8388608}")
+    private long maxChunkBytes;
+
+    @Value("${UPLOAD_SESSION_TTL_HOURS:24}")
+    private long sessionTtlHours;
+
+    private Path stagingDir;
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() throws IOException {
+        stagingDir = Paths.get(stagingDirPath);
+        Files.createDirectories(stagingDir);
+    }
+
+    public long getMaxChunkBytes() {
+        return maxChunkBytes;
+    }
+
+    /**
+     * Start an upload of size bytes for a winner slot
+     */
+    public UploadSession create(LocalDate sundayDate, ImageType type, String title,
+                                String filename, String contentType, long size) throws IOException {
+        if (size <= 0 || size > MAX_FILE_SIZE) {
+            throw new IllegalArgumentException("File size must be between 1 byte and 100MB");
+        }
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(), sundayDate.toString(), type,
+            title, filename, contentType, size);
+        Files.createFile(stagingFile(session.getId()));
+        save(session);
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Look up a session, reloading it from its sidecar after a restart
+     */
+    public Optional<UploadSession> find(String id) throws IOException {
+        if (id == null || !SESSION_ID.matcher(id).matches()) {
+            return Optional.empty();
+        }
+        UploadSession cached = sessions.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Path sidecar = sidecarFile(id);
+        if (!Files.exists(sidecar) || !Files.exists(stagingFile(id))) {
+            return Optional.empty();
+        }
+        UploadSession loaded = objectMapper.readValue(sidecar.toFile(), UploadSession.class);
+        return Optional.of(sessions.computeIfAbsent(id, key -> loaded));
+    }
+
+    /**
+     * Write length bytes from body at offset. The range only counts as received once all of
+     * it arrived and, when the client sent one, its SHA-256 matches; otherwise it is resent.
+     */
+    public UploadStatusResponse writeChunk(UploadSession session, long offset, long length,
+                                          InputStream body, String expectedSha256) throws IOException {
+        Lock writing = session.getLock().readLock();
+        if (!writing.tryLock()) {
+            throw new IllegalStateException("Upload is being finished");
+        }
+        try {
+            // finish() may have deleted the session between our lookup and the lock
+            if (sessions.get(session.getId()) != session) {
+                throw new IllegalStateException("Upload was already finished or aborted");
+            }
+            return write(session, offset, length, body, expectedSha256);
+        } finally {
+            writing.unlock();
+        }
+    }
+
+    private UploadStatusResponse write(UploadSession session, long offset, long length,
+                                       InputStream body, String expectedSha256) throws IOException {
+        if (offset < 0 || length <= 0 || offset + length > session.getSize()) {
+            throw new IllegalArgumentException("Chunk [" + offset + ", " + (offset + length)
+                + ") is outside the file of " + session.getSize() + " bytes");
+        }
+        if (length > maxChunkBytes) {
+            throw new IllegalArgumentException("Chunks may be at most " + maxChunkBytes + " bytes");
+        }
+
+        MessageDigest digest = sha256();
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(stagingFile(session.getId()), StandardOpenOption.WRITE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while (written < length
+                    && (read = body.read(buffer, 0, (int) Math.min(buffer.length, length - written))) != -1) {
+                digest.update(buffer, 0, read);
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    channel.write(chunk, offset + written + chunk.position());
+                }
+                written += read;
+            }
+        }
+        if (written != length) {
+            throw new IllegalArgumentException("Chunk ended after " + written + " of " + length + " bytes");
+        }
+        if (expectedSha256 != null && !HexFormat.of().formatHex(digest.digest()).equalsIgnoreCase(expectedSha256)) {
+            throw new IllegalArgumentException("Chunk checksum mismatch");
+        }
+
+        synchronized (session) {
+            session.addRange(offset, offset + length);
+            save(session);
+            return session.toStatus();
+        }
+    }
+
+    public UploadStatusResponse status(UploadSession session) {
+        synchronized (session) {
+            return session.toStatus();
+        }
+    }
+
+    /**
+     * Create or replace the winner from the assembled file, then drop the session.
+     * The file is streamed from disk by the analysis and the blob insert.
+     */
+    public WeeklyWinner finish(UploadSession session, String expectedSha256) throws IOException {
+        // Fails while a chunk is still being written, not just once finish() has started
+        Lock finishing = session.getLock().writeLock();
+        if (!finishing.tryLock()) {
+            throw new IllegalStateException("Upload is still receiving a chunk or already being finished");
+        }
+        try {
+            synchronized (session) {
+                if (!session.isComplete()) {
+                    throw new IllegalArgumentException("Upload is missing "
+                        + (session.getSize() - session.getReceivedBytes()) + " bytes");
+                }
+            }
+            Path staged = stagingFile(session.getId());
+            if (expectedSha256 != null && !sha256Hex(staged).equalsIgnoreCase(expectedSha256)) {
+                throw new IllegalArgumentException("File checksum mismatch");
+            }
+            WeeklyWinner winner = weeklyWinnerService.updateOrCreateWeeklyWinner(
+                LocalDate.parse(session.getSundayDate()), session.getType(),
+                new StagedMultipartFile(staged, session.getFilename(), session.getContentType()),
+                session.getTitle());
+            delete(session.getId());
+            return winner;
+        } finally {
+            finishing.unlock();
+        }
+    }
+
+    public void abort(UploadSession session) throws IOException {
+        delete(session.getId());
+    }
+
+    /**
+     * Delete sessions that have not received a chunk within the TTL
+     */
+    @Scheduled(fixedDelayString = "${UPLOAD_GC_INTERVAL_MS:3600000}", initialDelayString = "${UPLOAD_GC_INTERVAL_MS:3600000}")
+    public void collectAbandoned() {
+        long cutoff = System.currentTimeMillis() - Duration.ofHours(sessionTtlHours).toMillis();
+        int removed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(stagingDir)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String id = name.contains(".") ? name.substring(0, name.indexOf('.')) : name;
+                if (Files.getLastModifiedTime(file).toMillis() >= cutoff) {
+                    continue;
+                }
+                UploadSession session = sessions.get(id);
+                Lock collecting = session != null ? session.getLock().writeLock() : null;
+                if (collecting != null && !collecting.tryLock()) {
+                    continue;
+                }
+                try {
+                    sessions.remove(id);
+                    if (Files.deleteIfExists(file) && name.endsWith(".part")) {
+                        removed++;
+                    }
+                } finally {
+                    if (collecting != null) {
+                        collecting.unlock();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Collecting abandoned uploads failed: {}", e.getMessage());
+        }
+        if (removed > 0) {
+            log.info("Removed {} abandoned upload sessions", removed);
+        }
+    }
+
+    private void delete(String id) throws IOException {
+        sessions.remove(id);
+        Files.deleteIfExists(stagingFile(id));
+        Files.deleteIfExists(sidecarFile(id));
+    }
+
+    // Write to a temporary file and move it over, so a crash never leaves half a sidecar
+    private void save(UploadSession session) throws IOException {
+        Path sidecar = sidecarFile(session.getId());
+        Path temp = stagingDir.resolve(session.getId() + ".json.tmp");
+        objectMapper.writeValue(temp.toFile(), session);
+        try {
+            Files.move(temp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, sidecar, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path stagingFile(String id) {
+        return stagingDir.resolve(id + ".part");
+    }
+
+    private Path sidecarFile(String id) {
+        return stagingDir.resolve(id + ".json");
+    }
+
+    private static String sha256Hex(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -7,28 +7,49 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.example.backend.entity.Image;
+import com.example.backend.entity.ImageBlob;
 import com.example.backend.entity.ImageType;
 import com.example.backend.entity.WeeklyWinner;
 import com.example.backend.repository.ImageRepository;
 import com.example.backend.repository.WeeklyWinnerRepository;
-import com.example.backend.util.FileUtil;
+import com.example.backend.util.UploadAnalysis;
+import com.example.backend.util.UploadAnalyzer;
 
 @Service
 @Transactional
 public class WeeklyWinnerService {
 
+    private static final Logger log = LoggerFactory.getLogger(WeeklyWinnerService.class);
+
     @Autowired
     private WeeklyWinnerRepository weeklyWinnerRepository;
 
     @Autowired
     private ImageRepository imageRepository;
 
+    @Autowired
+    private ImageBlobService imageBlobService;
+
+    @Autowired
+    private JobQueueService jobQueueService;
+
+    @Autowired
+    private ChangeNotificationService changeNotificationService;
+
+    @Autowired
+    private WinnerStatsService winnerStatsService;
+
+    @Autowired
+    private WinnerPurgeService winnerPurgeService;
+
     /**
      * Validates if the given date is a Sunday
      */
@@ -55,27 +76,32 @@ public class WeeklyWinnerService {
             );
         }
 
-        // Create and save the image
-        byte[] imageBytes = imageFile.getBytes();
-        String detectedMimeType = FileUtil.getMimeTypeFromFile(imageFile);
+        // Read the upload once: hash, real format and dimensions
+        UploadAnalysis analysis = UploadAnalyzer.analyze(imageFile);
         
-        System.out.println("DEBUG: Image file size: " + imageBytes.length + " bytes");
-        System.out.println("DEBUG: Original content type: " + imageFile.getContentType());
-        System.out.println("DEBUG: Detected MIME type: " + detectedMimeType);
-        System.out.println("DEBUG: Original filename: " + imageFile.getOriginalFilename());
+        log.debug("Upload {}: {} bytes, declared {}, detected {}{}", imageFile.getOriginalFilename(),
+            analysis.getSize(), imageFile.getContentType(), analysis.getMimeType(),
+            analysis.isSniffed() ? "" : " (not sniffed)");
         
+        // Create and save the image, sharing content with identical uploads
         Image image = new Image();
-        image.setImageData(imageBytes);
+        image.setBlob(storeContent(imageFile, analysis));
         image.setType(type);
         image.setTitle(title != null ? title : "Winner for " + sundayDate);
-        image.setMimeType(detectedMimeType);
+        applyAnalysis(image, analysis);
         Image savedImage = imageRepository.save(image);
         
-        System.out.println("DEBUG: Saved image ID: " + savedImage.getId());
+        log.debug("Saved image {}", savedImage.getId());
+
+        // Expensive processing runs in the background once this transaction commits
+        jobQueueService.enqueue(savedImage.getId());
 
         // Create and save the weekly winner
         WeeklyWinner weeklyWinner = new WeeklyWinner(sundayDate, type, savedImage);
-        return weeklyWinnerRepository.save(weeklyWinner);
+        WeeklyWinner saved = weeklyWinnerRepository.save(weeklyWinner);
+        winnerStatsService.recordCreated(sundayDate, type);
+        publishChange(sundayDate, type);
+        return saved;
     }
 
     /**
@@ -93,29 +119,64 @@ public class WeeklyWinnerService {
             WeeklyWinner winner = existingWinner.get();
             Image existingImage = winner.getImage();
 
-            // Update the image data
-            existingImage.setImageData(imageFile.getBytes());
-            existingImage.setMimeType(imageFile.getContentType());
+            // Point the image at the new content, then drop the old reference
+            UploadAnalysis analysis = UploadAnalyzer.analyze(imageFile);
+            ImageBlob previousBlob = existingImage.getBlob();
+            existingImage.setBlob(storeContent(imageFile, analysis));
+            applyAnalysis(existingImage, analysis);
             if (title != null) {
                 existingImage.setTitle(title);
             }
             imageRepository.save(existingImage);
+            imageBlobService.release(previousBlob);
+            jobQueueService.enqueue(existingImage.getId());
+            publishChange(sundayDate, type);
             
             return winner;
         } else {
             // Create new entry
+            UploadAnalysis analysis = UploadAnalyzer.analyze(imageFile);
             Image image = new Image();
-            image.setImageData(imageFile.getBytes());
+            image.setBlob(storeContent(imageFile, analysis));
             image.setType(type);
             image.setTitle(title != null ? title : "Winner for " + sundayDate);
-            image.setMimeType(imageFile.getContentType());
+            applyAnalysis(image, analysis);
             Image savedImage = imageRepository.save(image);
+            jobQueueService.enqueue(savedImage.getId());
 
             WeeklyWinner weeklyWinner = new WeeklyWinner(sundayDate, type, savedImage);
-            return weeklyWinnerRepository.save(weeklyWinner);
+            WeeklyWinner saved = weeklyWinnerRepository.save(weeklyWinner);
+            winnerStatsService.recordCreated(sundayDate, type);
+            publishChange(sundayDate, type);
+            return saved;
         }
     }
 
+    /**
+     * Store uploaded content, shared with identical uploads
+     */
+    private ImageBlob storeContent(MultipartFile imageFile, UploadAnalysis analysis) throws IOException {
+        return imageBlobService.acquire(imageFile, analysis.getContentHash());
+    }
+
+    /**
+     * Announce a winner change to caches on every instance once this transaction commits
+     */
+    private void publishChange(LocalDate sundayDate, ImageType type) {
+        changeNotificationService.publish(ChangeEvent.WINNER, sundayDate + ":" + type);
+    }
+
+    /**
+     * Copy the sniffed type and header geometry onto the image; the placeholder is redone in the background
+     */
+    private void applyAnalysis(Image image, UploadAnalysis analysis) {
+        image.setMimeType(analysis.getMimeType());
+        image.setWidth(analysis.getWidth());
+        image.setHeight(analysis.getHeight());
+        image.setOrientation(analysis.getOrientation());
+        image.setPlaceholder(null);
+    }
+
     /**
      * Check if a winner was updated or created
      */
@@ -132,28 +193,13 @@ public class WeeklyWinnerService {
         LocalDate currentSunday = getCurrentSunday();
         
         // Get winners for the current Sunday (may be empty if no winners yet)
-        List<WeeklyWinner> winners = weeklyWinnerRepository.findBySundayDate(currentSunday);
-        
-        // Force loading of image data within the transaction
-        for (WeeklyWinner winner : winners) {
-            if (winner.getImage() != null) {
-                // Access the image data to ensure it's loaded
-                try {
-                    byte[] data = winner.getImage().getImageData();
-                    System.out.println("DEBUG: Loaded image data for winner " + winner.getId() + ", size: " + (data != null ? data.length : "null"));
-                } catch (Exception e) {
-                    System.err.println("DEBUG: Error loading image data for winner " + winner.getId() + ": " + e.getMessage());
-                }
-            }
-        }
-        
-        return winners;
+        return weeklyWinnerRepository.findBySundayDate(currentSunday);
     }
     
     /**
      * Get the current/latest Sunday date
      */
-    private LocalDate getCurrentSunday() {
+    public LocalDate getCurrentSunday() {
         LocalDate today = LocalDate.now();
         
         // If today is Sunday, return today
@@ -169,6 +215,7 @@ public class WeeklyWinnerService {
     /**
      * Get all winners ordered by date
      */
+    @Transactional(readOnly = true)
     public List<WeeklyWinner> getAllWinners() {
         return weeklyWinnerRepository.findAllByOrderBySundayDateDesc();
     }
@@ -176,26 +223,17 @@ public class WeeklyWinnerService {
     /**
      * Get winners by type
      */
+    @Transactional(readOnly = true)
     public List<WeeklyWinner> getWinnersByType(ImageType type) {
         return weeklyWinnerRepository.findByTypeOrderBySundayDateDesc(type);
     }
 
     /**
-     * Delete a weekly winner entry
+     * Delete a weekly winner entry, its image and, when nothing else uses it, its content.
+     * Goes through the purge path, so nothing is loaded.
      */
     public void deleteWeeklyWinner(LocalDate sundayDate, ImageType type) {
-        Optional<WeeklyWinner> winner = weeklyWinnerRepository.findBySundayDateAndType(sundayDate, type);
-        
-        if (winner.isPresent()) {
-            WeeklyWinner winnerToDelete = winner.get();
-            Image imageToDelete = winnerToDelete.getImage();
-            
-            // Delete winner first (due to foreign key)
-            weeklyWinnerRepository.delete(winnerToDelete);
-            
-            // Then delete the image
-            imageRepository.delete(imageToDelete);
-        } else {
+        if (winnerPurgeService.deleteBatch(sundayDate, sundayDate, type, 1) == 0) {
             throw new IllegalArgumentException(
                 "No winner found for " + type + " on " + sundayDate
             );
@@ -205,6 +243,7 @@ public class WeeklyWinnerService {
     /**
      * Get winners for a specific Sunday
      */
+    @Transactional(readOnly = true)
     public List<WeeklyWinner> getWinnersForDate(LocalDate sundayDate) {
         // Don't validate Sunday requirement for read operations - just return empty if not Sunday
         if (sundayDate.getDayOfWeek() != DayOfWeek.SUNDAY) {
@@ -216,6 +255,7 @@ public class WeeklyWinnerService {
     /**
      * Get the latest 2 winners (current week)
      */
+    @Transactional(readOnly = true)
     public List<WeeklyWinner> getLatestWinners() {
         return weeklyWinnerRepository.findTop2ByOrderBySundayDateDesc();
     }
@@ -231,6 +271,7 @@ public class WeeklyWinnerService {
             Image image = winner.getImage();
             image.setTitle(title != null ? title : "Winner for " + sundayDate);
             imageRepository.save(image);
+            publishChange(sundayDate, type);
         } else {
             throw new IllegalArgumentException(
                 "No winner found for " + type + " on " + sundayDate
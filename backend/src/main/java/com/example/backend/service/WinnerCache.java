@@ -0,0 +1,115 @@
+package com.example.backend.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.dto.WeeklyWinnerDto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-process cache of winner listings, keyed by query ("all", "type:RAUL", "date:2024-05-12", "latest").
+ * Entries are evicted by committed changes from any instance, see {@link ChangeNotificationService},
+ * and dropped whenever the image URL signing window rolls over, since they carry signed URLs.
+ */
+@Component
+public class WinnerCache implements ChangeListener {
+
+    public static final String ALL = "all";
+    public static final String LATEST = "latest";
+
+    private final Map<String, List<WeeklyWinnerDto>> entries = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    // Bumped on every eviction so a load that raced with a change is not stored
+    private long generation;
+    // Read outside the lock on every get; volatile so the unsynchronized check sees the
+    // window set under the lock (and a long is not written in two halves)
+    private volatile long signingWindow;
+
+    @Autowired
+    private ImageUrlSigner imageUrlSigner;
+
+    @Autowired
+    private PrimaryReads primaryReads;
+
+    @Autowired
+    public WinnerCache(MeterRegistry meterRegistry) {
+        this.hits = meterRegistry.counter("winners.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("winners.cache.requests", "result", "miss");
+    }
+
+    public static String typeKey(Object type) {
+        return "type:" + type;
+    }
+
+    public static String dateKey(Object sundayDate) {
+        return "date:" + sundayDate;
+    }
+
+    /**
+     * Get a cached listing, loading and caching it on a miss
+     */
+    public List<WeeklyWinnerDto> get(String key, Supplier<List<WeeklyWinnerDto>> loader) {
+        long window = imageUrlSigner.window();
+        if (window != signingWindow) {
+            synchronized (this) {
+                if (window != signingWindow) {
+                    clear();
+                    signingWindow = window;
+                }
+            }
+        }
+        List<WeeklyWinnerDto> cached = entries.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        long loadGeneration;
+        synchronized (this) {
+            loadGeneration = generation;
+        }
+        // On the primary: the miss may follow an eviction for a write replicas lack yet
+        List<WeeklyWinnerDto> loaded = primaryReads.call(() -> List.copyOf(loader.get()));
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                entries.put(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        String[] dateAndType = event.getKey().split(":", 2);
+        if (!ChangeEvent.WINNER.equals(event.getEntity()) || dateAndType.length != 2) {
+            clear();
+            return;
+        }
+        synchronized (this) {
+            generation++;
+            entries.remove(ALL);
+            entries.remove(LATEST);
+            entries.remove(dateKey(dateAndType[0]));
+            entries.remove(typeKey(dateAndType[1]));
+        }
+    }
+
+    @Override
+    public void onResync() {
+        clear();
+    }
+
+    private synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+}
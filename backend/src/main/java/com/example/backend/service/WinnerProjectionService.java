@@ -0,0 +1,213 @@
+package com.example.backend.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.backend.dto.ImageSummaryDto;
+import com.example.backend.dto.WeeklyWinnerDto;
+import com.example.backend.dto.WinnerField;
+import com.example.backend.entity.ImageType;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * Winner listings narrowed to a field set, selected as columns rather than entities: only
+ * the requested columns are read, and the images table is joined only when an image field
+ * other than its id is asked for. Each distinct field set gets one plan with its JPQL and
+ * column positions, built on first use and kept (there are at most 2^9 sets), so repeat
+ * requests reuse the same query strings and Hibernate's query plan cache with them.
+ */
+@Service
+@Transactional(readOnly = true)
+public class WinnerProjectionService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ImageUrlSigner imageUrlSigner;
+
+    private final Map<Set<WinnerField>, Plan> plans = new ConcurrentHashMap<>();
+
+    public WinnerProjectionService(MeterRegistry meterRegistry) {
+        Gauge.builder("winners.projection.plans", plans, Map::size)
+            .description("Cached projection plans, one per distinct field set")
+            .register(meterRegistry);
+    }
+
+    private enum Column {
+        WINNER_ID("w.id"),
+        SUNDAY_DATE("w.sundayDate"),
+        TYPE("w.type"),
+        // Read from the winner's foreign key when nothing else needs the join
+        IMAGE_ID("i.id"),
+        TITLE("i.title"),
+        WIDTH("i.width"),
+        HEIGHT("i.height"),
+        ORIENTATION("i.orientation"),
+        PLACEHOLDER("i.placeholder"),
+        BLOB_ID("i.blob.id");
+
+        final String path;
+
+        Column(String path) {
+            this.path = path;
+        }
+    }
+
+    private static final class Plan {
+        final boolean embedsImage;
+        final boolean signsUrl;
+        final int[] index = new int[Column.values().length];
+        final String ordered;
+        final String byType;
+        final String byDate;
+
+        Plan(Set<WinnerField> fields) {
+            this.embedsImage = fields.stream().anyMatch(WinnerField::isImage);
+            this.signsUrl = fields.contains(WinnerField.IMAGE_URL);
+
+            Set<Column> columns = EnumSet.noneOf(Column.class);
+            for (WinnerField field : fields) {
+                switch (field) {
+                    case ID -> columns.add(Column.WINNER_ID);
+                    case SUNDAY_DATE -> columns.add(Column.SUNDAY_DATE);
+                    case TYPE -> columns.add(Column.TYPE);
+                    case IMAGE_ID -> columns.add(Column.IMAGE_ID);
+                    case IMAGE_TITLE -> columns.add(Column.TITLE);
+                    // Stored size is before EXIF rotation; either side may need the other
+                    case IMAGE_WIDTH, IMAGE_HEIGHT -> columns.addAll(EnumSet.of(Column.WIDTH, Column.HEIGHT, Column.ORIENTATION));
+                    case IMAGE_PLACEHOLDER -> columns.add(Column.PLACEHOLDER);
+                    case IMAGE_URL -> columns.addAll(EnumSet.of(Column.IMAGE_ID, Column.BLOB_ID));
+                }
+            }
+            boolean join = columns.stream().anyMatch(c -> c.compareTo(Column.IMAGE_ID) > 0);
+
+            Arrays.fill(index, -1);
+            StringJoiner select = new StringJoiner(", ", "SELECT ", " FROM WeeklyWinner w" + (join ? " JOIN w.image i" : ""));
+            int position = 0;
+            for (Column column : columns) {
+                index[column.ordinal()] = position++;
+                select.add(column == Column.IMAGE_ID && !join ? "w.image.id" : column.path);
+            }
+            String base = select.toString();
+            this.ordered = base + " ORDER BY w.sundayDate DESC";
+            this.byType = base + " WHERE w.type = :type ORDER BY w.sundayDate DESC";
+            this.byDate = base + " WHERE w.sundayDate = :date";
+        }
+
+        Object get(Object[] row, Column column) {
+            int i = index[column.ordinal()];
+            return i >= 0 ? row[i] : null;
+        }
+    }
+
+    /**
+     * All winners, newest first
+     */
+    public List<WeeklyWinnerDto> getAllWinners(Set<WinnerField> fields) {
+        Plan plan = plan(fields);
+        return toDtos(plan, entityManager.createQuery(plan.ordered));
+    }
+
+    /**
+     * Winners of one type, newest first
+     */
+    public List<WeeklyWinnerDto> getWinnersByType(Set<WinnerField> fields, ImageType type) {
+        Plan plan = plan(fields);
+        return toDtos(plan, entityManager.createQuery(plan.byType).setParameter("type", type));
+    }
+
+    /**
+     * Winners for one Sunday; empty for any other day, as in WeeklyWinnerService
+     */
+    public List<WeeklyWinnerDto> getWinnersForDate(Set<WinnerField> fields, LocalDate sundayDate) {
+        if (sundayDate.getDayOfWeek() != DayOfWeek.SUNDAY) {
+            return new ArrayList<>();
+        }
+        Plan plan = plan(fields);
+        return toDtos(plan, entityManager.createQuery(plan.byDate).setParameter("date", sundayDate));
+    }
+
+    /**
+     * The latest 2 winners
+     */
+    public List<WeeklyWinnerDto> getLatestWinners(Set<WinnerField> fields) {
+        Plan plan = plan(fields);
+        return toDtos(plan, entityManager.createQuery(plan.ordered).setMaxResults(2));
+    }
+
+    /**
+     * The types among the given ones that have a winner, per Sunday between start and end;
+     * only the date and type columns are read
+     */
+    public Map<LocalDate, Set<ImageType>> getWinnerTypesByDate(LocalDate start, LocalDate end, Set<ImageType> types) {
+        Map<LocalDate, Set<ImageType>> byDate = new HashMap<>();
+        if (types.isEmpty()) {
+            return byDate;
+        }
+        List<Object[]> rows = entityManager.createQuery(
+                "SELECT w.sundayDate, w.type FROM WeeklyWinner w " +
+                "WHERE w.sundayDate BETWEEN :start AND :end AND w.type IN :types", Object[].class)
+            .setParameter("start", start)
+            .setParameter("end", end)
+            .setParameter("types", types)
+            .getResultList();
+        for (Object[] row : rows) {
+            byDate.computeIfAbsent((LocalDate) row[0], d -> EnumSet.noneOf(ImageType.class)).add((ImageType) row[1]);
+        }
+        return byDate;
+    }
+
+    private Plan plan(Set<WinnerField> fields) {
+        return plans.computeIfAbsent(fields, Plan::new);
+    }
+
+    private List<WeeklyWinnerDto> toDtos(Plan plan, Query query) {
+        List<?> rows = query.getResultList();
+        List<WeeklyWinnerDto> dtos = new ArrayList<>(rows.size());
+        for (Object result : rows) {
+            // A single selected column comes back bare rather than as a one-element row
+            Object[] row = result instanceof Object[] columns ? columns : new Object[] {result};
+            LocalDate sundayDate = (LocalDate) plan.get(row, Column.SUNDAY_DATE);
+            dtos.add(new WeeklyWinnerDto(
+                (Long) plan.get(row, Column.WINNER_ID),
+                sundayDate != null ? sundayDate.toString() : null,
+                (ImageType) plan.get(row, Column.TYPE),
+                plan.embedsImage ? toImage(plan, row) : null
+            ));
+        }
+        return dtos;
+    }
+
+    private ImageSummaryDto toImage(Plan plan, Object[] row) {
+        Long imageId = (Long) plan.get(row, Column.IMAGE_ID);
+        String url = plan.signsUrl ? imageUrlSigner.sign(imageId, (Long) plan.get(row, Column.BLOB_ID)) : null;
+        return ImageSummaryDto.of(
+            imageId,
+            (String) plan.get(row, Column.TITLE),
+            (Integer) plan.get(row, Column.WIDTH),
+            (Integer) plan.get(row, Column.HEIGHT),
+            (Integer) plan.get(row, Column.ORIENTATION),
+            (String) plan.get(row, Column.PLACEHOLDER),
+            url
+        );
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.backend.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.entity.ImageType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Deletes winners by date range and type with plain SQL on ids, never loading a winner,
+ * image or blob: winners, then their images, then one reference per image on the shared
+ * blobs, and the blobs nothing refers to any more (renditions go with them by cascade).
+ * Ranges are removed in batches of PURGE_BATCH_SIZE, each in its own short transaction,
+ * so a large purge never holds locks on more than one batch of rows.
+ */
+@Service
+public class WinnerPurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(WinnerPurgeService.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private WinnerStatsService winnerStatsService;
+
+    @Autowired
+    private ChangeNotificationService changeNotificationService;
+
+    @Value("${PURGE_BATCH_SIZE:100}")
+    private int batchSize;
+
+    @Value("${RETENTION_ENABLED:false}")
+    private boolean retentionEnabled;
+
+    @Value("${RETENTION_WEEKS:520}")
+    private long retentionWeeks;
+
+    private final Counter purgedWinners;
+
+    public WinnerPurgeService(MeterRegistry meterRegistry) {
+        this.purgedWinners = Counter.builder("winners.purged")
+            .description("Winners deleted by range purges, retention and single deletes")
+            .register(meterRegistry);
+    }
+
+    private record Doomed(long winnerId, LocalDate sundayDate, ImageType type, long imageId) {}
+
+    private record MonthAndType(YearMonth month, ImageType type) {}
+
+    /**
+     * Delete every winner from start to end inclusive (of one type, or all when type is null)
+     * in batches; returns how many were deleted
+     */
+    public int purge(LocalDate start, LocalDate end, ImageType type) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("End date " + end + " is before start date " + start);
+        }
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        int total = 0;
+        Integer deleted;
+        do {
+            deleted = tx.execute(status -> deleteBatch(start, end, type, batchSize));
+            total += deleted != null ? deleted : 0;
+        } while (deleted != null && deleted == batchSize);
+        if (total > 0) {
+            log.info("Purged {} winners{} from {} to {}", total, type != null ? " of type " + type : "", start, end);
+        }
+        return total;
+    }
+
+    /**
+     * Drop winners older than RETENTION_WEEKS, when retention is enabled
+     */
+    @Scheduled(fixedDelayString = "${RETENTION_INTERVAL_MS:86400000}", initialDelayString = "${RETENTION_INTERVAL_MS:86400000}")
+    public void applyRetention() {
+        if (!retentionEnabled) {
+            return;
+        }
+        try {
+            purge(LocalDate.EPOCH, LocalDate.now().minusWeeks(retentionWeeks), null);
+        } catch (RuntimeException e) {
+            log.warn("Retention purge failed: {}", e.toString());
+        }
+    }
+
+    /**
+     * Delete up to limit winners in the range within the caller's transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int deleteBatch(LocalDate start, LocalDate end, ImageType type, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("start", start)
+            .addValue("end", end)
+            .addValue("limit", limit);
+        String typeClause = "";
+        if (type != null) {
+            typeClause = "AND w.type = :type ";
+            params.addValue("type", type.name());
+        }
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+        List<Doomed> doomed = named.query(
+            "SELECT w.id, w.sunday_date, w.type, w.image_id FROM weekly_winners w " +
+            "WHERE w.sunday_date BETWEEN :start AND :end " + typeClause +
+            "ORDER BY w.sunday_date, w.id LIMIT :limit FOR UPDATE OF w",
+            params,
+            (rs, row) -> new Doomed(rs.getLong(1), rs.getDate(2).toLocalDate(), ImageType.valueOf(rs.getString(3)),
+                rs.getLong(4)));
+        if (doomed.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> winnerIds = new ArrayList<>(doomed.size());
+        Set<Long> imageIds = new LinkedHashSet<>();
+        Map<MonthAndType, Integer> perMonth = new HashMap<>();
+        for (Doomed d : doomed) {
+            winnerIds.add(d.winnerId());
+            imageIds.add(d.imageId());
+            perMonth.merge(new MonthAndType(YearMonth.from(d.sundayDate()), d.type()), 1, Integer::sum);
+        }
+
+        named.update("DELETE FROM weekly_winners WHERE id IN (:ids)", new MapSqlParameterSource("ids", winnerIds));
+        // Images still backing a winner outside the range stay, as do their blob references
+        List<Long> releasedBlobIds = named.queryForList(
+            "DELETE FROM images i WHERE i.id IN (:ids) " +
+            "AND NOT EXISTS (SELECT 1 FROM weekly_winners w WHERE w.image_id = i.id) RETURNING i.blob_id",
+            new MapSqlParameterSource("ids", imageIds), Long.class);
+        Map<Long, Integer> releases = new HashMap<>();
+        for (Long blobId : releasedBlobIds) {
+            if (blobId != null) {
+                releases.merge(blobId, 1, Integer::sum);
+            }
+        }
+        if (!releases.isEmpty()) {
+            List<Object[]> args = new ArrayList<>(releases.size());
+            releases.forEach((blobId, count) -> args.add(new Object[] {count, blobId}));
+            jdbcTemplate.batchUpdate("UPDATE image_blobs SET ref_count = ref_count - ? WHERE id = ?", args);
+            named.update("DELETE FROM image_blobs WHERE id IN (:ids) AND ref_count <= 0",
+                new MapSqlParameterSource("ids", releases.keySet()));
+        }
+
+        perMonth.forEach((key, count) -> winnerStatsService.recordDeleted(key.month().atDay(1), key.type(), count));
+        for (Doomed d : doomed) {
+            changeNotificationService.publish(ChangeEvent.WINNER, d.sundayDate() + ":" + d.type());
+        }
+        purgedWinners.increment(doomed.size());
+        return doomed.size();
+    }
+}
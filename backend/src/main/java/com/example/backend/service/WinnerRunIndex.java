@@ -0,0 +1,218 @@
+package com.example.backend.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.entity.ImageType;
+import com.example.backend.repository.WeeklyWinnerRepository;
+
+/**
+ * In-memory runs of consecutive winning weeks per type, for streak and gap statistics.
+ * Built once from weekly_winners; afterwards each committed winner change is applied as
+ * a single week insert or removal (O(log n)) the next time statistics are read.
+ */
+@Component
+public class WinnerRunIndex implements ChangeListener {
+
+    // 1970-01-04 was a Sunday
+    private static final long FIRST_SUNDAY_EPOCH_DAY = 3;
+
+    @Autowired
+    private WeeklyWinnerRepository weeklyWinnerRepository;
+
+    @Autowired
+    private PrimaryReads primaryReads;
+
+    private final Queue<String> pendingKeys = new ConcurrentLinkedQueue<>();
+    private Map<ImageType, Runs> runs;
+
+    /**
+     * Streak figures per type; loads and refreshes read from the primary
+     */
+    public synchronized Map<ImageType, Map<String, Object>> summarize() {
+        if (runs == null || !pendingKeys.isEmpty()) {
+            primaryReads.call(() -> {
+                if (runs == null) {
+                    load();
+                }
+                String key;
+                while ((key = pendingKeys.poll()) != null) {
+                    apply(key);
+                }
+                return null;
+            });
+        }
+        long currentWeek = week(LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY)));
+        Map<ImageType, Map<String, Object>> result = new EnumMap<>(ImageType.class);
+        runs.forEach((type, typeRuns) -> result.put(type, typeRuns.summarize(currentWeek)));
+        return result;
+    }
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        if (ChangeEvent.WINNER.equals(event.getEntity())) {
+            pendingKeys.add(event.getKey());
+        }
+    }
+
+    @Override
+    public synchronized void onResync() {
+        runs = null;
+        pendingKeys.clear();
+    }
+
+    private void load() {
+        pendingKeys.clear();
+        Map<ImageType, Runs> loaded = new EnumMap<>(ImageType.class);
+        for (ImageType type : ImageType.values()) {
+            loaded.put(type, new Runs());
+        }
+        for (Object[] row : weeklyWinnerRepository.findAllDatesAndTypes()) {
+            loaded.get((ImageType) row[1]).add(week((LocalDate) row[0]));
+        }
+        runs = loaded;
+    }
+
+    // Re-read one winner; events do not say whether it was created or deleted
+    private void apply(String key) {
+        String[] parts = key.split(":", 2);
+        if (parts.length != 2) {
+            return;
+        }
+        LocalDate sunday = LocalDate.parse(parts[0]);
+        ImageType type = ImageType.valueOf(parts[1]);
+        if (weeklyWinnerRepository.existsBySundayDateAndType(sunday, type)) {
+            runs.get(type).add(week(sunday));
+        } else {
+            runs.get(type).remove(week(sunday));
+        }
+    }
+
+    private static long week(LocalDate sunday) {
+        return Math.floorDiv(sunday.toEpochDay() - FIRST_SUNDAY_EPOCH_DAY, 7);
+    }
+
+    private static LocalDate sunday(long week) {
+        return LocalDate.ofEpochDay(week * 7 + FIRST_SUNDAY_EPOCH_DAY);
+    }
+
+    /**
+     * Disjoint runs of consecutive weeks, plus multisets of run and gap lengths so the
+     * longest of each is always at hand
+     */
+    static class Runs {
+        private final TreeMap<Long, Long> startToEnd = new TreeMap<>();
+        private final TreeMap<Long, Integer> runLengths = new TreeMap<>();
+        private final TreeMap<Long, Integer> gapLengths = new TreeMap<>();
+        private long weeks;
+
+        void add(long week) {
+            Map.Entry<Long, Long> prev = startToEnd.floorEntry(week);
+            if (prev != null && prev.getValue() >= week) {
+                return;
+            }
+            Map.Entry<Long, Long> next = startToEnd.higherEntry(week);
+            boolean joinPrev = prev != null && prev.getValue() == week - 1;
+            boolean joinNext = next != null && next.getKey() == week + 1;
+            long[] merged = {joinPrev ? prev.getKey() : week, joinNext ? next.getValue() : week};
+            replace(runs(prev, next), runs(joinPrev ? null : prev, merged, joinNext ? null : next));
+            weeks++;
+        }
+
+        void remove(long week) {
+            Map.Entry<Long, Long> run = startToEnd.floorEntry(week);
+            if (run == null || run.getValue() < week) {
+                return;
+            }
+            Map.Entry<Long, Long> prev = startToEnd.lowerEntry(run.getKey());
+            Map.Entry<Long, Long> next = startToEnd.higherEntry(run.getKey());
+            long[] left = run.getKey() <= week - 1 ? new long[] {run.getKey(), week - 1} : null;
+            long[] right = week + 1 <= run.getValue() ? new long[] {week + 1, run.getValue()} : null;
+            replace(runs(prev, run, next), runs(prev, left, right, next));
+            weeks--;
+        }
+
+        Map<String, Object> summarize(long currentWeek) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("weeks", weeks);
+            summary.put("currentStreak", currentStreak(currentWeek));
+            summary.put("longestStreak", runLengths.isEmpty() ? 0 : runLengths.lastKey());
+            summary.put("longestGap", gapLengths.isEmpty() ? 0 : gapLengths.lastKey());
+            if (startToEnd.isEmpty()) {
+                summary.put("missingWeeks", 0);
+                summary.put("first", null);
+                summary.put("last", null);
+            } else {
+                long first = startToEnd.firstKey();
+                long last = startToEnd.lastEntry().getValue();
+                summary.put("missingWeeks", last - first + 1 - weeks);
+                summary.put("first", sunday(first).toString());
+                summary.put("last", sunday(last).toString());
+            }
+            return summary;
+        }
+
+        // The run reaching this week, or last week while this week's winner is still open
+        private long currentStreak(long currentWeek) {
+            Map.Entry<Long, Long> run = startToEnd.floorEntry(currentWeek);
+            if (run == null || run.getValue() < currentWeek - 1) {
+                return 0;
+            }
+            return Math.min(run.getValue(), currentWeek) - run.getKey() + 1;
+        }
+
+        /**
+         * Swap a sequence of adjacent runs for another, keeping the length multisets in step
+         */
+        private void replace(List<long[]> before, List<long[]> after) {
+            for (int i = 0; i < before.size(); i++) {
+                long[] run = before.get(i);
+                startToEnd.remove(run[0]);
+                decrement(runLengths, run[1] - run[0] + 1);
+                if (i > 0) {
+                    decrement(gapLengths, run[0] - before.get(i - 1)[1] - 1);
+                }
+            }
+            for (int i = 0; i < after.size(); i++) {
+                long[] run = after.get(i);
+                startToEnd.put(run[0], run[1]);
+                runLengths.merge(run[1] - run[0] + 1, 1, Integer::sum);
+                if (i > 0) {
+                    gapLengths.merge(run[0] - after.get(i - 1)[1] - 1, 1, Integer::sum);
+                }
+            }
+        }
+
+        private static List<long[]> runs(Object... runs) {
+            List<long[]> result = new ArrayList<>();
+            Arrays.stream(runs).filter(Objects::nonNull).forEach(run -> {
+                if (run instanceof long[] bounds) {
+                    result.add(bounds);
+                } else {
+                    @SuppressWarnings("unchecked")
+                    Map.Entry<Long, Long> entry = (Map.Entry<Long, Long>) run;
+                    result.add(new long[] {entry.getKey(), entry.getValue()});
+                }
+            });
+            return result;
+        }
+
+        private static void decrement(TreeMap<Long, Integer> multiset, long length) {
+            multiset.computeIfPresent(length, (k, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.backend.service;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.backend.dto.ImageSummaryDto;
+import com.example.backend.dto.WeeklyWinnerDto;
+import com.example.backend.entity.ImageType;
+import com.example.backend.entity.WeeklyWinner;
+import com.example.backend.repository.WeeklyWinnerRepository;
+
+/**
+ * In-memory inverted index over winner titles. Titles are lowercased, stripped of accents
+ * and split into tokens; the sorted vocabulary answers prefix queries with a range lookup
+ * and small typos are matched by edit distance. Built once, then kept current by applying
+ * committed winner changes before the next search.
+ */
+@Component
+public class WinnerSearchIndex implements ChangeListener {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int FUZZY = 1;
+
+    @Autowired
+    private WeeklyWinnerRepository weeklyWinnerRepository;
+
+    @Autowired
+    private ImageUrlSigner imageUrlSigner;
+
+    @Autowired
+    private PrimaryReads primaryReads;
+
+    private final Queue<String> pendingKeys = new ConcurrentLinkedQueue<>();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final NavigableMap<String, Set<String>> postings = new TreeMap<>();
+    private boolean loaded;
+
+    /**
+     * Winners whose titles match every query token exactly, by prefix or with a typo;
+     * best matches first, newest first among equals
+     */
+    @Transactional(readOnly = true)
+    public synchronized List<WeeklyWinnerDto> search(String query, int limit) {
+        if (!loaded || !pendingKeys.isEmpty()) {
+            primaryReads.call(() -> {
+                if (!loaded) {
+                    load();
+                }
+                String key;
+                while ((key = pendingKeys.poll()) != null) {
+                    refresh(key);
+                }
+                return null;
+            });
+        }
+
+        List<String> queryTokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (queryTokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, Integer> scores = null;
+        for (String token : queryTokens) {
+            Map<String, Integer> matches = match(token);
+            if (scores == null) {
+                scores = matches;
+            } else {
+                scores.keySet().retainAll(matches.keySet());
+                scores.replaceAll((doc, score) -> score + matches.get(doc));
+            }
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        Map<String, Integer> finalScores = scores;
+        return finalScores.keySet().stream()
+            .map(entries::get)
+            .sorted(Comparator.<Entry>comparingInt(e -> finalScores.get(e.key)).reversed()
+                .thenComparing(e -> e.sundayDate, Comparator.reverseOrder())
+                .thenComparing(e -> e.type))
+            .limit(limit)
+            .map(entry -> entry.toDto(imageUrlSigner))
+            .toList();
+    }
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        if (ChangeEvent.WINNER.equals(event.getEntity())) {
+            pendingKeys.add(event.getKey());
+        }
+    }
+
+    @Override
+    public synchronized void onResync() {
+        loaded = false;
+        entries.clear();
+        postings.clear();
+        pendingKeys.clear();
+    }
+
+    /**
+     * Best match weight per document for one query token
+     */
+    private Map<String, Integer> match(String token) {
+        Map<String, Integer> matches = new HashMap<>();
+        addAll(matches, postings.get(token), EXACT);
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            for (Set<String> docs : postings.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+                addAll(matches, docs, PREFIX);
+            }
+        }
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = token.length() >= 8 ? 2 : 1;
+            for (Map.Entry<String, Set<String>> term : postings.entrySet()) {
+                if (withinEditDistance(token, term.getKey(), maxEdits)) {
+                    addAll(matches, term.getValue(), FUZZY);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static void addAll(Map<String, Integer> matches, Set<String> docs, int weight) {
+        if (docs != null) {
+            for (String doc : docs) {
+                matches.merge(doc, weight, Math::max);
+            }
+        }
+    }
+
+    private void load() {
+        pendingKeys.clear();
+        for (WeeklyWinner winner : weeklyWinnerRepository.findAllByOrderBySundayDateDesc()) {
+            index(new Entry(winner));
+        }
+        loaded = true;
+    }
+
+    // Re-read one winner; it may have been created, retitled or deleted
+    private void refresh(String key) {
+        unindex(key);
+        String[] parts = key.split(":", 2);
+        if (parts.length != 2) {
+            return;
+        }
+        Optional<WeeklyWinner> winner = weeklyWinnerRepository.findBySundayDateAndType(
+            LocalDate.parse(parts[0]), ImageType.valueOf(parts[1]));
+        winner.ifPresent(w -> index(new Entry(w)));
+    }
+
+    private void index(Entry entry) {
+        entries.put(entry.key, entry);
+        for (String token : entry.tokens) {
+            postings.computeIfAbsent(token, t -> new HashSet<>()).add(entry.key);
+        }
+    }
+
+    private void unindex(String key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        for (String token : entry.tokens) {
+            Set<String> docs = postings.get(token);
+            if (docs != null && docs.remove(key) && docs.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Levenshtein distance with a band of width maxEdits and early exit
+     */
+    static boolean withinEditDistance(String a, String b, int maxEdits) {
+        if (Math.abs(a.length() - b.length()) > maxEdits) {
+            return false;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            int from = Math.max(1, i - maxEdits);
+            int to = Math.min(b.length(), i + maxEdits);
+            if (from > 1) {
+                current[from - 1] = maxEdits + 1;
+            }
+            for (int j = from; j <= to; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < b.length()) {
+                current[to + 1] = maxEdits + 1;
+            }
+            if (rowMin > maxEdits) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= maxEdits;
+    }
+
+    private static class Entry {
+        final String key;
+        final Long winnerId;
+        final LocalDate sundayDate;
+        final ImageType type;
+        final ImageSummaryDto image;
+        final Long version;
+        final Set<String> tokens;
+
+        Entry(WeeklyWinner winner) {
+            this.key = winner.getSundayDate() + ":" + winner.getType();
+            this.winnerId = winner.getId();
+            this.sundayDate = winner.getSundayDate();
+            this.type = winner.getType();
+            this.image = ImageSummaryDto.of(winner.getImage());
+            this.version = ImageUrlSigner.versionOf(winner.getImage());
+            this.tokens = new HashSet<>(tokenize(image.getTitle()));
+        }
+
+        // Entries outlive signed URLs, so sign on the way out
+        WeeklyWinnerDto toDto(ImageUrlSigner signer) {
+            return new WeeklyWinnerDto(winnerId, sundayDate.toString(), type,
+                image.withUrl(signer.sign(image.getId(), version)));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.backend.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.backend.entity.ImageType;
+import com.example.backend.entity.WinnerStat;
+import com.example.backend.repository.WinnerStatRepository;
+
+/**
+ * Winner counts per month and year from the winner_stats summary table, plus streaks and
+ * gaps from {@link WinnerRunIndex}. Cost depends on the number of months, not weeks.
+ */
+@Service
+public class WinnerStatsService {
+
+    @Autowired
+    private WinnerStatRepository winnerStatRepository;
+
+    @Autowired
+    private WinnerRunIndex winnerRunIndex;
+
+    /**
+     * Count a new winner, in the transaction that creates it
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(LocalDate sundayDate, ImageType type) {
+        adjust(sundayDate, type, 1);
+    }
+
+    /**
+     * Uncount a deleted winner, in the transaction that deletes it
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(LocalDate sundayDate, ImageType type) {
+        adjust(sundayDate, type, -1);
+    }
+
+    /**
+     * Uncount several deleted winners of one type in the same month
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(LocalDate sundayDate, ImageType type, int count) {
+        adjust(sundayDate, type, -count);
+    }
+
+    /**
+     * Throw away the summary and recompute it from weekly_winners
+     */
+    @Transactional
+    public int rebuild() {
+        winnerStatRepository.deleteAllRows();
+        return winnerStatRepository.rebuildFromWinners();
+    }
+
+    private void adjust(LocalDate sundayDate, ImageType type, int delta) {
+        winnerStatRepository.addToCount(sundayDate.getYear(), sundayDate.getMonthValue(), type.name(), delta);
+    }
+
+    /**
+     * Totals, per-year and per-month counts for each type, and streaks
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStats() {
+        Map<ImageType, Integer> totals = new EnumMap<>(ImageType.class);
+        Map<Integer, Map<String, Object>> byYear = new TreeMap<>();
+        List<Map<String, Object>> byMonth = new ArrayList<>();
+        for (ImageType type : ImageType.values()) {
+            totals.put(type, 0);
+        }
+
+        Map<String, Object> month = null;
+        for (WinnerStat stat : winnerStatRepository.findAllByOrderByYearAscMonthAsc()) {
+            if (stat.getCount() == 0) {
+                continue;
+            }
+            if (month == null || !month.get("year").equals(stat.getYear()) || !month.get("month").equals(stat.getMonth())) {
+                month = period(stat.getYear(), stat.getMonth());
+                byMonth.add(month);
+            }
+            month.merge(stat.getType().name(), stat.getCount(), (a, b) -> (Integer) a + (Integer) b);
+            byYear.computeIfAbsent(stat.getYear(), year -> period(year, null))
+                .merge(stat.getType().name(), stat.getCount(), (a, b) -> (Integer) a + (Integer) b);
+            totals.merge(stat.getType(), stat.getCount(), Integer::sum);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totals", totals);
+        stats.put("byYear", new ArrayList<>(byYear.values()));
+        stats.put("byMonth", byMonth);
+        stats.put("streaks", winnerRunIndex.summarize());
+        return stats;
+    }
+
+    private static Map<String, Object> period(int year, Integer month) {
+        Map<String, Object> period = new LinkedHashMap<>();
+        period.put("year", year);
+        if (month != null) {
+            period.put("month", month);
+        }
+        for (ImageType type : ImageType.values()) {
+            period.put(type.name(), 0);
+        }
+        return period;
+    }
+}
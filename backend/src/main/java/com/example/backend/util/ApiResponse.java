@@ -1,85 +1,63 @@
 package com.example.backend.util;
 
-import java.util.HashMap;
-import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 
-public class ApiResponse {
-    
-    private static final String SUCCESS = "success";
-    private static final String MESSAGE = "message";
+import com.example.backend.dto.MessageResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Message responses. Endpoint results are typed records (see the dto package) so Jackson
+ * serializes them with a cached bean serializer in a fixed field order; the constant
+ * rejections are serialized once and written as bytes.
+ */
+public final class ApiResponse {
+
+    private static final ObjectWriter MESSAGE_WRITER = new ObjectMapper().writerFor(MessageResponse.class);
+
+    // ResponseEntity headers are read-only, so the whole entity can be shared
+    private static final ResponseEntity<byte[]> UNAUTHORIZED = constant(HttpStatus.UNAUTHORIZED, "Unauthorized");
+    private static final ResponseEntity<byte[]> FORBIDDEN = constant(HttpStatus.FORBIDDEN, "Forbidden: admin role required");
 
     private ApiResponse() {}
-    
-    public static Map<String, Object> success(String message) {
-        Map<String, Object> response = new HashMap<>();
-        response.put(SUCCESS, true);
-        response.put(MESSAGE, message);
-        return response;
-    }
-    
-    public static Map<String, Object> success(String message, Map<String, Object> data) {
-        Map<String, Object> response = new HashMap<>();
-        response.put(SUCCESS, true);
-        response.put(MESSAGE, message);
-        response.putAll(data);
-        return response;
+
+    public static MessageResponse success(String message) {
+        return new MessageResponse(true, message);
     }
-    
-    public static Map<String, Object> error(String message) {
-        Map<String, Object> response = new HashMap<>();
-        response.put(SUCCESS, false);
-        response.put(MESSAGE, message);
-        return response;
+
+    public static MessageResponse error(String message) {
+        return new MessageResponse(false, message);
     }
-    
-    public static Map<String, Object> error(String message, Map<String, Object> data) {
-        Map<String, Object> response = new HashMap<>();
-        response.put(SUCCESS, false);
-        response.put(MESSAGE, message);
-        response.putAll(data);
-        return response;
+
+    /**
+     * 401 for a missing or invalid token
+     */
+    public static ResponseEntity<byte[]> unauthorized() {
+        return UNAUTHORIZED;
     }
-    
-    public static class Builder {
-        private final Map<String, Object> response = new HashMap<>();
-        private boolean isSuccess = true;
-        
-        public Builder success() {
-            this.isSuccess = true;
-            return this;
-        }
-        
-        public Builder error() {
-            this.isSuccess = false;
-            return this;
-        }
-        
-        public Builder message(String message) {
-            response.put(MESSAGE, message);
-            return this;
-        }
-        
-        public Builder data(String key, Object value) {
-            response.put(key, value);
-            return this;
-        }
-        
-        public Builder data(Map<String, Object> data) {
-            response.putAll(data);
-            return this;
-        }
-        
-        public Map<String, Object> build() {
-            response.put(SUCCESS, isSuccess);
-            return response;
-        }
+
+    /**
+     * 403 for a valid token without the admin role
+     */
+    public static ResponseEntity<byte[]> forbidden() {
+        return FORBIDDEN;
     }
-    
-    public static Builder successBuilder() {
-        return new Builder().success();
+
+    private static ResponseEntity<byte[]> constant(HttpStatus status, String message) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(serialize(error(message)));
     }
-    
-    public static Builder errorBuilder() {
-        return new Builder().error();
+
+    /**
+     * JSON bytes of a message, for responses written outside Spring MVC (filters) or cached
+     */
+    public static byte[] serialize(MessageResponse response) {
+        try {
+            return MESSAGE_WRITER.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,121 @@
+package com.example.backend.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes a response body with servlet non-blocking I/O: the request thread returns as soon
+ * as writing has started and the container calls back whenever the client can take more,
+ * so a slow reader costs a socket and a buffer instead of a thread, a pooled connection and
+ * a bulkhead permit. Falls back to a blocking write where non-blocking output is unsupported.
+ */
+public final class AsyncBodyWriter implements WriteListener {
+
+    private static final int CHUNK_BYTES = 64 * 1024;
+
+    private final AsyncContext async;
+    private final ServletOutputStream out;
+    private final ByteBuffer body;
+    private final byte[] chunk;
+
+    private AsyncBodyWriter(AsyncContext async, ServletOutputStream out, ByteBuffer body) {
+        this.async = async;
+        this.out = out;
+        this.body = body;
+        this.chunk = new byte[Math.min(CHUNK_BYTES, Math.max(1, body.remaining()))];
+    }
+
+    /**
+     * Start writing the body; status and headers must already be set on the response.
+     * onDone runs exactly once, when the body has been written or the write abandoned.
+     */
+    public static void write(HttpServletRequest request, HttpServletResponse response, ByteBuffer body, long timeoutMs,
+            Runnable onDone) throws IOException {
+        ByteBuffer view = body.duplicate();
+        if (!request.isAsyncSupported()) {
+            try {
+                writeBlocking(response.getOutputStream(), view);
+            } finally {
+                onDone.run();
+            }
+            return;
+        }
+
+        AsyncContext async;
+        try {
+            async = request.startAsync();
+        } catch (IllegalStateException e) {
+            onDone.run();
+            throw e;
+        }
+        async.setTimeout(timeoutMs);
+        async.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                // Also reached after a timeout or error, both of which complete the context
+                onDone.run();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                event.getAsyncContext().complete();
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                event.getAsyncContext().complete();
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {}
+        });
+
+        ServletOutputStream out = response.getOutputStream();
+        try {
+            out.setWriteListener(new AsyncBodyWriter(async, out, view));
+        } catch (UnsupportedOperationException e) {
+            // e.g. mock responses in tests
+            try {
+                writeBlocking(out, view);
+            } finally {
+                async.complete();
+            }
+        }
+    }
+
+    private static void writeBlocking(ServletOutputStream out, ByteBuffer body) throws IOException {
+        byte[] chunk = new byte[Math.min(CHUNK_BYTES, Math.max(1, body.remaining()))];
+        while (body.hasRemaining()) {
+            int n = Math.min(chunk.length, body.remaining());
+            body.get(chunk, 0, n);
+            out.write(chunk, 0, n);
+        }
+        out.flush();
+    }
+
+    @Override
+    public void onWritePossible() throws IOException {
+        while (out.isReady()) {
+            if (!body.hasRemaining()) {
+                async.complete();
+                return;
+            }
+            int n = Math.min(chunk.length, body.remaining());
+            body.get(chunk, 0, n);
+            out.write(chunk, 0, n);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        // Client went away; the async listener completes the request
+    }
+}
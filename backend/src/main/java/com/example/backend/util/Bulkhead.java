@@ -0,0 +1,79 @@
+package com.example.backend.util;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Semaphore compartment limiting how many requests of one kind run at once.
+ * At most maxQueue callers wait for a permit, each for at most maxWaitMs; everyone else is
+ * rejected immediately so a saturated compartment fails fast instead of piling up threads.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final Semaphore permits;
+    private final int maxQueue;
+    private final long maxWaitMs;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int permits, int maxQueue, long maxWaitMs, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.permits = new Semaphore(permits, true);
+        this.maxQueue = maxQueue;
+        this.maxWaitMs = maxWaitMs;
+        this.waitTimer = Timer.builder("bulkhead.wait")
+            .tag("compartment", name)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.rejected = meterRegistry.counter("bulkhead.rejected", "compartment", name);
+        Gauge.builder("bulkhead.active", this.permits, p -> permits - p.availablePermits())
+            .tag("compartment", name)
+            .register(meterRegistry);
+        Gauge.builder("bulkhead.queued", waiting, AtomicInteger::get)
+            .tag("compartment", name)
+            .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Take a permit, waiting in the bounded queue if needed. Returns false when rejected;
+     * a true result must be paired with {@link #release()}.
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        long start = System.nanoTime();
+        if (permits.tryAcquire()) {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return true;
+        }
+        if (waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        try {
+            boolean acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                rejected.increment();
+            }
+            return acquired;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
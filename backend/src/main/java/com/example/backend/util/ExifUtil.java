@@ -0,0 +1,114 @@
+package com.example.backend.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal TIFF/EXIF helpers: reading the orientation tag and writing an EXIF block that holds only it.
+ */
+public final class ExifUtil {
+
+    public static final int ORIENTATION_NORMAL = 1;
+
+    private static final int TAG_ORIENTATION = 0x0112;
+    private static final int TYPE_SHORT = 3;
+    private static final byte[] EXIF_HEADER = "Exif\0\0".getBytes(StandardCharsets.ISO_8859_1);
+
+    private ExifUtil() {}
+
+    /**
+     * Check if a JPEG APP1 payload starts with the EXIF identifier
+     */
+    public static boolean isExifPayload(byte[] data, int offset, int length) {
+        if (length < EXIF_HEADER.length) {
+            return false;
+        }
+        for (int i = 0; i < EXIF_HEADER.length; i++) {
+            if (data[offset + i] != EXIF_HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read the orientation from a JPEG APP1 EXIF payload, or 0 if absent
+     */
+    public static int readExifOrientation(byte[] data, int offset, int length) {
+        if (!isExifPayload(data, offset, length)) {
+            return 0;
+        }
+        return readTiffOrientation(data, offset + EXIF_HEADER.length, length - EXIF_HEADER.length);
+    }
+
+    /**
+     * Read the orientation tag from IFD0 of a TIFF structure, or 0 if absent
+     */
+    public static int readTiffOrientation(byte[] data, int offset, int length) {
+        if (length < 8) {
+            return 0;
+        }
+        boolean littleEndian;
+        if (data[offset] == 'I' && data[offset + 1] == 'I') {
+            littleEndian = true;
+        } else if (data[offset] == 'M' && data[offset + 1] == 'M') {
+            littleEndian = false;
+        } else {
+            return 0;
+        }
+
+        long ifdOffset = readInt(data, offset + 4, littleEndian) & 0xFFFFFFFFL;
+        if (ifdOffset + 2 > length) {
+            return 0;
+        }
+        int ifd = offset + (int) ifdOffset;
+        int entries = readShort(data, ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > offset + length) {
+                return 0;
+            }
+            if (readShort(data, entry, littleEndian) == TAG_ORIENTATION
+                    && readShort(data, entry + 2, littleEndian) == TYPE_SHORT) {
+                int value = readShort(data, entry + 8, littleEndian);
+                return value >= 1 && value <= 8 ? value : 0;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Build an APP1 payload (without marker and length) holding only the orientation tag
+     */
+    public static byte[] orientationOnlyExif(int orientation) {
+        byte[] out = new byte[EXIF_HEADER.length + 26];
+        System.arraycopy(EXIF_HEADER, 0, out, 0, EXIF_HEADER.length);
+        int p = EXIF_HEADER.length;
+        // Big-endian TIFF header, IFD0 at offset 8
+        out[p] = 'M';
+        out[p + 1] = 'M';
+        out[p + 3] = 0x2A;
+        out[p + 7] = 8;
+        // One entry: orientation, SHORT, count 1, value
+        out[p + 9] = 1;
+        out[p + 10] = (byte) (TAG_ORIENTATION >> 8);
+        out[p + 11] = (byte) TAG_ORIENTATION;
+        out[p + 13] = TYPE_SHORT;
+        out[p + 17] = 1;
+        out[p + 18] = (byte) (orientation >> 8);
+        out[p + 19] = (byte) orientation;
+        // Next IFD offset stays zero
+        return out;
+    }
+
+    private static int readShort(byte[] data, int offset, boolean littleEndian) {
+        int a = data[offset] & 0xFF;
+        int b = data[offset + 1] & 0xFF;
+        return littleEndian ? (b << 8) | a : (a << 8) | b;
+    }
+
+    private static int readInt(byte[] data, int offset, boolean littleEndian) {
+        int hi = readShort(data, offset, littleEndian);
+        int lo = readShort(data, offset + 2, littleEndian);
+        return littleEndian ? (lo << 16) | hi : (hi << 16) | lo;
+    }
+}
@@ -95,7 +95,8 @@ public class FileUtil {
     }
     
     /**
-     * Get MIME type from MultipartFile, with fallback to extension-based detection
+     * Get MIME type from MultipartFile, with fallback to extension-based detection.
+     * This only reflects client hints; UploadAnalyzer sniffs the real type from the content.
      */
     public static String getMimeTypeFromFile(MultipartFile file) {
         // First try to get MIME type from the file itself
@@ -0,0 +1,274 @@
+package com.example.backend.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Lossless size reduction for JPEG and PNG: drops non-essential metadata (keeping
+ * orientation and colour information) and re-deflates PNG image data.
+ * Pixels are never decoded, so the result is bit-identical once rendered.
+ */
+public final class ImageOptimizer {
+
+    private static final byte[] PNG_SIGNATURE = {
+        (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'
+    };
+
+    // Ancillary PNG chunks that affect how pixels are rendered
+    private static final Set<String> PNG_KEPT_ANCILLARY = Set.of(
+        "tRNS", "gAMA", "cHRM", "sRGB", "iCCP", "sBIT"
+    );
+
+    private static final int[] DEFLATE_STRATEGIES = {
+        Deflater.DEFAULT_STRATEGY, Deflater.FILTERED
+    };
+
+    private static final int JPEG_SOI = 0xD8;
+    private static final int JPEG_SOS = 0xDA;
+    private static final int JPEG_APP0 = 0xE0;
+    private static final int JPEG_APP1 = 0xE1;
+    private static final int JPEG_APP2 = 0xE2;
+    private static final int JPEG_APP14 = 0xEE;
+    private static final int JPEG_APP15 = 0xEF;
+    private static final int JPEG_COM = 0xFE;
+    private static final byte[] ICC_PROFILE_ID = "ICC_PROFILE\0".getBytes(StandardCharsets.ISO_8859_1);
+
+    private ImageOptimizer() {}
+
+    /**
+     * Optimize the image if the MIME type is supported; returns the input when nothing could be saved
+     */
+    public static byte[] optimize(byte[] data, String mimeType) throws IOException {
+        if (mimeType == null) {
+            return data;
+        }
+        byte[] result;
+        switch (mimeType.toLowerCase()) {
+            case "image/png" -> result = optimizePng(data);
+            case "image/jpeg", "image/jpg" -> result = stripJpegMetadata(data);
+            default -> result = data;
+        }
+        return result.length < data.length ? result : data;
+    }
+
+    /**
+     * Drop non-essential PNG chunks and re-deflate the image data with the best strategy
+     */
+    public static byte[] optimizePng(byte[] data) throws IOException {
+        if (!startsWith(data, PNG_SIGNATURE)) {
+            return data;
+        }
+
+        List<int[]> idatRanges = new ArrayList<>();
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        ByteArrayOutputStream trailer = new ByteArrayOutputStream();
+        int orientation = 0;
+        int pos = PNG_SIGNATURE.length;
+        boolean seenIdat = false;
+
+        while (pos + 12 <= data.length) {
+            int length = readInt(data, pos);
+            if (length < 0 || pos + 12L + length > data.length) {
+                return data;
+            }
+            String type = new String(data, pos + 4, 4, StandardCharsets.ISO_8859_1);
+            int chunkEnd = pos + 12 + length;
+
+            if ("acTL".equals(type)) {
+                // Animated PNG frames reference chunk sequence numbers; leave them untouched
+                return data;
+            }
+            if ("IDAT".equals(type)) {
+                idatRanges.add(new int[] {pos + 8, length});
+                seenIdat = true;
+            } else if ("eXIf".equals(type)) {
+                orientation = ExifUtil.readTiffOrientation(data, pos + 8, length);
+            } else if (isCritical(type) || PNG_KEPT_ANCILLARY.contains(type)) {
+                (seenIdat ? trailer : header).write(data, pos, chunkEnd - pos);
+            }
+            pos = chunkEnd;
+            if ("IEND".equals(type)) {
+                break;
+            }
+        }
+        if (idatRanges.isEmpty()) {
+            return data;
+        }
+
+        byte[] best = null;
+        for (int strategy : DEFLATE_STRATEGIES) {
+            byte[] candidate = redeflate(data, idatRanges, strategy);
+            if (best == null || candidate.length < best.length) {
+                best = candidate;
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length);
+        out.write(PNG_SIGNATURE);
+        out.write(header.toByteArray());
+        if (orientation > ExifUtil.ORIENTATION_NORMAL) {
+            byte[] exif = ExifUtil.orientationOnlyExif(orientation);
+            // eXIf holds the bare TIFF structure, without the JPEG "Exif\0\0" prefix
+            writePngChunk(out, "eXIf", exif, 6, exif.length - 6);
+        }
+        writePngChunk(out, "IDAT", best, 0, best.length);
+        out.write(trailer.toByteArray());
+        return out.toByteArray();
+    }
+
+    /**
+     * Drop EXIF/XMP, comments and other application segments from a JPEG.
+     * JFIF, ICC profiles and Adobe colour transform segments are kept, and a
+     * minimal EXIF block is written back when the image carries a rotation.
+     */
+    public static byte[] stripJpegMetadata(byte[] data) {
+        if (data.length < 4 || (data[0] & 0xFF) != 0xFF || (data[1] & 0xFF) != JPEG_SOI) {
+            return data;
+        }
+
+        ByteArrayOutputStream kept = new ByteArrayOutputStream(data.length);
+        int orientation = 0;
+        int pos = 2;
+
+        while (pos + 4 <= data.length) {
+            if ((data[pos] & 0xFF) != 0xFF) {
+                return data;
+            }
+            int marker = data[pos + 1] & 0xFF;
+            if (marker == 0xFF) {
+                // Fill byte before a marker
+                pos++;
+                continue;
+            }
+            if (marker == JPEG_SOS) {
+                break;
+            }
+            int length = ((data[pos + 2] & 0xFF) << 8) | (data[pos + 3] & 0xFF);
+            int segmentEnd = pos + 2 + length;
+            if (length < 2 || segmentEnd > data.length) {
+                return data;
+            }
+
+            if (marker == JPEG_APP1) {
+                int found = ExifUtil.readExifOrientation(data, pos + 4, length - 2);
+                if (found > 0) {
+                    orientation = found;
+                }
+            } else if (isKeptJpegSegment(data, marker, pos + 4, length - 2)) {
+                kept.write(data, pos, segmentEnd - pos);
+            }
+            pos = segmentEnd;
+        }
+        if (pos + 4 > data.length) {
+            return data;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length);
+        out.write(0xFF);
+        out.write(JPEG_SOI);
+        byte[] keptBytes = kept.toByteArray();
+        int afterApp0 = leadingApp0Length(keptBytes);
+        out.write(keptBytes, 0, afterApp0);
+        if (orientation > ExifUtil.ORIENTATION_NORMAL) {
+            byte[] exif = ExifUtil.orientationOnlyExif(orientation);
+            out.write(0xFF);
+            out.write(JPEG_APP1);
+            out.write((exif.length + 2) >> 8);
+            out.write((exif.length + 2) & 0xFF);
+            out.write(exif, 0, exif.length);
+        }
+        out.write(keptBytes, afterApp0, keptBytes.length - afterApp0);
+        // Scan data and everything after it is copied verbatim
+        out.write(data, pos, data.length - pos);
+        return out.toByteArray();
+    }
+
+    private static boolean isKeptJpegSegment(byte[] data, int marker, int payload, int payloadLength) {
+        if (marker == JPEG_APP0 || marker == JPEG_APP14) {
+            return true;
+        }
+        if (marker == JPEG_APP2) {
+            return payloadLength >= ICC_PROFILE_ID.length && regionStartsWith(data, payload, ICC_PROFILE_ID);
+        }
+        // Other APPn and comments carry no rendering information
+        return !(marker > JPEG_APP0 && marker <= JPEG_APP15) && marker != JPEG_COM;
+    }
+
+    // JFIF requires APP0 to stay the first segment after SOI
+    private static int leadingApp0Length(byte[] segments) {
+        if (segments.length >= 4 && (segments[1] & 0xFF) == JPEG_APP0) {
+            return 2 + (((segments[2] & 0xFF) << 8) | (segments[3] & 0xFF));
+        }
+        return 0;
+    }
+
+    private static byte[] redeflate(byte[] data, List<int[]> idatRanges, int strategy) throws IOException {
+        List<InputStream> parts = new ArrayList<>(idatRanges.size());
+        for (int[] range : idatRanges) {
+            parts.add(new ByteArrayInputStream(data, range[0], range[1]));
+        }
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        deflater.setStrategy(strategy);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.length);
+        try (InputStream in = new InflaterInputStream(new SequenceInputStream(Collections.enumeration(parts)));
+             OutputStream out = new DeflaterOutputStream(compressed, deflater, 64 * 1024)) {
+            in.transferTo(out);
+        } finally {
+            deflater.end();
+        }
+        return compressed.toByteArray();
+    }
+
+    private static void writePngChunk(ByteArrayOutputStream out, String type, byte[] data, int offset, int length) {
+        byte[] typeBytes = type.getBytes(StandardCharsets.ISO_8859_1);
+        writeInt(out, length);
+        out.write(typeBytes, 0, 4);
+        out.write(data, offset, length);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, offset, length);
+        writeInt(out, (int) crc.getValue());
+    }
+
+    private static boolean isCritical(String chunkType) {
+        return Character.isUpperCase(chunkType.charAt(0));
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        return data.length >= prefix.length && regionStartsWith(data, 0, prefix);
+    }
+
+    private static boolean regionStartsWith(byte[] data, int offset, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16)
+            | ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.backend.util;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Downscaling for small derived images. Large sources are decoded with source subsampling,
+ * so only about twice the target resolution is ever held in memory.
+ */
+public final class ImageScaler {
+
+    private ImageScaler() {}
+
+    /**
+     * Decode, rotate upright and shrink an image to fit within maxSide; null if it cannot be decoded
+     */
+    public static BufferedImage thumbnail(byte[] data, Integer orientation, int maxSide) throws IOException {
+        BufferedImage decoded = decode(data, maxSide);
+        if (decoded == null) {
+            return null;
+        }
+        return fit(orient(decoded, orientation), maxSide);
+    }
+
+    /**
+     * Decode with the coarsest subsampling that still leaves at least twice targetSide pixels
+     */
+    public static BufferedImage decode(byte[] data, int targetSide) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longest / (targetSide * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Apply an EXIF orientation (1-8) so the pixels are upright
+     */
+    public static BufferedImage orient(BufferedImage source, Integer orientation) {
+        if (orientation == null || orientation < 2 || orientation > 8) {
+            return source;
+        }
+        int w = source.getWidth();
+        int h = source.getHeight();
+        boolean swap = orientation >= 5;
+        BufferedImage target = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                int rgb = source.getRGB(x, y);
+                switch (orientation) {
+                    case 2 -> target.setRGB(w - 1 - x, y, rgb);
+                    case 3 -> target.setRGB(w - 1 - x, h - 1 - y, rgb);
+                    case 4 -> target.setRGB(x, h - 1 - y, rgb);
+                    case 5 -> target.setRGB(y, x, rgb);
+                    case 6 -> target.setRGB(h - 1 - y, x, rgb);
+                    case 7 -> target.setRGB(h - 1 - y, w - 1 - x, rgb);
+                    default -> target.setRGB(y, w - 1 - x, rgb);
+                }
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Scale down to fit within maxSide on an opaque white background; never scales up
+     */
+    public static BufferedImage fit(BufferedImage source, int maxSide) {
+        double scale = Math.min(1.0, (double) maxSide / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * Draw the centre square of an image, scaled to size, at (x, y) of a canvas
+     */
+    public static void drawCover(Graphics2D g, BufferedImage source, int x, int y, int size) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        int sx = (source.getWidth() - side) / 2;
+        int sy = (source.getHeight() - side) / 2;
+        g.drawImage(source, x, y, x + size, y + size, sx, sy, sx + side, sy + side, null);
+    }
+
+    /**
+     * Encode as baseline JPEG at the given quality (0-1)
+     */
+    public static byte[] toJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
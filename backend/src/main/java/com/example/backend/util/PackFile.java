@@ -0,0 +1,201 @@
+package com.example.backend.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Append-only pack of blob contents: a .dat file holding the bytes back to back and an
+ * .idx file of fixed-size entries (blob id, variant, offset, length) sorted by blob id
+ * and variant. Both are memory-mapped for reading; a pack is never modified once its
+ * index is written. Packs are limited to 2GB so a single mapping covers them.
+ */
+public final class PackFile {
+
+    // Original upload bytes and the optimized copy served in their place
+    public static final int ORIGINAL = 0;
+    public static final int OPTIMIZED = 1;
+
+    public static final long MAX_PACK_BYTES = Integer.MAX_VALUE;
+
+    private static final int MAGIC = 0x5241504B; // "RAPK"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+    private static final int ENTRY_BYTES = 24;
+
+    private PackFile() {}
+
+    /**
+     * Location of one blob variant inside the .dat file
+     */
+    public record Entry(long blobId, int variant, long offset, int length) {}
+
+    /**
+     * Writes a new pack. Nothing is readable until {@link #finish()} has written the index.
+     */
+    public static final class Writer implements Closeable {
+        private final Path indexPath;
+        private final FileChannel data;
+        private final List<Entry> entries = new ArrayList<>();
+        private long size;
+
+        public Writer(Path dataPath, Path indexPath) throws IOException {
+            this.indexPath = indexPath;
+            this.data = FileChannel.open(dataPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+
+        public void add(long blobId, int variant, byte[] bytes) throws IOException {
+            add(blobId, variant, ByteBuffer.wrap(bytes));
+        }
+
+        public void add(long blobId, int variant, ByteBuffer bytes) throws IOException {
+            int length = bytes.remaining();
+            if (size + length > MAX_PACK_BYTES) {
+                throw new IllegalStateException("Pack would exceed " + MAX_PACK_BYTES + " bytes");
+            }
+            ByteBuffer source = bytes.duplicate();
+            while (source.hasRemaining()) {
+                data.write(source);
+            }
+            entries.add(new Entry(blobId, variant, size, length));
+            size += length;
+        }
+
+        public long size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return entries.isEmpty();
+        }
+
+        /**
+         * Sync the data, then write the sorted index next to it
+         */
+        public void finish() throws IOException {
+            data.force(true);
+            entries.sort(Comparator.comparingLong(Entry::blobId).thenComparingInt(Entry::variant));
+            ByteBuffer index = ByteBuffer.allocate(HEADER_BYTES + entries.size() * ENTRY_BYTES);
+            index.putInt(MAGIC).putInt(VERSION).putInt(entries.size());
+            for (Entry entry : entries) {
+                index.putLong(entry.blobId()).putInt(entry.variant()).putLong(entry.offset()).putInt(entry.length());
+            }
+            index.flip();
+
+            Path temp = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (index.hasRemaining()) {
+                    out.write(index);
+                }
+                out.force(true);
+            }
+            try {
+                Files.move(temp, indexPath, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, indexPath);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            data.close();
+        }
+    }
+
+    /**
+     * A finished pack, mapped read-only. Safe for concurrent readers.
+     */
+    public static final class Reader {
+        private final MappedByteBuffer data;
+        private final MappedByteBuffer index;
+        private final int count;
+
+        private Reader(MappedByteBuffer data, MappedByteBuffer index, int count) {
+            this.data = data;
+            this.index = index;
+            this.count = count;
+        }
+
+        public static Reader open(Path dataPath, Path indexPath) throws IOException {
+            MappedByteBuffer index;
+            try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+                index = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (index.capacity() < HEADER_BYTES || index.getInt(0) != MAGIC || index.getInt(4) != VERSION) {
+                throw new IOException("Not a pack index: " + indexPath);
+            }
+            int count = index.getInt(8);
+            if (index.capacity() != HEADER_BYTES + (long) count * ENTRY_BYTES) {
+                throw new IOException("Truncated pack index: " + indexPath);
+            }
+            // The mappings stay valid after the channels are closed
+            MappedByteBuffer data;
+            try (FileChannel channel = FileChannel.open(dataPath, StandardOpenOption.READ)) {
+                data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            return new Reader(data, index, count);
+        }
+
+        /**
+         * Read-only view of a blob variant's bytes, found by binary search over the index
+         */
+        public Optional<ByteBuffer> find(long blobId, int variant) {
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int at = HEADER_BYTES + mid * ENTRY_BYTES;
+                int cmp = Long.compare(index.getLong(at), blobId);
+                if (cmp == 0) {
+                    cmp = Integer.compare(index.getInt(at + 8), variant);
+                }
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return Optional.of(data.slice((int) index.getLong(at + 12), index.getInt(at + 20)));
+                }
+            }
+            return Optional.empty();
+        }
+
+        public List<Entry> entries() {
+            List<Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int at = HEADER_BYTES + i * ENTRY_BYTES;
+                entries.add(new Entry(index.getLong(at), index.getInt(at + 8), index.getLong(at + 12), index.getInt(at + 20)));
+            }
+            return entries;
+        }
+
+        public ByteBuffer slice(Entry entry) {
+            return data.slice((int) entry.offset(), entry.length());
+        }
+
+        public long dataSize() {
+            return data.capacity();
+        }
+    }
+
+    /**
+     * Copy a (mapped) buffer onto the heap
+     */
+    public static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
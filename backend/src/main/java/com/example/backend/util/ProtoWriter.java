@@ -0,0 +1,113 @@
+package com.example.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Minimal protobuf wire-format writer for the few messages in src/main/proto, so the
+ * listings need neither protoc nor the protobuf runtime. Follows proto3: fields holding
+ * their default value (0, false, empty, null) are not written.
+ */
+public final class ProtoWriter {
+
+    private static final int VARINT = 0;
+    private static final int LENGTH_DELIMITED = 2;
+
+    private byte[] buffer;
+    private int size;
+
+    public ProtoWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public ProtoWriter int64(int field, long value) {
+        if (value != 0) {
+            tag(field, VARINT);
+            varint(value);
+        }
+        return this;
+    }
+
+    public ProtoWriter int32(int field, int value) {
+        // Negative int32 values are sign-extended to ten bytes, as protoc does
+        return int64(field, value);
+    }
+
+    public ProtoWriter sint32(int field, int value) {
+        if (value != 0) {
+            tag(field, VARINT);
+            varint(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+        }
+        return this;
+    }
+
+    public ProtoWriter bool(int field, boolean value) {
+        if (value) {
+            tag(field, VARINT);
+            ensure(1);
+            buffer[size++] = 1;
+        }
+        return this;
+    }
+
+    public ProtoWriter string(int field, String value) {
+        if (value != null && !value.isEmpty()) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            tag(field, LENGTH_DELIMITED);
+            varint(utf8.length);
+            append(utf8, 0, utf8.length);
+        }
+        return this;
+    }
+
+    /**
+     * An embedded message, written in full by the nested writer
+     */
+    public ProtoWriter message(int field, ProtoWriter nested) {
+        tag(field, LENGTH_DELIMITED);
+        varint(nested.size);
+        append(nested.buffer, 0, nested.size);
+        return this;
+    }
+
+    /**
+     * Empty the writer for reuse, keeping its buffer
+     */
+    public ProtoWriter reset() {
+        size = 0;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void tag(int field, int wireType) {
+        varint(((long) field << 3) | wireType);
+    }
+
+    private void varint(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    private void append(byte[] bytes, int offset, int length) {
+        ensure(length);
+        System.arraycopy(bytes, offset, buffer, size, length);
+        size += length;
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.backend.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token buckets, one per key. Each bucket is a single AtomicLong holding the
+ * token count (in thousandths of a token) in the high 22 bits and the time of the last
+ * refill in the low 42 bits, so taking a token is one compare-and-set. Buckets refill
+ * lazily when touched; full buckets are idle and can be dropped with {@link #evictIdle()}.
+ */
+public class TokenBucketLimiter {
+
+    private static final int TIME_BITS = 42;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    private static final long MAX_MILLI_TOKENS = (1L << (64 - TIME_BITS)) - 1;
+    private static final long COST = 1000;
+
+    private final String name;
+    private final long capacity;
+    private final long capacityMilli;
+    private final double milliTokensPerMs;
+    private final long originNanos = System.nanoTime();
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param capacity burst size in tokens
+     * @param tokensPerSecond sustained rate
+     */
+    public TokenBucketLimiter(String name, long capacity, double tokensPerSecond) {
+        if (capacity < 1 || capacity * 1000 > MAX_MILLI_TOKENS) {
+            throw new IllegalArgumentException("Bucket capacity must be between 1 and " + MAX_MILLI_TOKENS / 1000);
+        }
+        if (tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Refill rate must be positive");
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.capacityMilli = capacity * 1000;
+        // tokens/s * 1000 milli-tokens / 1000 ms
+        this.milliTokensPerMs = tokensPerSecond;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Take one token from the key's bucket
+     */
+    public Decision tryAcquire(String key) {
+        long now = now();
+        AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(pack(capacityMilli, now)));
+        while (true) {
+            long state = bucket.get();
+            long refilled = refill(state, now);
+            long tokens = refilled >>> TIME_BITS;
+            if (tokens < COST) {
+                return new Decision(false, 0, millisUntil(tokens, COST), millisUntil(tokens, capacityMilli));
+            }
+            long remaining = tokens - COST;
+            if (bucket.compareAndSet(state, pack(remaining, refilled & TIME_MASK))) {
+                return new Decision(true, remaining / 1000, 0, millisUntil(remaining, capacityMilli));
+            }
+        }
+    }
+
+    /**
+     * Drop buckets that have refilled completely; a new bucket starts full anyway
+     */
+    public void evictIdle() {
+        long now = now();
+        buckets.forEach((key, bucket) -> {
+            long state = bucket.get();
+            if ((refill(state, now) >>> TIME_BITS) >= capacityMilli) {
+                // remove(key, bucket) only guards against the entry having been replaced by
+                // another bucket. A request that fetched this bucket just before removal still
+                // takes its token from it, and the next one starts a fresh, full bucket; as the
+                // bucket was full, that forgives at most one token.
+                buckets.remove(key, bucket);
+            }
+        });
+    }
+
+    /**
+     * Apply elapsed time to a packed state. The timestamp only advances by the time that
+     * was turned into whole milli-tokens, so slow rates do not lose fractional progress.
+     */
+    private long refill(long state, long now) {
+        long tokens = state >>> TIME_BITS;
+        long last = state & TIME_MASK;
+        long elapsed = Math.max(0, now - last);
+        long gained = (long) (elapsed * milliTokensPerMs);
+        if (tokens + gained >= capacityMilli) {
+            return pack(capacityMilli, now);
+        }
+        long used = (long) (gained / milliTokensPerMs);
+        return pack(tokens + gained, last + used);
+    }
+
+    private long millisUntil(long tokens, long target) {
+        return tokens >= target ? 0 : (long) Math.ceil((target - tokens) / milliTokensPerMs);
+    }
+
+    private long now() {
+        return ((System.nanoTime() - originNanos) / 1_000_000) & TIME_MASK;
+    }
+
+    private static long pack(long milliTokens, long time) {
+        return (milliTokens << TIME_BITS) | (time & TIME_MASK);
+    }
+
+    /**
+     * Outcome of an acquire: remaining whole tokens, and how long until one token / a full bucket
+     */
+    public static class Decision {
+        private final boolean allowed;
+        private final long remaining;
+        private final long retryAfterMs;
+        private final long resetMs;
+
+        Decision(boolean allowed, long remaining, long retryAfterMs, long resetMs) {
+            this.allowed = allowed;
+            this.remaining = remaining;
+            this.retryAfterMs = retryAfterMs;
+            this.resetMs = resetMs;
+        }
+
+        public boolean isAllowed() {
+            return allowed;
+        }
+
+        public long getRemaining() {
+            return remaining;
+        }
+
+        public long getRetryAfterMs() {
+            return retryAfterMs;
+        }
+
+        public long getResetMs() {
+            return resetMs;
+        }
+    }
+}
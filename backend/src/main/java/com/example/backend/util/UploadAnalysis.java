@@ -0,0 +1,57 @@
+package com.example.backend.util;
+
+/**
+ * Facts about an uploaded file gathered in a single pass by {@link UploadAnalyzer}.
+ * Dimensions and orientation are null when the format headers did not provide them.
+ */
+public class UploadAnalysis {
+    private final String contentHash;
+    private final long size;
+    private final String mimeType;
+    private final boolean sniffed;
+    private final Integer width;
+    private final Integer height;
+    private final Integer orientation;
+
+    public UploadAnalysis(String contentHash, long size, String mimeType, boolean sniffed,
+                          Integer width, Integer height, Integer orientation) {
+        this.contentHash = contentHash;
+        this.size = size;
+        this.mimeType = mimeType;
+        this.sniffed = sniffed;
+        this.width = width;
+        this.height = height;
+        this.orientation = orientation;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    /**
+     * True when the MIME type came from the file's magic bytes rather than client hints
+     */
+    public boolean isSniffed() {
+        return sniffed;
+    }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public Integer getOrientation() {
+        return orientation;
+    }
+}
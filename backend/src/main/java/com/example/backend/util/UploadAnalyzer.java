@@ -0,0 +1,470 @@
+package com.example.backend.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Reads an upload exactly once to compute its SHA-256, sniff the real format from
+ * magic bytes and pull width/height/orientation out of the format headers.
+ * Pixels are never decoded; header parsing only looks at the first {@link #HEAD_SIZE} bytes.
+ */
+public final class UploadAnalyzer {
+
+    static final int HEAD_SIZE = 512 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int TIFF_WIDTH = 256;
+    private static final int TIFF_HEIGHT = 257;
+    private static final int TIFF_MAKE = 271;
+    private static final int TIFF_ORIENTATION = 274;
+    private static final int TIFF_DNG_VERSION = 0xC612;
+
+    private static final Pattern SVG_TAG = Pattern.compile("<svg\\b[^>]*>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SVG_WIDTH = Pattern.compile("\\swidth\\s*=\\s*[\"']\\s*([0-9.]+)(px)?\\s*[\"']");
+    private static final Pattern SVG_HEIGHT = Pattern.compile("\\sheight\\s*=\\s*[\"']\\s*([0-9.]+)(px)?\\s*[\"']");
+    private static final Pattern SVG_VIEWBOX = Pattern.compile(
+        "\\sviewBox\\s*=\\s*[\"']\\s*[-0-9.]+[\\s,]+[-0-9.]+[\\s,]+([0-9.]+)[\\s,]+([0-9.]+)\\s*[\"']");
+
+    private UploadAnalyzer() {}
+
+    /**
+     * Analyze a multipart upload; falls back to the client-declared type when the magic bytes are unknown
+     */
+    public static UploadAnalysis analyze(MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return analyze(in, FileUtil.getMimeTypeFromFile(file));
+        }
+    }
+
+    /**
+     * Analyze a stream in one pass. The stream is read to the end but not closed.
+     */
+    public static UploadAnalysis analyze(InputStream in, String fallbackMimeType) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] head = new byte[HEAD_SIZE];
+        int headLength = 0;
+        long size = 0;
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+            if (headLength < HEAD_SIZE) {
+                int copy = Math.min(read, HEAD_SIZE - headLength);
+                System.arraycopy(buffer, 0, head, headLength, copy);
+                headLength += copy;
+            }
+            size += read;
+        }
+
+        String contentHash = HexFormat.of().formatHex(digest.digest());
+        byte[] h = headLength == HEAD_SIZE ? head : Arrays.copyOf(head, headLength);
+
+        String mimeType = sniffMimeType(h);
+        int[] geometry = null;
+        if (mimeType != null) {
+            try {
+                geometry = readGeometry(h, mimeType);
+            } catch (RuntimeException e) {
+                // Truncated or malformed headers: keep the type, skip the dimensions
+                geometry = null;
+            }
+        }
+
+        boolean sniffed = mimeType != null;
+        if (!sniffed) {
+            mimeType = fallbackMimeType != null ? fallbackMimeType : "application/octet-stream";
+        }
+        Integer width = geometry != null && geometry[0] > 0 ? geometry[0] : null;
+        Integer height = geometry != null && geometry[1] > 0 ? geometry[1] : null;
+        Integer orientation = geometry != null && geometry[2] > 0 ? geometry[2] : null;
+        return new UploadAnalysis(contentHash, size, mimeType, sniffed, width, height, orientation);
+    }
+
+    /**
+     * Identify the format from magic bytes, covering every type in FileUtil's extension map
+     */
+    static String sniffMimeType(byte[] h) {
+        if (h.length >= 3 && u8(h, 0) == 0xFF && u8(h, 1) == 0xD8 && u8(h, 2) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (startsWith(h, 0, new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'})) {
+            return "image/png";
+        }
+        if (startsWith(h, 0, ascii("GIF87a")) || startsWith(h, 0, ascii("GIF89a"))) {
+            return "image/gif";
+        }
+        if (startsWith(h, 0, ascii("RIFF")) && startsWith(h, 8, ascii("WEBP"))) {
+            return "image/webp";
+        }
+        if (startsWith(h, 4, ascii("ftyp"))) {
+            return sniffIsoBmff(h);
+        }
+        if (startsWith(h, 0, new byte[] {'I', 'I', 0x1A, 0, 0, 0}) && startsWith(h, 6, ascii("HEAPCCDR"))) {
+            return "image/x-canon-crw";
+        }
+        if (startsWith(h, 0, new byte[] {'I', 'I', 0x2A, 0}) || startsWith(h, 0, new byte[] {'M', 'M', 0, 0x2A})) {
+            return sniffTiffFamily(h);
+        }
+        if (h.length >= 18 && h[0] == 'B' && h[1] == 'M') {
+            int dibSize = le32(h, 14);
+            if (dibSize == 12 || dibSize == 40 || dibSize == 52 || dibSize == 56
+                    || dibSize == 64 || dibSize == 108 || dibSize == 124) {
+                return "image/bmp";
+            }
+        }
+        if (h.length >= 6 && u8(h, 0) == 0 && u8(h, 1) == 0 && u8(h, 2) == 1 && u8(h, 3) == 0 && le16(h, 4) > 0) {
+            return "image/x-icon";
+        }
+        if (h.length >= 3 && h[0] == 'P' && h[1] >= '1' && h[1] <= '6' && isWhitespace(h[2])) {
+            return switch (h[1]) {
+                case '1', '4' -> "image/x-portable-bitmap";
+                case '2', '5' -> "image/x-portable-graymap";
+                default -> "image/x-portable-pixmap";
+            };
+        }
+        if (h.length >= 128 && u8(h, 0) == 0x0A && u8(h, 1) <= 5 && u8(h, 1) != 1 && u8(h, 2) <= 1
+                && (u8(h, 3) == 1 || u8(h, 3) == 2 || u8(h, 3) == 4 || u8(h, 3) == 8)) {
+            return "image/x-pcx";
+        }
+        if (looksLikeSvg(h)) {
+            return "image/svg+xml";
+        }
+        return null;
+    }
+
+    private static String sniffIsoBmff(byte[] h) {
+        int boxSize = be32(h, 0);
+        int end = Math.min(h.length, boxSize > 0 ? boxSize : 0);
+        boolean heif = false;
+        // Major brand at 8, then compatible brands from 16
+        for (int p = 8; p + 4 <= end; p += (p == 8 ? 8 : 4)) {
+            String brand = new String(h, p, 4, StandardCharsets.ISO_8859_1);
+            switch (brand) {
+                case "avif", "avis":
+                    return "image/avif";
+                case "heic", "heix", "hevc", "hevx", "heim", "heis":
+                    return "image/heic";
+                case "mif1", "msf1":
+                    heif = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+        return heif ? "image/heif" : null;
+    }
+
+    private static String sniffTiffFamily(byte[] h) {
+        if (h.length >= 10 && h[8] == 'C' && h[9] == 'R') {
+            return "image/x-canon-cr2";
+        }
+        TiffTags tags = readTiffTags(h, 0);
+        if (tags.dngVersion) {
+            return "image/x-adobe-dng";
+        }
+        String make = tags.make != null ? tags.make.toUpperCase(Locale.ROOT) : "";
+        if (make.startsWith("NIKON")) {
+            return "image/x-nikon-nef";
+        }
+        if (make.startsWith("SONY")) {
+            return "image/x-sony-arw";
+        }
+        return "image/tiff";
+    }
+
+    private static boolean looksLikeSvg(byte[] h) {
+        String text = new String(h, 0, Math.min(h.length, 4096), StandardCharsets.ISO_8859_1).stripLeading();
+        if (text.startsWith("\u00EF\u00BB\u00BF")) {
+            text = text.substring(3).stripLeading();
+        }
+        if (!text.startsWith("<")) {
+            return false;
+        }
+        return text.toLowerCase(Locale.ROOT).contains("<svg");
+    }
+
+    /**
+     * Returns {width, height, orientation}, with 0 for unknown values
+     */
+    static int[] readGeometry(byte[] h, String mimeType) {
+        return switch (mimeType) {
+            case "image/jpeg" -> readJpeg(h);
+            case "image/png" -> readPng(h);
+            case "image/gif" -> new int[] {le16(h, 6), le16(h, 8), 0};
+            case "image/webp" -> readWebp(h);
+            case "image/bmp" -> readBmp(h);
+            case "image/x-icon" -> new int[] {u8(h, 6) == 0 ? 256 : u8(h, 6), u8(h, 7) == 0 ? 256 : u8(h, 7), 0};
+            case "image/x-pcx" -> new int[] {le16(h, 8) - le16(h, 4) + 1, le16(h, 10) - le16(h, 6) + 1, 0};
+            case "image/x-portable-bitmap", "image/x-portable-graymap", "image/x-portable-pixmap" -> readPnm(h);
+            case "image/heic", "image/heif", "image/avif" -> readHeif(h);
+            case "image/svg+xml" -> readSvg(h);
+            case "image/x-canon-crw" -> null;
+            default -> {
+                TiffTags tags = readTiffTags(h, 0);
+                yield new int[] {tags.width, tags.height, tags.orientation};
+            }
+        };
+    }
+
+    private static int[] readJpeg(byte[] h) {
+        int orientation = 0;
+        int pos = 2;
+        while (pos + 4 <= h.length) {
+            if (u8(h, pos) != 0xFF) {
+                return null;
+            }
+            int marker = u8(h, pos + 1);
+            if (marker == 0xFF) {
+                pos++;
+                continue;
+            }
+            if (marker == 0xD8 || marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                pos += 2;
+                continue;
+            }
+            int length = be16(h, pos + 2);
+            if (marker == 0xE1 && orientation == 0 && pos + 2 + length <= h.length) {
+                orientation = ExifUtil.readExifOrientation(h, pos + 4, length - 2);
+            }
+            boolean sof = marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+            if (sof && pos + 9 <= h.length) {
+                return new int[] {be16(h, pos + 7), be16(h, pos + 5), orientation};
+            }
+            if (marker == 0xDA || length < 2) {
+                return null;
+            }
+            pos += 2 + length;
+        }
+        return null;
+    }
+
+    private static int[] readPng(byte[] h) {
+        int width = be32(h, 16);
+        int height = be32(h, 20);
+        int orientation = 0;
+        int pos = 8;
+        while (pos + 12 <= h.length) {
+            int length = be32(h, pos);
+            String type = new String(h, pos + 4, 4, StandardCharsets.ISO_8859_1);
+            if ("eXIf".equals(type) && pos + 8 + length <= h.length) {
+                orientation = ExifUtil.readTiffOrientation(h, pos + 8, length);
+            }
+            if ("IDAT".equals(type) || "IEND".equals(type) || length < 0) {
+                break;
+            }
+            pos += 12 + length;
+        }
+        return new int[] {width, height, orientation};
+    }
+
+    private static int[] readWebp(byte[] h) {
+        String chunk = new String(h, 12, 4, StandardCharsets.ISO_8859_1);
+        return switch (chunk) {
+            case "VP8 " -> new int[] {le16(h, 26) & 0x3FFF, le16(h, 28) & 0x3FFF, 0};
+            case "VP8L" -> {
+                int bits = le32(h, 21);
+                yield new int[] {(bits & 0x3FFF) + 1, ((bits >>> 14) & 0x3FFF) + 1, 0};
+            }
+            case "VP8X" -> new int[] {le24(h, 24) + 1, le24(h, 27) + 1, 0};
+            default -> null;
+        };
+    }
+
+    private static int[] readBmp(byte[] h) {
+        if (le32(h, 14) == 12) {
+            return new int[] {le16(h, 18), le16(h, 20), 0};
+        }
+        return new int[] {Math.abs(le32(h, 18)), Math.abs(le32(h, 22)), 0};
+    }
+
+    private static int[] readPnm(byte[] h) {
+        int[] values = new int[2];
+        int found = 0;
+        int pos = 2;
+        while (found < 2 && pos < h.length) {
+            byte c = h[pos];
+            if (c == '#') {
+                while (pos < h.length && h[pos] != '\n') {
+                    pos++;
+                }
+            } else if (c >= '0' && c <= '9') {
+                int value = 0;
+                while (pos < h.length && h[pos] >= '0' && h[pos] <= '9') {
+                    value = value * 10 + (h[pos] - '0');
+                    pos++;
+                }
+                values[found++] = value;
+                continue;
+            }
+            pos++;
+        }
+        return found == 2 ? new int[] {values[0], values[1], 0} : null;
+    }
+
+    private static int[] readHeif(byte[] h) {
+        int ispe = indexOf(h, ascii("ispe"));
+        if (ispe < 0 || ispe + 16 > h.length) {
+            return null;
+        }
+        // ispe is a full box: 4 bytes version/flags, then width and height
+        int width = be32(h, ispe + 8);
+        int height = be32(h, ispe + 12);
+        int orientation = 0;
+        int irot = indexOf(h, ascii("irot"));
+        if (irot >= 0 && irot + 5 <= h.length) {
+            // Counter-clockwise quarter turns mapped to EXIF orientation values
+            orientation = switch (u8(h, irot + 4) & 0x03) {
+                case 1 -> 8;
+                case 2 -> 3;
+                case 3 -> 6;
+                default -> 1;
+            };
+        }
+        return new int[] {width, height, orientation};
+    }
+
+    private static int[] readSvg(byte[] h) {
+        String text = new String(h, StandardCharsets.UTF_8);
+        Matcher tag = SVG_TAG.matcher(text);
+        if (!tag.find()) {
+            return null;
+        }
+        String svg = tag.group();
+        Matcher w = SVG_WIDTH.matcher(svg);
+        Matcher ht = SVG_HEIGHT.matcher(svg);
+        if (w.find() && ht.find()) {
+            return new int[] {(int) Math.round(Double.parseDouble(w.group(1))),
+                              (int) Math.round(Double.parseDouble(ht.group(1))), 0};
+        }
+        Matcher viewBox = SVG_VIEWBOX.matcher(svg);
+        if (viewBox.find()) {
+            return new int[] {(int) Math.round(Double.parseDouble(viewBox.group(1))),
+                              (int) Math.round(Double.parseDouble(viewBox.group(2))), 0};
+        }
+        return null;
+    }
+
+    private static class TiffTags {
+        int width;
+        int height;
+        int orientation;
+        String make;
+        boolean dngVersion;
+    }
+
+    private static TiffTags readTiffTags(byte[] h, int base) {
+        TiffTags tags = new TiffTags();
+        if (h.length < base + 8) {
+            return tags;
+        }
+        boolean le = h[base] == 'I';
+        long ifd = (le ? le32(h, base + 4) : be32(h, base + 4)) & 0xFFFFFFFFL;
+        if (base + ifd + 2 > h.length) {
+            return tags;
+        }
+        int ifdPos = base + (int) ifd;
+        int entries = le ? le16(h, ifdPos) : be16(h, ifdPos);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifdPos + 2 + i * 12;
+            if (entry + 12 > h.length) {
+                break;
+            }
+            int tag = le ? le16(h, entry) : be16(h, entry);
+            int type = le ? le16(h, entry + 2) : be16(h, entry + 2);
+            int count = le ? le32(h, entry + 4) : be32(h, entry + 4);
+            int value = type == 3
+                ? (le ? le16(h, entry + 8) : be16(h, entry + 8))
+                : (le ? le32(h, entry + 8) : be32(h, entry + 8));
+            switch (tag) {
+                case TIFF_WIDTH -> tags.width = value;
+                case TIFF_HEIGHT -> tags.height = value;
+                case TIFF_ORIENTATION -> tags.orientation = value >= 1 && value <= 8 ? value : 0;
+                case TIFF_DNG_VERSION -> tags.dngVersion = true;
+                case TIFF_MAKE -> {
+                    int start = count <= 4 ? entry + 8 : base + value;
+                    if (type == 2 && count > 0 && start >= 0 && start + count <= h.length) {
+                        tags.make = new String(h, start, count, StandardCharsets.ISO_8859_1).trim();
+                    }
+                }
+                default -> { }
+            }
+        }
+        return tags;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static boolean startsWith(byte[] h, int offset, byte[] prefix) {
+        if (h.length < offset + prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (h[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(byte[] h, byte[] needle) {
+        outer:
+        for (int i = 0; i + needle.length <= h.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (h[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static int u8(byte[] h, int p) {
+        return h[p] & 0xFF;
+    }
+
+    private static int le16(byte[] h, int p) {
+        return u8(h, p) | (u8(h, p + 1) << 8);
+    }
+
+    private static int le24(byte[] h, int p) {
+        return le16(h, p) | (u8(h, p + 2) << 16);
+    }
+
+    private static int le32(byte[] h, int p) {
+        return le16(h, p) | (le16(h, p + 2) << 16);
+    }
+
+    private static int be16(byte[] h, int p) {
+        return (u8(h, p) << 8) | u8(h, p + 1);
+    }
+
+    private static int be32(byte[] h, int p) {
+        return (be16(h, p) << 16) | be16(h, p + 2);
+    }
+}
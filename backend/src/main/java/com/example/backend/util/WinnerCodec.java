@@ -0,0 +1,156 @@
+package com.example.backend.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+import com.example.backend.dto.ArchiveList;
+import com.example.backend.dto.ArchiveWeek;
+import com.example.backend.dto.ImageSummaryDto;
+import com.example.backend.dto.WeeklyWinnerDto;
+import com.example.backend.dto.WinnerList;
+import com.example.backend.entity.ImageType;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+
+/**
+ * Compact binary encodings of winner listings (see src/main/proto/winners.proto): dates as
+ * epoch days, types as ordinals, and no field names. Protobuf uses the field numbers of the
+ * .proto file; CBOR writes each message as an array of its fields in field-number order,
+ * with null for absent values.
+ */
+public final class WinnerCodec {
+
+    // The response stream belongs to the container; closing the generator only flushes it
+    private static final CBORFactory CBOR = CBORFactory.builder()
+        .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+        .build();
+
+    private WinnerCodec() {}
+
+    public static void writeCbor(WinnerList list, OutputStream out) throws IOException {
+        try (CBORGenerator gen = CBOR.createGenerator(out)) {
+            gen.writeStartArray(list, list.winners().size());
+            for (WeeklyWinnerDto winner : list.winners()) {
+                gen.writeStartArray(winner, 4);
+                gen.writeNumber(winner.getId() != null ? winner.getId() : 0L);
+                gen.writeNumber(epochDay(winner.getSundayDate()));
+                gen.writeNumber(ordinal(winner.getType()));
+                ImageSummaryDto image = winner.getImage();
+                if (image == null) {
+                    gen.writeNull();
+                } else {
+                    gen.writeStartArray(image, 6);
+                    gen.writeNumber(image.getId() != null ? image.getId() : 0L);
+                    gen.writeString(image.getTitle());
+                    writeNullable(gen, image.getWidth());
+                    writeNullable(gen, image.getHeight());
+                    gen.writeString(image.getPlaceholder());
+                    gen.writeString(image.getUrl());
+                    gen.writeEndArray();
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    public static void writeCbor(ArchiveList list, OutputStream out) throws IOException {
+        try (CBORGenerator gen = CBOR.createGenerator(out)) {
+            gen.writeStartArray(list, list.weeks().size());
+            for (ArchiveWeek week : list.weeks()) {
+                gen.writeStartArray(week, 2);
+                gen.writeNumber(epochDay(week.sundayDate()));
+                gen.writeNumber(typeMask(week));
+                gen.writeEndArray();
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    public static byte[] toProtobuf(WinnerList list) {
+        ProtoWriter out = new ProtoWriter(list.winners().size() * 96);
+        ProtoWriter winner = new ProtoWriter(128);
+        ProtoWriter image = new ProtoWriter(96);
+        for (WeeklyWinnerDto dto : list.winners()) {
+            winner.reset()
+                .int64(1, dto.getId() != null ? dto.getId() : 0L)
+                .sint32(2, epochDay(dto.getSundayDate()))
+                .int32(3, ordinal(dto.getType()));
+            ImageSummaryDto summary = dto.getImage();
+            if (summary != null) {
+                image.reset()
+                    .int64(1, summary.getId() != null ? summary.getId() : 0L)
+                    .string(2, summary.getTitle())
+                    .int32(3, summary.getWidth() != null ? summary.getWidth() : 0)
+                    .int32(4, summary.getHeight() != null ? summary.getHeight() : 0)
+                    .string(5, summary.getPlaceholder())
+                    .string(6, summary.getUrl());
+                winner.message(4, image);
+            }
+            out.message(1, winner);
+        }
+        return out.toByteArray();
+    }
+
+    public static byte[] toProtobuf(ArchiveList list) {
+        ProtoWriter out = new ProtoWriter(list.weeks().size() * 8);
+        ProtoWriter week = new ProtoWriter(16);
+        for (ArchiveWeek row : list.weeks()) {
+            week.reset()
+                .sint32(1, epochDay(row.sundayDate()))
+                .int32(2, typeMask(row));
+            out.message(1, week);
+        }
+        return out.toByteArray();
+    }
+
+    // Dates in the DTOs are always yyyy-MM-dd; reading the digits directly skips the
+    // formatter, which otherwise costs more than encoding the rest of the row
+    private static int epochDay(String isoDate) {
+        if (isoDate == null) {
+            return 0;
+        }
+        int year = digits(isoDate, 0, 4);
+        int month = digits(isoDate, 5, 7);
+        int day = digits(isoDate, 8, 10);
+        if (isoDate.length() != 10 || isoDate.charAt(4) != '-' || isoDate.charAt(7) != '-'
+                || year < 0 || month < 0 || day < 0) {
+            return (int) LocalDate.parse(isoDate).toEpochDay();
+        }
+        return (int) LocalDate.of(year, month, day).toEpochDay();
+    }
+
+    private static int digits(String s, int from, int to) {
+        if (s.length() < to) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int ordinal(ImageType type) {
+        return type != null ? type.ordinal() : 0;
+    }
+
+    private static int typeMask(ArchiveWeek week) {
+        return (week.overall() ? 1 << ImageType.OVERALL.ordinal() : 0)
+            | (week.raul() ? 1 << ImageType.RAUL.ordinal() : 0);
+    }
+
+    private static void writeNullable(CBORGenerator gen, Integer value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.backend.benchmark;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import com.example.backend.dto.WinnerSavedResponse;
+import com.example.backend.util.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Building and serializing API responses: the former HashMap responses against the typed
+ * records and the pre-serialized rejections. Run with -prof gc to compare allocation per
+ * operation (gc.alloc.rate.norm):
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="ResponseSerialization -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private final List<Long> jobIds = List.of(101L, 102L, 103L);
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper();
+    }
+
+    @Benchmark
+    public byte[] winnerSavedAsMap() throws Exception {
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Weekly winner updated successfully");
+        response.put("winnerId", 42L);
+        response.put("imageId", 4242L);
+        response.put("sundayDate", "2024-06-02");
+        response.put("type", "OVERALL");
+        response.put("action", "updated");
+        response.put("jobIds", jobIds);
+        response.put("success", true);
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] winnerSavedAsRecord() throws Exception {
+        return objectMapper.writeValueAsBytes(new WinnerSavedResponse(true, "Weekly winner updated successfully",
+            42L, 4242L, "2024-06-02", "OVERALL", "updated", jobIds));
+    }
+
+    @Benchmark
+    public byte[] unauthorizedAsMap() throws Exception {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", "Unauthorized");
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> unauthorizedCached() {
+        return ApiResponse.unauthorized();
+    }
+}
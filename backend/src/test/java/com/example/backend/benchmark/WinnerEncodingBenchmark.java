@@ -0,0 +1,108 @@
+package com.example.backend.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.backend.dto.ArchiveList;
+import com.example.backend.dto.ArchiveWeek;
+import com.example.backend.dto.ImageSummaryDto;
+import com.example.backend.dto.WeeklyWinnerDto;
+import com.example.backend.dto.WinnerList;
+import com.example.backend.entity.ImageType;
+import com.example.backend.util.WinnerCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Encoding a full winner listing (five years, both types) and a year of archive as JSON,
+ * CBOR and protobuf. Payload sizes are printed at setup:
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="WinnerEncoding -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WinnerEncodingBenchmark {
+
+    private static final String PLACEHOLDER = "LEHV6nWB2yk8pyo0adR*.7kCMdnj";
+
+    private ObjectMapper objectMapper;
+    private WinnerList winners;
+    private ArchiveList archive;
+
+    @Setup
+    public void setup() throws Exception {
+        objectMapper = new ObjectMapper();
+        LocalDate sunday = LocalDate.of(2024, 6, 2);
+        List<WeeklyWinnerDto> rows = new ArrayList<>();
+        long id = 1;
+        for (int week = 0; week < 260; week++) {
+            String date = sunday.minusWeeks(week).toString();
+            for (ImageType type : ImageType.values()) {
+                long imageId = 10_000 + id;
+                rows.add(new WeeklyWinnerDto(id++, date, type, new ImageSummaryDto(imageId,
+                    "Winner photo " + imageId + ".jpg", 4032, 3024, PLACEHOLDER,
+                    "/api/images/" + imageId + "?v=" + (imageId * 3) + "&exp=1717300800&sig=Qm9ndXNTaWduYXR1cmUx")));
+            }
+        }
+        winners = new WinnerList(rows);
+        List<ArchiveWeek> weeks = new ArrayList<>();
+        for (int week = 0; week < 52; week++) {
+            weeks.add(new ArchiveWeek(sunday.minusWeeks(week).toString(), true, week % 3 != 0));
+        }
+        archive = new ArchiveList(weeks);
+
+        System.out.printf("%nwinners: json=%d cbor=%d protobuf=%d bytes; archive: json=%d cbor=%d protobuf=%d bytes%n",
+            winnersJson().length, winnersCbor().length, winnersProtobuf().length,
+            archiveJson().length, archiveCbor().length, archiveProtobuf().length);
+    }
+
+    @Benchmark
+    public byte[] winnersJson() throws Exception {
+        return objectMapper.writeValueAsBytes(winners);
+    }
+
+    @Benchmark
+    public byte[] winnersCbor() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        WinnerCodec.writeCbor(winners, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] winnersProtobuf() {
+        return WinnerCodec.toProtobuf(winners);
+    }
+
+    @Benchmark
+    public byte[] archiveJson() throws Exception {
+        return objectMapper.writeValueAsBytes(archive);
+    }
+
+    @Benchmark
+    public byte[] archiveCbor() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        WinnerCodec.writeCbor(archive, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] archiveProtobuf() {
+        return WinnerCodec.toProtobuf(archive);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.backend.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Collects request latencies and outcomes per endpoint name. Samples are kept in full;
+ * a one-minute run at a few thousand requests per second fits easily in memory.
+ */
+class LatencyRecorder {
+
+    private final Map<String, Series> series = new TreeMap<>();
+
+    synchronized void record(String endpoint, long nanos, int status) {
+        series.computeIfAbsent(endpoint, e -> new Series()).add(nanos, status);
+    }
+
+    synchronized void recordFailure(String endpoint, long nanos) {
+        series.computeIfAbsent(endpoint, e -> new Series()).add(nanos, -1);
+    }
+
+    /**
+     * Per-endpoint summary: count, throughput, error rate and latency percentiles in ms
+     */
+    synchronized Map<String, Map<String, Object>> summarize(double durationSeconds) {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        series.forEach((endpoint, s) -> result.put(endpoint, s.summarize(durationSeconds)));
+        return result;
+    }
+
+    private static class Series {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private final Map<String, Integer> statuses = new TreeMap<>();
+
+        void add(long nanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (status < 200 || status >= 400) {
+                errors++;
+            }
+            statuses.merge(status < 0 ? "io-error" : Integer.toString(status), 1, Integer::sum);
+        }
+
+        Map<String, Object> summarize(double durationSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", count);
+            summary.put("throughputPerSecond", round(count / durationSeconds));
+            summary.put("errorRate", count == 0 ? 0.0 : round((double) errors / count));
+            summary.put("p50Ms", percentile(sorted, 0.50));
+            summary.put("p95Ms", percentile(sorted, 0.95));
+            summary.put("p99Ms", percentile(sorted, 0.99));
+            summary.put("maxMs", count == 0 ? 0.0 : round(sorted[count - 1] / 1e6));
+            summary.put("statuses", statuses);
+            return summary;
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return round(sorted[Math.max(0, index)] / 1e6);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.backend.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Reproduces Sunday-evening traffic against a locally running backend: every visitor opens
+ * the home page (/current and /archive), then loads one image per winner card, while an
+ * admin uploads a large file. Results are printed and written as JSON to target/loadtest
+ * so runs can be compared across versions.
+ *
+ * Run with: mvn -Ploadtest test-compile exec:java -Dloadtest.users=100 -Dloadtest.seed=true
+ * Only point it at a disposable database: seeding and uploads write real winners.
+ */
+public class LoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static final List<String> SERVER_METRICS = List.of(
+        "http.server.requests",
+        "hikaricp.connections.active",
+        "hikaricp.connections.pending",
+        "hikaricp.connections.acquire",
+        "bulkhead.wait",
+        "bulkhead.rejected",
+        "ratelimit.rejected",
+        "winners.cache.requests",
+        "jobs.stage.duration",
+        "jvm.memory.used",
+        "process.cpu.usage");
+
+    private final String baseUrl = setting("base.url", "http://localhost:8080");
+    private final int users = Integer.parseInt(setting("users", "50"));
+    private final int durationSeconds = Integer.parseInt(setting("duration.seconds", "60"));
+    private final int thinkMs = Integer.parseInt(setting("think.ms", "500"));
+    private final int seedWeeks = Integer.parseInt(setting("weeks", "52"));
+    private final boolean seed = Boolean.parseBoolean(setting("seed", "false"));
+    private final int uploadMb = Integer.parseInt(setting("upload.mb", "50"));
+    private final int uploadIntervalSeconds = Integer.parseInt(setting("upload.interval.seconds", "0"));
+    private final String friendPassword = setting("friend.password", "");
+    private final String adminPassword = setting("admin.password", "");
+    private final String label = setting("label", "dev");
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    // Browsers load the winner cards' images in parallel
+    private final ExecutorService imageLoaders = Executors.newCachedThreadPool();
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest().run();
+        // Seeding leaves non-daemon threads behind
+        System.exit(0);
+    }
+
+    /**
+     * Read loadtest.x from system properties, falling back to LOADTEST_X in the environment
+     */
+    private static String setting(String name, String defaultValue) {
+        String value = System.getProperty("loadtest." + name);
+        if (value == null) {
+            value = System.getenv("LOADTEST_" + name.replace('.', '_').toUpperCase());
+        }
+        return value != null ? value : defaultValue;
+    }
+
+    private void run() throws Exception {
+        if (seed) {
+            System.out.println("Seeding " + seedWeeks + " weeks of winners...");
+            System.out.println("Created " + Seeder.seed(seedWeeks) + " winners");
+        }
+
+        List<String> friendTokens = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            // One token per visitor, as in the browser; also gives each its own rate limit bucket
+            friendTokens.add(login("friend", friendPassword));
+        }
+        String adminToken = uploadMb > 0 ? login("admin", adminPassword) : null;
+        byte[] upload = uploadMb > 0 ? SyntheticImages.noise(System.nanoTime(), uploadMb * 1024L * 1024L) : null;
+
+        Map<String, Object> metricsBefore = serverMetrics();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        ExecutorService pool = Executors.newFixedThreadPool(users + 1);
+        List<CompletableFuture<Void>> visitors = new ArrayList<>();
+        for (String token : friendTokens) {
+            visitors.add(CompletableFuture.runAsync(() -> visitor(token, deadline), pool));
+        }
+        if (adminToken != null) {
+            visitors.add(CompletableFuture.runAsync(() -> uploader(adminToken, upload, start, deadline), pool));
+        }
+        CompletableFuture.allOf(visitors.toArray(new CompletableFuture[0])).join();
+        pool.shutdown();
+        imageLoaders.shutdown();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", "sunday-evening");
+        report.put("label", label);
+        report.put("startedAt", LocalDateTime.now().minusSeconds((long) elapsedSeconds).toString());
+        report.put("config", Map.of(
+            "baseUrl", baseUrl, "users", users, "durationSeconds", durationSeconds,
+            "thinkMs", thinkMs, "uploadMb", uploadMb, "uploadIntervalSeconds", uploadIntervalSeconds));
+        report.put("elapsedSeconds", Math.round(elapsedSeconds * 100) / 100.0);
+        report.put("endpoints", recorder.summarize(elapsedSeconds));
+        report.put("serverMetricsBefore", metricsBefore);
+        report.put("serverMetricsAfter", serverMetrics());
+
+        Path out = Path.of("target", "loadtest",
+            "sunday-evening-" + label + "-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        Files.createDirectories(out.getParent());
+        MAPPER.writeValue(out.toFile(), report);
+        printSummary(report);
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    /**
+     * One visitor: open the home page, load every winner image, think, repeat
+     */
+    private void visitor(String token, long deadline) {
+        LocalDate today = LocalDate.now();
+        String archive = "/api/weekly-winners/archive?start=" + today.minusYears(1) + "&end=" + today;
+        while (System.nanoTime() < deadline) {
+            HttpResponse<byte[]> current = get("GET /current", "/api/weekly-winners/current", token);
+            get("GET /archive", archive, token);
+
+            List<CompletableFuture<?>> images = new ArrayList<>();
+            for (Long imageId : imageIds(current)) {
+                images.add(CompletableFuture.runAsync(() ->
+                    get("GET /images/{id}", "/api/images/" + imageId, token), imageLoaders));
+            }
+            CompletableFuture.allOf(images.toArray(new CompletableFuture[0])).join();
+            sleep(thinkMs > 0 ? ThreadLocalRandom.current().nextInt(thinkMs / 2, thinkMs * 3 / 2 + 1) : 0);
+        }
+    }
+
+    /**
+     * The admin replaces the oldest seeded winner with a large upload, once or repeatedly
+     */
+    private void uploader(String token, byte[] upload, long start, long deadline) {
+        sleep(TimeUnit.NANOSECONDS.toMillis(deadline - start) / 4);
+        LocalDate sunday = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY))
+            .minusWeeks(Math.max(0, seedWeeks - 1));
+        do {
+            String boundary = "loadtest-" + UUID.randomUUID();
+            byte[] body = multipart(boundary, sunday, upload);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/weekly-winners/update"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .timeout(Duration.ofMinutes(5))
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+            send("PUT /update (" + uploadMb + "MB)", request, HttpResponse.BodyHandlers.discarding());
+            sleep(TimeUnit.SECONDS.toMillis(uploadIntervalSeconds));
+        } while (uploadIntervalSeconds > 0 && System.nanoTime() < deadline);
+    }
+
+    private HttpResponse<byte[]> get(String endpoint, String path, String token) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Authorization", "Bearer " + token)
+            .timeout(Duration.ofSeconds(60))
+            .GET()
+            .build();
+        return send(endpoint, request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private <T> HttpResponse<T> send(String endpoint, HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<T> response = client.send(request, handler);
+            recorder.record(endpoint, System.nanoTime() - start, response.statusCode());
+            return response;
+        } catch (IOException e) {
+            recorder.recordFailure(endpoint, System.nanoTime() - start);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private List<Long> imageIds(HttpResponse<byte[]> current) {
+        List<Long> ids = new ArrayList<>();
+        if (current == null || current.statusCode() != 200) {
+            return ids;
+        }
+        try {
+            List<Map<String, Object>> winners = MAPPER.readValue(current.body(), new TypeReference<>() {});
+            for (Map<String, Object> winner : winners) {
+                Object image = winner.get("image");
+                if (image instanceof Map<?, ?> map && map.get("id") instanceof Number id) {
+                    ids.add(id.longValue());
+                }
+            }
+        } catch (IOException e) {
+            // Counted as a successful /current; nothing to load
+        }
+        return ids;
+    }
+
+    private String login(String username, String password) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(
+                MAPPER.writeValueAsString(Map.of("username", username, "password", password))))
+            .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + username + " failed (" + response.statusCode()
+                + "); set loadtest." + username + ".password");
+        }
+        return (String) MAPPER.readValue(response.body(), Map.class).get("token");
+    }
+
+    /**
+     * Snapshot of the backend's own meters; meters that do not exist yet are left out
+     */
+    private Map<String, Object> serverMetrics() throws InterruptedException {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        for (String name : SERVER_METRICS) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + name)).GET().build();
+            try {
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                if (response.statusCode() == 200) {
+                    metrics.put(name, MAPPER.readValue(response.body(), Map.class).get("measurements"));
+                }
+            } catch (IOException e) {
+                metrics.put(name, "unavailable: " + e.getMessage());
+            }
+        }
+        return metrics;
+    }
+
+    private static byte[] multipart(String boundary, LocalDate sunday, byte[] file) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(file.length + 1024);
+        field(body, boundary, "sundayDate", sunday.toString());
+        field(body, boundary, "type", "OVERALL");
+        field(body, boundary, "title", "Load test upload " + sunday);
+        write(body, "--" + boundary + "\r\n"
+            + "Content-Disposition: form-data; name=\"image\"; filename=\"loadtest.png\"\r\n"
+            + "Content-Type: image/png\r\n\r\n");
+        body.writeBytes(file);
+        write(body, "\r\n--" + boundary + "--\r\n");
+        return body.toByteArray();
+    }
+
+    private static void field(ByteArrayOutputStream body, String boundary, String name, String value) {
+        write(body, "--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" + value + "\r\n");
+    }
+
+    private static void write(ByteArrayOutputStream body, String text) {
+        body.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printSummary(Map<String, Object> report) {
+        System.out.printf("%n%-26s %9s %9s %8s %9s %9s %9s%n", "endpoint", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms");
+        Map<String, Map<String, Object>> endpoints = (Map<String, Map<String, Object>>) report.get("endpoints");
+        endpoints.forEach((endpoint, s) -> System.out.printf("%-26s %9s %9s %7.1f%% %9s %9s %9s%n",
+            endpoint, s.get("requests"), s.get("throughputPerSecond"), ((Number) s.get("errorRate")).doubleValue() * 100,
+            s.get("p50Ms"), s.get("p95Ms"), s.get("p99Ms")));
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
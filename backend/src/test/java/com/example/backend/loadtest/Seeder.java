@@ -0,0 +1,51 @@
+package com.example.backend.loadtest;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.example.backend.BackendApplication;
+import com.example.backend.entity.ImageType;
+import com.example.backend.service.WeeklyWinnerService;
+
+/**
+ * Seeds synthetic winners through WeeklyWinnerService against the database in .env, so the
+ * data goes through the same dedup, analysis and job paths as real uploads. Runs without
+ * a web server; a backend running alongside picks up the changes via the change bus.
+ */
+class Seeder {
+
+    private Seeder() {}
+
+    /**
+     * Make sure the last {@code weeks} Sundays have a winner of every type
+     */
+    static int seed(int weeks) throws Exception {
+        int created = 0;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false", "WARMUP_ENABLED=false")
+                .run()) {
+            WeeklyWinnerService service = context.getBean(WeeklyWinnerService.class);
+            LocalDate sunday = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY));
+            for (int week = 0; week < weeks; week++, sunday = sunday.minusWeeks(1)) {
+                for (ImageType type : ImageType.values()) {
+                    if (service.wasExistingWinner(sunday, type)) {
+                        continue;
+                    }
+                    long seed = sunday.toEpochDay() * 31 + type.ordinal();
+                    MockMultipartFile file = new MockMultipartFile("image", "loadtest-" + sunday + "-" + type + ".png",
+                        "image/png", SyntheticImages.poster(seed, 1200, 800));
+                    service.createWeeklyWinner(sunday, type, file, "Load test " + type + " " + sunday);
+                    created++;
+                }
+            }
+        }
+        return created;
+    }
+}
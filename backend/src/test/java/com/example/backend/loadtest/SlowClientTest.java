@@ -0,0 +1,360 @@
+package com.example.backend.loadtest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Many clients downloading one image very slowly (mobile visitors on a bad connection) while
+ * a probe keeps loading /current. Before image bodies were written asynchronously each slow
+ * download held a request thread, a pooled connection and a bulkhead permit until the last
+ * byte was read; now the probe's latency and the server's busy threads and active
+ * connections should stay flat however many slow readers there are.
+ *
+ * The slow clients are raw non-blocking sockets with a small receive buffer, all driven by
+ * one thread, so a thousand of them are cheap on the load generator side. Each reads a few KB
+ * per tick and re-requests the image on the same keep-alive connection once it has it all.
+ *
+ * Run against a backend started with RATE_LIMIT_ENABLED=false (every slow client shares one
+ * token) and a large BULKHEAD_BLOB_QUEUE. On loopback the kernel send buffer grows to
+ * net.ipv4.tcp_wmem's maximum (4 MB by default), which swallows a whole image and hides a
+ * blocking write; cap it (e.g. "4096 16384 65536") to get a slow link's behaviour:
+ *   mvn -Ploadtest test-compile exec:java -Dloadtest.main=com.example.backend.loadtest.SlowClientTest \
+ *       -Dloadtest.clients=1000 -Dloadtest.friend.password=...
+ */
+public class SlowClientTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static final List<String> SERVER_METRICS = List.of(
+        "http.server.requests",
+        "hikaricp.connections.active",
+        "hikaricp.connections.pending",
+        "bulkhead.rejected",
+        "tomcat.threads.busy",
+        "tomcat.connections.current",
+        "jvm.threads.live",
+        "jvm.memory.used");
+
+    private final String baseUrl = setting("base.url", "http://localhost:8080");
+    private final int clients = Integer.parseInt(setting("clients", "1000"));
+    private final int durationSeconds = Integer.parseInt(setting("duration.seconds", "60"));
+    private final int baselineSeconds = Integer.parseInt(setting("baseline.seconds", "10"));
+    private final int bytesPerTick = Integer.parseInt(setting("slow.bytes.per.tick", "2048"));
+    private final int tickMs = Integer.parseInt(setting("slow.tick.ms", "100"));
+    private final int receiveBuffer = Integer.parseInt(setting("slow.receive.buffer", "4096"));
+    private final int probeThinkMs = Integer.parseInt(setting("probe.think.ms", "50"));
+    private final String imageIdSetting = setting("image.id", "");
+    private final String friendPassword = setting("friend.password", "");
+    private final String label = setting("label", "dev");
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    private long slowBytes;
+    private int slowConnectFailures;
+
+    public static void main(String[] args) throws Exception {
+        new SlowClientTest().run();
+        System.exit(0);
+    }
+
+    /**
+     * Read loadtest.x from system properties, falling back to LOADTEST_X in the environment
+     */
+    private static String setting(String name, String defaultValue) {
+        String value = System.getProperty("loadtest." + name);
+        if (value == null) {
+            value = System.getenv("LOADTEST_" + name.replace('.', '_').toUpperCase(Locale.ROOT));
+        }
+        return value != null ? value : defaultValue;
+    }
+
+    private void run() throws Exception {
+        String token = login("friend", friendPassword);
+        long imageId = imageIdSetting.isEmpty() ? firstCurrentImageId(token) : Long.parseLong(imageIdSetting);
+
+        // Probe alone first, for a baseline to compare against
+        Map<String, Object> metricsBefore = serverMetrics();
+        probe("GET /current (baseline)", token, System.nanoTime() + TimeUnit.SECONDS.toNanos(baselineSeconds));
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+        Thread slow = new Thread(() -> slowClients(token, imageId, deadline), "slow-clients");
+        slow.start();
+        Thread probe = new Thread(() -> probe("GET /current (slow clients)", token, deadline), "probe");
+        probe.start();
+
+        // Mid-run snapshot, while every slow download is in flight
+        Thread.sleep(TimeUnit.SECONDS.toMillis(durationSeconds) / 2);
+        Map<String, Object> metricsDuring = serverMetrics();
+        probe.join();
+        slow.join();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", "slow-clients");
+        report.put("label", label);
+        report.put("startedAt", LocalDateTime.now().minusSeconds((long) elapsedSeconds).toString());
+        report.put("config", Map.of(
+            "baseUrl", baseUrl, "clients", clients, "durationSeconds", durationSeconds,
+            "baselineSeconds", baselineSeconds, "imageId", imageId, "bytesPerTick", bytesPerTick,
+            "tickMs", tickMs, "receiveBuffer", receiveBuffer));
+        report.put("elapsedSeconds", Math.round(elapsedSeconds * 100) / 100.0);
+        report.put("slowBytesRead", slowBytes);
+        report.put("slowConnectFailures", slowConnectFailures);
+        report.put("endpoints", recorder.summarize(elapsedSeconds));
+        report.put("serverMetricsBefore", metricsBefore);
+        report.put("serverMetricsDuring", metricsDuring);
+        report.put("serverMetricsAfter", serverMetrics());
+
+        Path out = Path.of("target", "loadtest",
+            "slow-clients-" + label + "-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        Files.createDirectories(out.getParent());
+        MAPPER.writeValue(out.toFile(), report);
+        System.out.println(MAPPER.writeValueAsString(report.get("endpoints")));
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    private void probe(String endpoint, String token, long deadline) {
+        while (System.nanoTime() < deadline) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/weekly-winners/current"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                recorder.record(endpoint, System.nanoTime() - start, response.statusCode());
+            } catch (IOException e) {
+                recorder.recordFailure(endpoint, System.nanoTime() - start);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            sleep(probeThinkMs);
+        }
+    }
+
+    /**
+     * Drive every slow connection from this one thread: read a little from each per tick
+     */
+    private void slowClients(String token, long imageId, long deadline) {
+        URI uri = URI.create(baseUrl);
+        InetSocketAddress address = new InetSocketAddress(uri.getHost(), uri.getPort() > 0 ? uri.getPort() : 80);
+        byte[] request = ("GET /api/images/" + imageId + " HTTP/1.1\r\n"
+            + "Host: " + uri.getHost() + "\r\n"
+            + "Authorization: Bearer " + token + "\r\n"
+            + "Connection: keep-alive\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+
+        List<SlowConnection> connections = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            SlowConnection connection = new SlowConnection(address, request);
+            if (connection.open()) {
+                connections.add(connection);
+            }
+        }
+        System.out.println(connections.size() + " slow clients connected");
+
+        ByteBuffer buffer = ByteBuffer.allocate(bytesPerTick);
+        while (System.nanoTime() < deadline) {
+            long tickStart = System.nanoTime();
+            for (SlowConnection connection : connections) {
+                buffer.clear();
+                connection.tick(buffer);
+            }
+            sleep(tickMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - tickStart));
+        }
+        connections.forEach(SlowConnection::close);
+    }
+
+    /**
+     * One keep-alive connection repeatedly fetching the image
+     */
+    private class SlowConnection {
+        private static final String ENDPOINT = "GET /images/{id} (slow)";
+
+        private final InetSocketAddress address;
+        private final byte[] request;
+        private SocketChannel channel;
+        private final StringBuilder head = new StringBuilder();
+        private int status;
+        private long remaining = -1;
+        private long started;
+
+        SlowConnection(InetSocketAddress address, byte[] request) {
+            this.address = address;
+            this.request = request;
+        }
+
+        boolean open() {
+            try {
+                channel = SocketChannel.open();
+                channel.setOption(StandardSocketOptions.SO_RCVBUF, receiveBuffer);
+                channel.connect(address);
+                channel.configureBlocking(false);
+                send();
+                return true;
+            } catch (IOException e) {
+                slowConnectFailures++;
+                close();
+                return false;
+            }
+        }
+
+        private void send() throws IOException {
+            ByteBuffer out = ByteBuffer.wrap(request);
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            head.setLength(0);
+            remaining = -1;
+            started = System.nanoTime();
+        }
+
+        void tick(ByteBuffer buffer) {
+            if (channel == null && !open()) {
+                return;
+            }
+            try {
+                int n = channel.read(buffer);
+                if (n < 0) {
+                    recorder.recordFailure(ENDPOINT, System.nanoTime() - started);
+                    close();
+                    return;
+                }
+                slowBytes += n;
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    if (remaining < 0) {
+                        head.append((char) (buffer.get() & 0xFF));
+                        if (head.length() >= 4 && head.lastIndexOf("\r\n\r\n") == head.length() - 4) {
+                            parseHead();
+                        }
+                    } else {
+                        int skip = (int) Math.min(remaining, buffer.remaining());
+                        buffer.position(buffer.position() + skip);
+                        remaining -= skip;
+                    }
+                    if (remaining == 0) {
+                        recorder.record(ENDPOINT, System.nanoTime() - started, status);
+                        send();
+                    }
+                }
+            } catch (IOException e) {
+                recorder.recordFailure(ENDPOINT, System.nanoTime() - started);
+                close();
+            }
+        }
+
+        private void parseHead() throws IOException {
+            String[] lines = head.toString().split("\r\n");
+            status = Integer.parseInt(lines[0].split(" ")[1]);
+            for (String line : lines) {
+                if (line.toLowerCase(Locale.ROOT).startsWith("content-length:")) {
+                    remaining = Long.parseLong(line.substring(15).trim());
+                }
+            }
+            if (remaining < 0) {
+                // No length (chunked or closing); not expected for images, start over
+                throw new IOException("Response without Content-Length");
+            }
+        }
+
+        void close() {
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                // Already gone
+            }
+            channel = null;
+        }
+    }
+
+    private long firstCurrentImageId(String token) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/weekly-winners/current"))
+            .header("Authorization", "Bearer " + token)
+            .GET()
+            .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        List<Map<String, Object>> winners = MAPPER.readValue(response.body(), new TypeReference<>() {});
+        for (Map<String, Object> winner : winners) {
+            if (winner.get("image") instanceof Map<?, ?> image && image.get("id") instanceof Number id) {
+                return id.longValue();
+            }
+        }
+        throw new IllegalStateException("No current winner image; seed with LoadTest or set loadtest.image.id");
+    }
+
+    private String login(String username, String password) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(
+                MAPPER.writeValueAsString(Map.of("username", username, "password", password))))
+            .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + username + " failed (" + response.statusCode()
+                + "); set loadtest." + username + ".password");
+        }
+        return (String) MAPPER.readValue(response.body(), Map.class).get("token");
+    }
+
+    /**
+     * Snapshot of the backend's own meters; meters that do not exist are left out
+     */
+    private Map<String, Object> serverMetrics() throws InterruptedException {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        for (String name : SERVER_METRICS) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + name)).GET().build();
+            try {
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                if (response.statusCode() == 200) {
+                    metrics.put(name, MAPPER.readValue(response.body(), Map.class).get("measurements"));
+                }
+            } catch (IOException e) {
+                metrics.put(name, "unavailable: " + e.getMessage());
+            }
+        }
+        return metrics;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.backend.loadtest;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Generates distinct PNGs so seeded images are not collapsed by content deduplication
+ */
+final class SyntheticImages {
+
+    private SyntheticImages() {}
+
+    /**
+     * A small gradient image with a seed-dependent pattern, a few hundred KB at most
+     */
+    static byte[] poster(long seed, int width, int height) throws IOException {
+        Random random = new Random(seed);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setPaint(new java.awt.GradientPaint(0, 0, randomColor(random), width, height, randomColor(random)));
+            g.fillRect(0, 0, width, height);
+            for (int i = 0; i < 40; i++) {
+                g.setColor(randomColor(random));
+                g.fillOval(random.nextInt(width), random.nextInt(height), 20 + random.nextInt(width / 4), 20 + random.nextInt(height / 4));
+            }
+        } finally {
+            g.dispose();
+        }
+        return encode(image);
+    }
+
+    /**
+     * Incompressible noise PNG of roughly the requested size, for upload pressure
+     */
+    static byte[] noise(long seed, long targetBytes) throws IOException {
+        int side = (int) Math.max(16, Math.sqrt(targetBytes / 3.0));
+        Random random = new Random(seed);
+        BufferedImage image = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        return encode(image);
+    }
+
+    private static Color randomColor(Random random) {
+        return new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256));
+    }
+
+    private static byte[] encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
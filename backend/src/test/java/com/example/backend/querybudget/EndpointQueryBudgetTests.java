@@ -0,0 +1,216 @@
+package com.example.backend.querybudget;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.example.backend.entity.ImageType;
+import com.example.backend.entity.WeeklyWinner;
+import com.example.backend.repository.WeeklyWinnerRepository;
+import com.example.backend.service.AuthService;
+import com.example.backend.service.WeeklyWinnerService;
+import com.example.backend.service.WinnerCache;
+
+/**
+ * Upper bounds on the SQL each read endpoint issues, so an N+1 or a list endpoint that
+ * starts pulling image content fails the build. Seeds its own winners in 2001.
+ */
+@SpringBootTest(properties = "WARMUP_ENABLED=false")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Import(EndpointQueryBudgetTests.CountingDataSource.class)
+class EndpointQueryBudgetTests {
+
+    private static final LocalDate FIRST_SUNDAY = LocalDate.of(2001, 1, 7);
+    private static final int WEEKS = 12;
+    private static final int IMAGE_BYTES = 128 * 1024;
+    private static final String AUTH = "Bearer query-budget";
+
+    @TestConfiguration
+    static class CountingDataSource {
+        @Bean
+        static BeanPostProcessor countingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && "dataSource".equals(beanName)
+                        ? QueryCounter.wrap(dataSource)
+                        : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WeeklyWinnerService weeklyWinnerService;
+
+    @Autowired
+    private WeeklyWinnerRepository weeklyWinnerRepository;
+
+    @Autowired
+    private WinnerCache winnerCache;
+
+    @MockitoBean
+    private AuthService authService;
+
+    private final List<Long> imageIds = new ArrayList<>();
+
+    @BeforeAll
+    void seed() throws Exception {
+        Random random = new Random(42);
+        for (int week = 0; week < WEEKS; week++) {
+            LocalDate sunday = FIRST_SUNDAY.plusWeeks(week);
+            for (ImageType type : ImageType.values()) {
+                byte[] content = new byte[IMAGE_BYTES];
+                random.nextBytes(content);
+                WeeklyWinner winner = weeklyWinnerService.updateOrCreateWeeklyWinner(sunday, type,
+                    new MockMultipartFile("image", "budget.bin", "application/octet-stream", content), null);
+                imageIds.add(winner.getImage().getId());
+            }
+        }
+    }
+
+    @AfterAll
+    void cleanUp() {
+        for (int week = 0; week < WEEKS; week++) {
+            for (ImageType type : ImageType.values()) {
+                weeklyWinnerService.deleteWeeklyWinner(FIRST_SUNDAY.plusWeeks(week), type);
+            }
+        }
+    }
+
+    @BeforeEach
+    void authorize() {
+        when(authService.validate(any())).thenReturn(true);
+        when(authService.getRole(any())).thenReturn("FRIEND");
+    }
+
+    @Test
+    void allWinnersIsOneQueryWithoutContent() throws Exception {
+        long winners = weeklyWinnerRepository.count();
+        QueryCounter.Counts counts = measure(get("/api/weekly-winners/all"));
+        assertBudget(counts, 1, winners, 0);
+    }
+
+    @Test
+    void winnersByTypeIsOneQueryWithoutContent() throws Exception {
+        long winners = weeklyWinnerRepository.count();
+        QueryCounter.Counts counts = measure(get("/api/weekly-winners/by-type/RAUL"));
+        assertBudget(counts, 1, winners, 0);
+    }
+
+    @Test
+    void winnersForDateIsOneQueryWithoutContent() throws Exception {
+        QueryCounter.Counts counts = measure(get("/api/weekly-winners/by-date")
+            .param("sundayDate", FIRST_SUNDAY.toString()));
+        assertBudget(counts, 1, ImageType.values().length, 0);
+    }
+
+    @Test
+    void latestWinnersIsOneQueryWithoutContent() throws Exception {
+        QueryCounter.Counts counts = measure(get("/api/weekly-winners/latest"));
+        assertBudget(counts, 1, 2, 0);
+    }
+
+    @Test
+    void currentWinnersIsOneQueryWithoutContent() throws Exception {
+        QueryCounter.Counts counts = measure(get("/api/weekly-winners/current"));
+        assertBudget(counts, 1, ImageType.values().length, 0);
+    }
+
+    @Test
+    void archiveIsOneQueryWithoutContent() throws Exception {
+        long winners = weeklyWinnerRepository.count();
+        QueryCounter.Counts counts = measure(get("/api/weekly-winners/archive")
+            .param("start", FIRST_SUNDAY.toString())
+            .param("end", FIRST_SUNDAY.plusWeeks(WEEKS).toString()));
+        assertBudget(counts, 1, winners, 0);
+    }
+
+    @Test
+    void statsReadOnlyTheSummaryOnceWarm() throws Exception {
+        measure(get("/api/weekly-winners/stats"));
+        QueryCounter.Counts counts = measure(get("/api/weekly-winners/stats"));
+        long summaryRows = weeklyWinnerRepository.count();
+        assertBudget(counts, 1, summaryRows, 0);
+    }
+
+    @Test
+    void warmSearchDoesNotQuery() throws Exception {
+        measure(get("/api/weekly-winners/search").param("q", "winner"));
+        QueryCounter.Counts counts = measure(get("/api/weekly-winners/search").param("q", "winer"));
+        assertBudget(counts, 0, 0, 0);
+    }
+
+    @Test
+    void cachedListingDoesNotQuery() throws Exception {
+        winnerCache.onResync();
+        mockMvc.perform(get("/api/weekly-winners/all").header("Authorization", AUTH)).andExpect(status().isOk());
+        QueryCounter.start();
+        mockMvc.perform(get("/api/weekly-winners/all").header("Authorization", AUTH)).andExpect(status().isOk());
+        assertEquals(0, QueryCounter.stop().getStatements());
+    }
+
+    @Test
+    void imageReadsExactlyOneBlob() throws Exception {
+        QueryCounter.Counts counts = measure(get("/api/images/" + imageIds.get(0)));
+        assertBudget(counts, 2, 2, IMAGE_BYTES);
+    }
+
+    @Test
+    void imageDownloadReadsExactlyOneBlob() throws Exception {
+        QueryCounter.Counts counts = measure(get("/api/images/" + imageIds.get(0) + "/download"));
+        assertBudget(counts, 2, 2, IMAGE_BYTES);
+    }
+
+    /**
+     * Run one request with cold caches and return what it did on the database
+     */
+    private QueryCounter.Counts measure(MockHttpServletRequestBuilder request) throws Exception {
+        winnerCache.onResync();
+        QueryCounter.start();
+        try {
+            mockMvc.perform(request.header("Authorization", AUTH)).andExpect(status().isOk());
+        } catch (Exception | AssertionError e) {
+            QueryCounter.stop();
+            throw e;
+        }
+        return QueryCounter.stop();
+    }
+
+    private static void assertBudget(QueryCounter.Counts counts, int maxStatements, long maxRows, long maxBinaryBytes) {
+        assertTrue(counts.getStatements() <= maxStatements, "Too many statements: " + counts);
+        assertTrue(counts.getRows() <= maxRows, "Too many rows: " + counts);
+        assertTrue(counts.getBinaryBytes() <= maxBinaryBytes, "Too much binary content read: " + counts);
+    }
+}
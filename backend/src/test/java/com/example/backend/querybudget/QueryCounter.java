@@ -0,0 +1,138 @@
+package com.example.backend.querybudget;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * JDBC proxy counting statements executed, rows fetched and binary bytes read on the
+ * current thread between {@link #start()} and {@link #stop()}. Work on other threads,
+ * such as background jobs, is not counted.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {}
+
+    public static void start() {
+        CURRENT.set(new Counts());
+    }
+
+    public static Counts stop() {
+        Counts counts = CURRENT.get();
+        CURRENT.remove();
+        return counts;
+    }
+
+    public static DataSource wrap(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return proxy(Connection.class, super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return proxy(Connection.class, super.getConnection(username, password));
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target) {
+        Class<?> exposed = type;
+        if (target instanceof CallableStatement) {
+            exposed = CallableStatement.class;
+        } else if (target instanceof PreparedStatement) {
+            exposed = PreparedStatement.class;
+        }
+        Class<?>[] interfaces = {exposed};
+        return (T) Proxy.newProxyInstance(QueryCounter.class.getClassLoader(), interfaces, new Handler(target));
+    }
+
+    private static class Handler implements InvocationHandler {
+        private final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            Counts counts = CURRENT.get();
+            String name = method.getName();
+
+            if (target instanceof Statement && name.startsWith("execute") && counts != null) {
+                counts.statements++;
+                if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                    counts.sql.add(sql);
+                } else if (target instanceof PreparedStatement) {
+                    counts.sql.add(target.toString());
+                }
+            }
+            if (target instanceof ResultSet && counts != null) {
+                if ("next".equals(name) && Boolean.TRUE.equals(result)) {
+                    counts.rows++;
+                } else if (result instanceof byte[] bytes) {
+                    // getBytes, or getObject on a bytea column
+                    counts.binaryBytes += bytes.length;
+                }
+            }
+
+            if (result instanceof Statement statement && !Proxy.isProxyClass(result.getClass())) {
+                return proxy(Statement.class, statement);
+            }
+            if (result instanceof ResultSet resultSet && !Proxy.isProxyClass(result.getClass())) {
+                return proxy(ResultSet.class, resultSet);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * What one unit of work sent to and read from the database
+     */
+    public static class Counts {
+        private int statements;
+        private long rows;
+        private long binaryBytes;
+        private final List<String> sql = new ArrayList<>();
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getBinaryBytes() {
+            return binaryBytes;
+        }
+
+        @Override
+        public String toString() {
+            return statements + " statements, " + rows + " rows, " + binaryBytes + " binary bytes: " + sql;
+        }
+    }
+}
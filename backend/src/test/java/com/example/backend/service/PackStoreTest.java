@@ -0,0 +1,204 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.backend.util.PackFile;
+
+/**
+ * Packs on a temporary directory: writing, lookup by binary search over the index, the
+ * copy-and-delete that BlobTieringService.compact() does once its blob ids come from the table,
+ * and marking unreferenced packs so other instances let go of them.
+ */
+class PackStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private PackStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = newStore();
+    }
+
+    @Test
+    void findsEveryEntryWrittenOutOfOrder() throws IOException {
+        int packId = store.nextPackId();
+        // Added unsorted, so finish() has to sort the index for the lookup to work
+        long[] blobIds = {42, 7, 1000, 3, 99, 7_000_000_000L, 15};
+        try (PackFile.Writer writer = store.create(packId)) {
+            for (long blobId : blobIds) {
+                writer.add(blobId, PackFile.OPTIMIZED, bytes(blobId, PackFile.OPTIMIZED));
+                writer.add(blobId, PackFile.ORIGINAL, ByteBuffer.wrap(bytes(blobId, PackFile.ORIGINAL)));
+            }
+            writer.finish();
+        }
+
+        for (long blobId : blobIds) {
+            assertArrayEquals(bytes(blobId, PackFile.ORIGINAL), read(packId, blobId, PackFile.ORIGINAL));
+            assertArrayEquals(bytes(blobId, PackFile.OPTIMIZED), read(packId, blobId, PackFile.OPTIMIZED));
+        }
+        assertTrue(store.read(packId, 1, PackFile.ORIGINAL).isEmpty());
+        assertTrue(store.read(packId, 8, PackFile.ORIGINAL).isEmpty());
+        assertTrue(store.read(packId, Long.MAX_VALUE, PackFile.ORIGINAL).isEmpty());
+        assertTrue(store.read(packId, 42, 2).isEmpty());
+
+        List<PackFile.Entry> entries = store.open(packId).entries();
+        assertEquals(blobIds.length * 2, entries.size());
+        for (int i = 1; i < entries.size(); i++) {
+            PackFile.Entry previous = entries.get(i - 1);
+            PackFile.Entry entry = entries.get(i);
+            assertTrue(previous.blobId() < entry.blobId()
+                || previous.blobId() == entry.blobId() && previous.variant() < entry.variant());
+        }
+    }
+
+    @Test
+    void unfinishedPackHasNoEntries() throws IOException {
+        int packId = store.nextPackId();
+        try (PackFile.Writer writer = store.create(packId)) {
+            writer.add(1, PackFile.ORIGINAL, bytes(1, PackFile.ORIGINAL));
+        }
+
+        assertEquals(Set.of(packId), store.packIds());
+        assertTrue(store.read(packId, 1, PackFile.ORIGINAL).isEmpty());
+        assertThrows(IOException.class, () -> store.open(packId));
+    }
+
+    @Test
+    void compactionKeepsLiveBlobsAndDropsTheOldPack() throws IOException {
+        int oldPack = store.nextPackId();
+        try (PackFile.Writer writer = store.create(oldPack)) {
+            for (long blobId = 1; blobId <= 20; blobId++) {
+                writer.add(blobId, PackFile.ORIGINAL, bytes(blobId, PackFile.ORIGINAL));
+                if (blobId % 3 == 0) {
+                    writer.add(blobId, PackFile.OPTIMIZED, bytes(blobId, PackFile.OPTIMIZED));
+                }
+            }
+            writer.finish();
+        }
+        Set<Long> live = Set.of(2L, 3L, 5L, 12L, 20L);
+
+        // Same copy as BlobTieringService.rewrite()
+        PackFile.Reader reader = store.open(oldPack);
+        int newPack = store.nextPackId();
+        try (PackFile.Writer writer = store.create(newPack)) {
+            for (PackFile.Entry entry : reader.entries()) {
+                if (live.contains(entry.blobId())) {
+                    writer.add(entry.blobId(), entry.variant(), reader.slice(entry));
+                }
+            }
+            writer.finish();
+        }
+        long oldSize = store.sizeOnDisk(oldPack);
+        store.delete(oldPack);
+
+        assertEquals(Set.of(newPack), store.packIds());
+        assertTrue(store.sizeOnDisk(newPack) < oldSize);
+        assertTrue(store.read(oldPack, 2, PackFile.ORIGINAL).isEmpty());
+        for (long blobId = 1; blobId <= 20; blobId++) {
+            Optional<ByteBuffer> original = store.read(newPack, blobId, PackFile.ORIGINAL);
+            Optional<ByteBuffer> optimized = store.read(newPack, blobId, PackFile.OPTIMIZED);
+            if (live.contains(blobId)) {
+                assertArrayEquals(bytes(blobId, PackFile.ORIGINAL), PackFile.toArray(original.orElseThrow()));
+                assertEquals(blobId % 3 == 0, optimized.isPresent());
+            } else {
+                assertFalse(original.isPresent());
+                assertFalse(optimized.isPresent());
+            }
+        }
+        assertArrayEquals(bytes(12, PackFile.OPTIMIZED), read(newPack, 12, PackFile.OPTIMIZED));
+
+        // A restarted store continues numbering after the packs on disk
+        assertEquals(newPack + 1, newStore().nextPackId());
+    }
+
+    @Test
+    void unreferencedPacksAreMarkedAndTheirReadersDropped() throws IOException {
+        int packId = store.nextPackId();
+        try (PackFile.Writer writer = store.create(packId)) {
+            writer.add(1, PackFile.ORIGINAL, bytes(1, PackFile.ORIGINAL));
+            writer.finish();
+        }
+        // Another instance has the pack mapped
+        PackStore other = newStore();
+        assertTrue(other.read(packId, 1, PackFile.ORIGINAL).isPresent());
+        assertTrue(store.unreferencedSince(packId).isEmpty());
+
+        long before = System.currentTimeMillis() - 1000;
+        store.markUnreferenced(packId);
+        assertTrue(store.unreferencedSince(packId).orElseThrow() >= before);
+        assertEquals(Set.of(packId), store.packIds());
+
+        other.evictUnreferencedReaders();
+        assertTrue(readers(other).isEmpty());
+        // Reads that still carry the old pack id keep working during the grace period
+        assertTrue(other.read(packId, 1, PackFile.ORIGINAL).isPresent());
+
+        store.markReferenced(packId);
+        assertTrue(store.unreferencedSince(packId).isEmpty());
+        other.evictUnreferencedReaders();
+        assertEquals(Set.of(packId), readers(other).keySet());
+
+        store.markUnreferenced(packId);
+        store.delete(packId);
+        assertTrue(store.packIds().isEmpty());
+        other.evictUnreferencedReaders();
+        assertTrue(readers(other).isEmpty());
+    }
+
+    @Test
+    void rejectsCorruptIndex() throws IOException {
+        int packId = store.nextPackId();
+        try (PackFile.Writer writer = store.create(packId)) {
+            writer.add(1, PackFile.ORIGINAL, bytes(1, PackFile.ORIGINAL));
+            writer.finish();
+        }
+        Files.write(dir.resolve(String.format("pack-%06d.idx", packId)), new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+
+        assertThrows(IOException.class, () -> store.open(packId));
+    }
+
+    private PackStore newStore() throws IOException {
+        PackStore packStore = new PackStore();
+        ReflectionTestUtils.setField(packStore, "packDirPath", dir.toString());
+        packStore.init();
+        return packStore;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Integer, PackFile.Reader> readers(PackStore packStore) {
+        return (Map<Integer, PackFile.Reader>) ReflectionTestUtils.getField(packStore, "readers");
+    }
+
+    private byte[] read(int packId, long blobId, int variant) throws IOException {
+        return PackFile.toArray(store.read(packId, blobId, variant).orElseThrow());
+    }
+
+    /**
+     * Distinct content per blob and variant, of varying length
+     */
+    private static byte[] bytes(long blobId, int variant) {
+        return ("blob " + blobId + " variant " + variant + " ".repeat((int) (blobId % 50)))
+            .getBytes(StandardCharsets.US_ASCII);
+    }
+}
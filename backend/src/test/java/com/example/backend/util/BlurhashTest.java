@@ -0,0 +1,72 @@
+package com.example.backend.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Colour round trips through the encoder. A full hash does not survive decode and re-encode
+ * (the preview is clamped, which moves the AC maximum), but the DC colour must: sRGB to
+ * linear and back is exact with correct rounding and off by one with double rounding.
+ */
+class BlurhashTest {
+
+    private static final String BASE83 =
+        "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+    // From the reference implementation's README and demo
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "LEHV6nWB2yk8pyo0adR*.7kCMdnj",
+        "LGF5]+Yk^6#M@-5c,1J5@[or[Q6.",
+        "L6PZfSi_.AyE_3t7t7R**0o#DgR4",
+        "LKO2?U%2Tw=w]~RBVZRi};RPxuwH",
+        "UrQ]$mfQ~qj@ocofWFWB?bj[D%azf6WBj[t7"
+    })
+    void reencodesTheAverageColourOfReferenceHashes(String hash) {
+        // Size flag 0 (one component) and an unused maximum, then the reference DC value
+        String dcOnly = "00" + hash.substring(2, 6);
+        int dc = decode83(dcOnly.substring(2));
+        assertEquals(dcOnly, Blurhash.encode(solid(32, 32, dc), 1, 1));
+    }
+
+    @Test
+    void keepsEverySrgbLevel() {
+        for (int v = 0; v < 256; v++) {
+            int rgb = (v << 16) | ((255 - v) << 8) | (v / 2);
+            String hash = Blurhash.encode(solid(4, 4, rgb), 1, 1);
+            assertEquals(6, hash.length());
+            assertEquals(rgb, decode83(hash.substring(2, 6)), "level " + v);
+        }
+    }
+
+    @Test
+    void rejectsComponentCountsOutsideOneToNine() {
+        BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB);
+        assertThrows(IllegalArgumentException.class, () -> Blurhash.encode(image, 0, 3));
+        assertThrows(IllegalArgumentException.class, () -> Blurhash.encode(image, 4, 10));
+    }
+
+    private static BufferedImage solid(int width, int height, int rgb) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, rgb);
+            }
+        }
+        return image;
+    }
+
+    private static int decode83(String value) {
+        int result = 0;
+        for (char c : value.toCharArray()) {
+            result = result * 83 + BASE83.indexOf(c);
+        }
+        return result;
+    }
+}
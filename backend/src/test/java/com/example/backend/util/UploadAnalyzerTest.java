@@ -0,0 +1,202 @@
+package com.example.backend.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+/**
+ * Format sniffing and header geometry on hand-built headers: just enough bytes of each
+ * format for the analyzer, no real image data.
+ */
+class UploadAnalyzerTest {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    @Test
+    void png() throws IOException {
+        UploadAnalysis analysis = analyze(png(640, 480), null);
+        assertEquals("image/png", analysis.getMimeType());
+        assertTrue(analysis.isSniffed());
+        assertEquals(640, analysis.getWidth());
+        assertEquals(480, analysis.getHeight());
+        assertNull(analysis.getOrientation());
+    }
+
+    @Test
+    void jpegWithSofAfterAppSegments() throws IOException {
+        Bytes jpeg = new Bytes().u8(0xFF, 0xD8);
+        // APP0 (JFIF), then APP1 (EXIF, rotated 90 degrees), then SOF0
+        byte[] jfif = "JFIF\0\1\1\0\0\1\0\1\0\0".getBytes(StandardCharsets.ISO_8859_1);
+        jpeg.u8(0xFF, 0xE0).be16(jfif.length + 2).raw(jfif);
+        byte[] exif = ExifUtil.orientationOnlyExif(6);
+        jpeg.u8(0xFF, 0xE1).be16(exif.length + 2).raw(exif);
+        jpeg.u8(0xFF, 0xC0).be16(17).u8(8).be16(3024).be16(4032).u8(3)
+            .u8(1, 0x22, 0, 2, 0x11, 1, 3, 0x11, 1);
+        jpeg.u8(0xFF, 0xDA);
+
+        UploadAnalysis analysis = analyze(jpeg.toByteArray(), null);
+        assertEquals("image/jpeg", analysis.getMimeType());
+        assertEquals(4032, analysis.getWidth());
+        assertEquals(3024, analysis.getHeight());
+        assertEquals(6, analysis.getOrientation());
+    }
+
+    @Test
+    void gif() throws IOException {
+        byte[] gif = new Bytes().ascii("GIF89a").le16(320).le16(200).u8(0, 0, 0).toByteArray();
+        UploadAnalysis analysis = analyze(gif, null);
+        assertEquals("image/gif", analysis.getMimeType());
+        assertEquals(320, analysis.getWidth());
+        assertEquals(200, analysis.getHeight());
+    }
+
+    @Test
+    void webpLossy() throws IOException {
+        Bytes chunk = new Bytes().u8(0x30, 0x01, 0x00).u8(0x9D, 0x01, 0x2A).le16(800).le16(600);
+        UploadAnalysis analysis = analyze(webp("VP8 ", chunk.toByteArray()), null);
+        assertEquals("image/webp", analysis.getMimeType());
+        assertEquals(800, analysis.getWidth());
+        assertEquals(600, analysis.getHeight());
+    }
+
+    @Test
+    void webpLossless() throws IOException {
+        int bits = (1024 - 1) | ((768 - 1) << 14);
+        Bytes chunk = new Bytes().u8(0x2F).le32(bits);
+        UploadAnalysis analysis = analyze(webp("VP8L", chunk.toByteArray()), null);
+        assertEquals("image/webp", analysis.getMimeType());
+        assertEquals(1024, analysis.getWidth());
+        assertEquals(768, analysis.getHeight());
+    }
+
+    @Test
+    void webpExtended() throws IOException {
+        Bytes chunk = new Bytes().le32(0).le24(5000 - 1).le24(3000 - 1);
+        UploadAnalysis analysis = analyze(webp("VP8X", chunk.toByteArray()), null);
+        assertEquals("image/webp", analysis.getMimeType());
+        assertEquals(5000, analysis.getWidth());
+        assertEquals(3000, analysis.getHeight());
+    }
+
+    @Test
+    void truncatedHeadersKeepTypeWithoutDimensions() throws IOException {
+        UploadAnalysis png = analyze(PNG_SIGNATURE, null);
+        assertEquals("image/png", png.getMimeType());
+        assertTrue(png.isSniffed());
+        assertNull(png.getWidth());
+        assertNull(png.getHeight());
+
+        UploadAnalysis jpeg = analyze(new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0}, null);
+        assertEquals("image/jpeg", jpeg.getMimeType());
+        assertNull(jpeg.getWidth());
+
+        // VP8X chunk that ends after its flags
+        UploadAnalysis cutWebp = analyze(webp("VP8X", new Bytes().le32(0).toByteArray()), null);
+        assertEquals("image/webp", cutWebp.getMimeType());
+        assertNull(cutWebp.getWidth());
+    }
+
+    @Test
+    void sniffedTypeWinsOverClientType() throws IOException {
+        MockMultipartFile upload = new MockMultipartFile("file", "photo.jpg", "image/jpeg", png(16, 9));
+        UploadAnalysis analysis = UploadAnalyzer.analyze(upload);
+        assertEquals("image/png", analysis.getMimeType());
+        assertTrue(analysis.isSniffed());
+        assertEquals(16, analysis.getWidth());
+    }
+
+    @Test
+    void unknownBytesFallBackToClientType() throws IOException {
+        byte[] data = "not an image at all".getBytes(StandardCharsets.US_ASCII);
+        MockMultipartFile upload = new MockMultipartFile("file", "photo.jpg", "image/jpeg", data);
+        UploadAnalysis analysis = UploadAnalyzer.analyze(upload);
+        assertEquals("image/jpeg", analysis.getMimeType());
+        assertFalse(analysis.isSniffed());
+        assertNull(analysis.getWidth());
+
+        assertEquals("application/octet-stream", analyze(data, null).getMimeType());
+    }
+
+    @Test
+    void hashAndSizeCoverTheWholeStream() throws Exception {
+        // Larger than the sniffed head, so hashing must not stop there
+        byte[] data = Arrays.copyOf(png(1, 1), UploadAnalyzer.HEAD_SIZE + 100_000);
+        UploadAnalysis analysis = analyze(data, null);
+        assertEquals(data.length, analysis.getSize());
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        assertEquals(expected, analysis.getContentHash());
+    }
+
+    private static UploadAnalysis analyze(byte[] data, String fallbackMimeType) throws IOException {
+        return UploadAnalyzer.analyze(new ByteArrayInputStream(data), fallbackMimeType);
+    }
+
+    private static byte[] png(int width, int height) {
+        return new Bytes().raw(PNG_SIGNATURE)
+            .be32(13).ascii("IHDR").be32(width).be32(height).u8(8, 6, 0, 0, 0).be32(0)
+            .be32(0).ascii("IEND").be32(0)
+            .toByteArray();
+    }
+
+    private static byte[] webp(String chunkType, byte[] chunk) {
+        return new Bytes().ascii("RIFF").le32(4 + 8 + chunk.length).ascii("WEBP")
+            .ascii(chunkType).le32(chunk.length).raw(chunk)
+            .toByteArray();
+    }
+
+    private static class Bytes {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Bytes u8(int... values) {
+            for (int value : values) {
+                out.write(value);
+            }
+            return this;
+        }
+
+        Bytes be16(int value) {
+            return u8(value >>> 8, value);
+        }
+
+        Bytes be32(int value) {
+            return u8(value >>> 24, value >>> 16, value >>> 8, value);
+        }
+
+        Bytes le16(int value) {
+            return u8(value, value >>> 8);
+        }
+
+        Bytes le24(int value) {
+            return u8(value, value >>> 8, value >>> 16);
+        }
+
+        Bytes le32(int value) {
+            return u8(value, value >>> 8, value >>> 16, value >>> 24);
+        }
+
+        Bytes ascii(String text) {
+            return raw(text.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        Bytes raw(byte[] bytes) {
+            out.writeBytes(bytes);
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+// Writes name.gz and name.br next to every compressible file in dist/, at maximum
+// compression, so the backend can serve them without compressing per request.
+const fs = require('fs')
+const path = require('path')
+const zlib = require('zlib')
+
+const dist = path.resolve(__dirname, '..', 'dist')
+const compressible = /\.(js|mjs|css|html|json|svg|txt|map|ico)$/
+const minBytes = 1024
+
+function files (dir) {
+  return fs.readdirSync(dir, { withFileTypes: true }).flatMap((entry) => {
+    const full = path.join(dir, entry.name)
+    return entry.isDirectory() ? files(full) : [full]
+  })
+}
+
+let count = 0
+for (const file of files(dist)) {
+  if (!compressible.test(file)) continue
+  const source = fs.readFileSync(file)
+  if (source.length < minBytes) continue
+  fs.writeFileSync(file + '.gz', zlib.gzipSync(source, { level: zlib.constants.Z_BEST_COMPRESSION }))
+  fs.writeFileSync(file + '.br', zlib.brotliCompressSync(source, {
+    params: {
+      [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY,
+      [zlib.constants.BROTLI_PARAM_SIZE_HINT]: source.length
+    }
+  }))
+  count++
+}
+console.log(`Precompressed ${count} files in dist/`)
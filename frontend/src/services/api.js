@@ -1,9 +1,48 @@
 import http, { API_BASE_URL } from './http'
 
+const CHUNK_RETRIES = 5
+
+// Signed paths are relative to the API's origin, which differs when VUE_APP_API_URL is absolute
+function absoluteUrl(path) {
+  return new URL(path, new URL(API_BASE_URL, window.location.href)).href
+}
+
+// Winner fields each screen renders (?fields=); the server reads only these columns.
+// Cards also feed the edit modal, which needs just the date, type and title.
+const CARD_FIELDS = 'id,sundayDate,type,image.id,image.title,image.placeholder,image.url'
+const GALLERY_FIELDS = 'id,sundayDate,type,image.id,image.title,image.url'
+const ARCHIVE_FIELDS = 'sundayDate,overall,raul'
+
+const sleep = (ms) => new Promise((resolve) => setTimeout(resolve, ms))
+
+// Hex SHA-256 of a chunk, or null where WebCrypto is unavailable (plain-http origins)
+async function sha256Hex(buffer) {
+  if (!globalThis.crypto || !globalThis.crypto.subtle) return null
+  const digest = await globalThis.crypto.subtle.digest('SHA-256', buffer)
+  return Array.from(new Uint8Array(digest), (b) => b.toString(16).padStart(2, '0')).join('')
+}
+
+async function putChunk(uploadId, file, start, end) {
+  const buffer = await file.slice(start, end).arrayBuffer()
+  const checksum = await sha256Hex(buffer)
+  const headers = { 'Content-Type': 'application/octet-stream' }
+  if (checksum) headers['X-Chunk-Sha256'] = checksum
+  for (let attempt = 0; ; attempt++) {
+    try {
+      return await http.put(`/uploads/${uploadId}`, buffer, { params: { offset: start }, headers })
+    } catch (error) {
+      const status = error.response && error.response.status
+      // Client errors other than a checksum mismatch or rate limit will not fix themselves
+      if (attempt >= CHUNK_RETRIES || (status >= 401 && status < 500 && status !== 429)) throw error
+      await sleep(Math.min(1000 * 2 ** attempt, 15000))
+    }
+  }
+}
+
 export default {
   // Get current week winners (latest Sunday period)
   getCurrentWinners() {
-    return http.get('/weekly-winners/current')
+    return http.get('/weekly-winners/current', { params: { fields: CARD_FIELDS } })
   },
   
   // Get latest winners (current week) - alias for backward compatibility
@@ -14,18 +53,18 @@ export default {
   // Get winners for a specific date
   getWinnersByDate(sundayDate) {
     return http.get('/weekly-winners/by-date', {
-      params: { sundayDate }
+      params: { sundayDate, fields: CARD_FIELDS }
     })
   },
 
   // Get all winners
   getAllWinners() {
-    return http.get('/weekly-winners/all')
+    return http.get('/weekly-winners/all', { params: { fields: GALLERY_FIELDS } })
   },
 
   // Get archive between two dates (inclusive Sundays)
   getArchive(startIso, endIso) {
-    return http.get('/weekly-winners/archive', { params: { start: startIso, end: endIso } })
+    return http.get('/weekly-winners/archive', { params: { start: startIso, end: endIso, fields: ARCHIVE_FIELDS } })
   },
 
   // Create a new winner (admin only)
@@ -42,6 +81,28 @@ export default {
     })
   },
 
+  // Create or replace a winner by uploading the image in resumable chunks (admin only).
+  // Chunks that fail are retried; after an interruption only the missing ranges are sent.
+  async uploadWinnerChunked(file, { sundayDate, type, title }, onProgress) {
+    const { data: session } = await http.post('/uploads', null, {
+      params: { sundayDate, type, title: title || undefined, filename: file.name, contentType: file.type || undefined, size: file.size }
+    })
+    const chunkSize = session.chunkSize
+    let missing = [[0, file.size]]
+    for (let pass = 0; missing.length > 0; pass++) {
+      if (pass > CHUNK_RETRIES) throw new Error('Upload did not complete')
+      for (const [from, to] of missing) {
+        for (let start = from; start < to; start += chunkSize) {
+          const { data: status } = await putChunk(session.uploadId, file, start, Math.min(start + chunkSize, to))
+          if (onProgress) onProgress(status.receivedBytes / file.size)
+        }
+      }
+      const { data: status } = await http.get(`/uploads/${session.uploadId}`)
+      missing = status.missing
+    }
+    return http.post(`/uploads/${session.uploadId}/complete`)
+  },
+
   // Delete a winner (admin only)
   deleteWinner(sundayDate, type) {
     return http.delete('/weekly-winners/delete', {
@@ -49,15 +110,35 @@ export default {
     })
   },
 
-  // Get image URL for a winner (returns a blob URL for authenticated access)
-  async getImageUrl(imageId) {
+  // Signed image URL for a plain <img src> that the browser can cache; listings carry
+  // it in image.url, otherwise one is requested for the id
+  async getImageUrl(image) {
+    const { id, url } = typeof image === 'object' ? image : { id: image }
+    if (url) return absoluteUrl(url)
+    try {
+      const response = await http.get(`/images/${id}/url`)
+      return absoluteUrl(response.data.url)
+    } catch (error) {
+      console.error('Error loading image:', error)
+      return null
+    }
+  },
+
+  // Tile positions of the thumbnail mosaic for a date range (both bounds optional)
+  getMosaicMap(params = {}) {
+    return http.get('/images/mosaic/map', { params })
+  },
+
+  // The mosaic sprite itself as a blob URL; one request for a whole gallery page
+  async getMosaicUrl(params = {}) {
     try {
-      const response = await http.get(`/images/${imageId}`, {
+      const response = await http.get('/images/mosaic', {
+        params,
         responseType: 'blob'
       })
       return URL.createObjectURL(response.data)
     } catch (error) {
-      console.error('Error loading image:', error)
+      console.error('Error loading mosaic:', error)
       return null
     }
   },
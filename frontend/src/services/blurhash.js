@@ -0,0 +1,96 @@
+// BlurHash decoder for the inline image placeholders returned with winner listings.
+// Format: https://github.com/woltapp/blurhash
+
+const BASE83 = '0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~'
+
+function decode83(str) {
+  let value = 0
+  for (const char of str) {
+    value = value * 83 + BASE83.indexOf(char)
+  }
+  return value
+}
+
+function toLinear(value) {
+  const v = value / 255
+  return v <= 0.04045 ? v / 12.92 : Math.pow((v + 0.055) / 1.055, 2.4)
+}
+
+function toSrgb(value) {
+  const v = Math.max(0, Math.min(1, value))
+  return v <= 0.0031308
+    ? Math.trunc(v * 12.92 * 255 + 0.5)
+    : Math.trunc((1.055 * Math.pow(v, 1 / 2.4) - 0.055) * 255 + 0.5)
+}
+
+function signPow(value, exp) {
+  return Math.sign(value) * Math.pow(Math.abs(value), exp)
+}
+
+// RGBA pixels of a width x height preview
+export function decode(hash, width, height) {
+  const sizeFlag = decode83(hash[0])
+  const numY = Math.floor(sizeFlag / 9) + 1
+  const numX = (sizeFlag % 9) + 1
+  if (hash.length !== 4 + 2 * numX * numY) {
+    throw new Error('Invalid blurhash length')
+  }
+  const maximumValue = (decode83(hash[1]) + 1) / 166
+
+  const colors = []
+  const dc = decode83(hash.substring(2, 6))
+  colors.push([toLinear(dc >> 16), toLinear((dc >> 8) & 255), toLinear(dc & 255)])
+  for (let i = 1; i < numX * numY; i++) {
+    const ac = decode83(hash.substring(4 + i * 2, 6 + i * 2))
+    colors.push([
+      signPow((Math.floor(ac / 361) - 9) / 9, 2) * maximumValue,
+      signPow((Math.floor(ac / 19) % 19 - 9) / 9, 2) * maximumValue,
+      signPow((ac % 19 - 9) / 9, 2) * maximumValue
+    ])
+  }
+
+  const pixels = new Uint8ClampedArray(width * height * 4)
+  for (let y = 0; y < height; y++) {
+    for (let x = 0; x < width; x++) {
+      let r = 0
+      let g = 0
+      let b = 0
+      for (let j = 0; j < numY; j++) {
+        const basisY = Math.cos((Math.PI * y * j) / height)
+        for (let i = 0; i < numX; i++) {
+          const basis = Math.cos((Math.PI * x * i) / width) * basisY
+          const color = colors[i + j * numX]
+          r += color[0] * basis
+          g += color[1] * basis
+          b += color[2] * basis
+        }
+      }
+      const offset = 4 * (x + y * width)
+      pixels[offset] = toSrgb(r)
+      pixels[offset + 1] = toSrgb(g)
+      pixels[offset + 2] = toSrgb(b)
+      pixels[offset + 3] = 255
+    }
+  }
+  return pixels
+}
+
+// A data URL to use as a background while the real image loads; null if the hash is unusable
+export function toDataUrl(hash, width = 32, height = 32) {
+  if (!hash) {
+    return null
+  }
+  try {
+    const canvas = document.createElement('canvas')
+    canvas.width = width
+    canvas.height = height
+    const context = canvas.getContext('2d')
+    const imageData = context.createImageData(width, height)
+    imageData.data.set(decode(hash, width, height))
+    context.putImageData(imageData, 0, 0)
+    return canvas.toDataURL()
+  } catch (error) {
+    console.error('Error decoding placeholder:', error)
+    return null
+  }
+}
@@ -1,7 +1,7 @@
 import axios from 'axios'
 import { getToken } from './token'
 
-export const API_BASE_URL = process.env.VUE_APP_API_URL || 'http://localhost:8080/api'
+export const API_BASE_URL = process.env.VUE_APP_API_URL || '/api'
 
 const http = axios.create({
   baseURL: API_BASE_URL,
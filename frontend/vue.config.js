@@ -1,9 +1,15 @@
 const { defineConfig } = require('@vue/cli-service')
 module.exports = defineConfig({
   transpileDependencies: true,
+  // The backend holds dist/ in memory (FrontendAssets); no need to ship source maps
+  productionSourceMap: false,
   devServer: {
     host: '0.0.0.0',
     port: 8081,
-    allowedHosts: 'all'
+    allowedHosts: 'all',
+    // Same-origin /api in development too
+    proxy: {
+      '/api': { target: process.env.VUE_APP_API_PROXY || 'http://localhost:8080' }
+    }
   }
 })